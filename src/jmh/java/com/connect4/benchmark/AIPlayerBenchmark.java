@@ -0,0 +1,90 @@
+package com.connect4.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.TranspositionTable;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.view.GameState;
+
+/**
+ * AIPlayerBenchmark.java - NEW CLASS
+ * Measures the computer opponent on a fixed mid-game position per
+ * difficulty level:
+ * - getBestMove() exactly as the views call it (EXPERT is bounded by its
+ * time budget, so its score shows how much of the budget is used)
+ * - evaluatePosition(), the from-scratch static evaluation
+ * The AI is seeded and single-threaded. For getBestMove its transposition
+ * table is cleared before every call, so each call searches from scratch;
+ * that per-invocation setup lives in its own state, so the
+ * nanosecond-scale evaluation benchmark has trial-level setup only.
+ * Run with: gradle jmh (results in build/results/jmh)
+ *
+ * @author Extended feature implementation
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AIPlayerBenchmark {
+
+    /**
+     * The position and a seeded AI to move in it.
+     */
+    @State(Scope.Thread)
+    public static class Evaluation {
+
+        @Param({ "BEGINNER", "INTERMEDIATE", "EXPERT" })
+        public DifficultyLevel level;
+
+        GameState state;
+        AIPlayer ai;
+
+        @Setup
+        public void setUp() {
+            state = BenchmarkPositions.create(level, false, BenchmarkPositions.midGameCoins(level),
+                    BenchmarkPositions.SEED);
+            ai = new AIPlayer(level, state.isPlayer1Turn() ? 1 : 2);
+            ai.setSeed(BenchmarkPositions.SEED);
+        }
+    }
+
+    /**
+     * As Evaluation, with the AI's table cleared before every call.
+     */
+    @State(Scope.Thread)
+    public static class Search extends Evaluation {
+
+        @Setup(Level.Invocation)
+        public void clearTable() {
+            TranspositionTable table = ai.getTranspositionTable();
+            if (table != null) {
+                table.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public int getBestMove(Search search) {
+        return search.ai.getBestMove(search.state);
+    }
+
+    @Benchmark
+    public int evaluatePosition(Evaluation evaluation) {
+        return evaluation.ai.evaluatePosition(evaluation.state);
+    }
+}
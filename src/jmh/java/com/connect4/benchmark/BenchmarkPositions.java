@@ -0,0 +1,88 @@
+package com.connect4.benchmark;
+
+import java.util.Random;
+
+import com.connect4.player.Player;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.BitBoard;
+import com.connect4.view.GameState;
+import com.connect4.view.Position;
+
+/**
+ * BenchmarkPositions.java - NEW CLASS
+ * Builds the fixed positions the benchmarks run on. Each position is a game
+ * at the given difficulty with a number of coins dropped into columns chosen
+ * by a seeded Random, so every run (and every machine) measures the same
+ * boards. Moves that end the game or leave the next player an immediate win
+ * are skipped, so the position is quiet: the search has to look ahead
+ * instead of stopping at a forced result. Candidate moves are tried on a
+ * copy of the game's Position; accepted ones are played with move() on a
+ * seeded game with lucky coins turned off, so the move log, hash and saved
+ * games all match the board and no player statistics are recorded.
+ *
+ * @author Extended feature implementation
+ */
+final class BenchmarkPositions {
+
+    /** Seed used by every benchmark unless it says otherwise. */
+    static final long SEED = 20240611L;
+
+    private BenchmarkPositions() {
+    }
+
+    /**
+     * Creates an in-progress position.
+     *
+     * @param level       difficulty that sets the board size
+     * @param fourCorners true to enable the Four Corners rule
+     * @param coins       number of coins to drop
+     * @param seed        seed for the column choices
+     * @return the position, with player 1 or 2 to move
+     */
+    static GameState create(DifficultyLevel level, boolean fourCorners, int coins, long seed) {
+        GameSettings settings = new GameSettings(level, Player.createDefaultPlayer1(), true, fourCorners);
+        settings.setMaxLuckyCoins(0);
+        GameState state = new GameState(settings, seed);
+        Random random = new Random(seed);
+
+        int placed = 0;
+        int attempts = 0;
+        while (placed < coins && attempts < coins * 20) {
+            attempts++;
+            int column = random.nextInt(state.getColumns()) + 1;
+            Position probe = new Position(state.getPosition());
+            if (!probe.makeMove(column) || probe.isGameOver() || hasImmediateWin(probe)) {
+                continue;
+            }
+            state.move(column);
+            placed++;
+        }
+        return state;
+    }
+
+    private static boolean hasImmediateWin(Position position) {
+        for (int column = 1; column <= position.getColumns(); column++) {
+            if (position.makeMove(column)) {
+                boolean won = position.isGameOver() && position.getWinner() != BitBoard.EMPTY;
+                position.unmakeMove(column);
+                if (won) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Number of coins for an early mid-game position: about a tenth of the
+     * board. Denser random boards are usually already decided, and the search
+     * stops as soon as it proves the result.
+     *
+     * @param level difficulty that sets the board size
+     * @return coin count
+     */
+    static int midGameCoins(DifficultyLevel level) {
+        return level.getColumns() * level.getRows() / 10;
+    }
+}
@@ -0,0 +1,107 @@
+package com.connect4.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.view.BitBoard;
+import com.connect4.view.GameState;
+
+/**
+ * GameStateBenchmark.java - NEW CLASS
+ * Measures the game engine's hot paths on fixed mid-game positions:
+ * - move()/undo(), the path the views use (history and lucky offers)
+ * - makeMove()/unmakeMove(), the allocation-free path the AI search uses
+ * - Win detection through the last coin, with and without Four Corners
+ * - Full-board win scan, the reference the incremental check replaced
+ * - deepCopy()
+ * Run with: gradle jmh (results in build/results/jmh)
+ *
+ * @author Extended feature implementation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GameStateBenchmark {
+
+    @Param({ "BEGINNER", "INTERMEDIATE", "EXPERT" })
+    public DifficultyLevel level;
+
+    @Param({ "false", "true" })
+    public boolean fourCorners;
+
+    private GameState state;
+    private int column; // 1-based column with room for a coin
+    private int lastCol; // 0-based square of the last coin in the position
+    private int lastRow;
+
+    @Setup
+    public void setUp() {
+        state = BenchmarkPositions.create(level, fourCorners, BenchmarkPositions.midGameCoins(level),
+                BenchmarkPositions.SEED);
+
+        // Pick the playable column closest to the middle
+        int middle = state.getColumns() / 2;
+        for (int offset = 0; offset < state.getColumns(); offset++) {
+            int col = middle + ((offset % 2 == 0) ? offset / 2 : -(offset / 2 + 1));
+            if (col >= 0 && col < state.getColumns() && state.isValidMove(col + 1)) {
+                column = col + 1;
+                break;
+            }
+        }
+
+        // Any occupied top square stands in for "the last coin played"
+        BitBoard board = state.getBoard();
+        for (int col = 0; col < state.getColumns(); col++) {
+            if (board.getHeight(col) > 0) {
+                lastCol = col;
+                lastRow = board.getHeight(col) - 1;
+            }
+        }
+    }
+
+    @Benchmark
+    public boolean moveAndUndo() {
+        state.move(column);
+        if (state.isLuckyOfferPending()) {
+            state.rejectLuckyOffer();
+        }
+        return state.undo();
+    }
+
+    @Benchmark
+    public boolean makeAndUnmakeMove() {
+        boolean played = state.makeMove(column);
+        state.unmakeMove(column);
+        return played;
+    }
+
+    @Benchmark
+    public int checkForWinThroughLastCoin() {
+        return state.getBoard().findWinnerThrough(lastCol, lastRow, fourCorners);
+    }
+
+    @Benchmark
+    public int checkForWinFullScan() {
+        return state.findWinnerByFullScan();
+    }
+
+    @Benchmark
+    public GameState deepCopy() {
+        return state.deepCopy();
+    }
+}
@@ -0,0 +1,82 @@
+package com.connect4.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.SaveLoadManager;
+import com.connect4.view.GameState;
+
+/**
+ * SaveLoadBenchmark.java - NEW CLASS
+ * Measures SaveLoadManager.saveGame() and loadGame() on a fixed mid-game
+ * position per difficulty level. Files go to a temporary directory (not
+ * saves/) that is deleted afterwards.
+ * Run with: gradle jmh (results in build/results/jmh)
+ *
+ * @author Extended feature implementation
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SaveLoadBenchmark {
+
+    @Param({ "BEGINNER", "INTERMEDIATE", "EXPERT" })
+    public DifficultyLevel level;
+
+    private GameState state;
+    private File directory;
+    private String saveFile;
+    private String loadFile;
+
+    @Setup
+    public void setUp() throws IOException {
+        state = BenchmarkPositions.create(level, false, BenchmarkPositions.midGameCoins(level),
+                BenchmarkPositions.SEED);
+        directory = Files.createTempDirectory("connect4-bench").toFile();
+        saveFile = new File(directory, "save").getPath();
+        loadFile = new File(directory, "load").getPath();
+        if (!SaveLoadManager.saveGame(state, loadFile, "Benchmark")) {
+            throw new IOException("Could not write " + loadFile);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+
+    @Benchmark
+    public boolean saveGame() {
+        return SaveLoadManager.saveGame(state, saveFile, "Benchmark");
+    }
+
+    @Benchmark
+    public SaveLoadManager.GameSnapshot loadGame() {
+        return SaveLoadManager.loadGame(loadFile);
+    }
+}
@@ -0,0 +1,175 @@
+package com.connect4.player;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import com.connect4.view.GameState;
+
+/**
+ * AIMoveService.java - NEW CLASS
+ * Runs AI move searches, position analyses and pondering off the calling
+ * thread, so the views stay responsive and can abandon a search when the
+ * game changes under it.
+ * - The position is copied on the caller's thread when the move is
+ * requested. The search only reads its copy, so undo, restart or load on
+ * the live game cannot race with it.
+ * - Searches run one at a time on the service's own daemon thread (an
+ * AIPlayer is not safe for concurrent searches). The AI may still use
+ * its own search threads for the root moves.
+ * - Each request returns a CompletableFuture. Cancelling the future, or
+ * the CancellationToken passed in, stops the search at the next node and
+ * frees the thread for the next request. A cancelled request's future
+ * ends cancelled, never with a result.
+ * The views share getDefault().
+ *
+ * @author Extended feature implementation
+ */
+public class AIMoveService implements AutoCloseable {
+
+    private static AIMoveService defaultService;
+
+    private final ExecutorService executor;
+    private volatile CancellationToken running; // token of the search in progress
+
+    /**
+     * Creates a service with its own search thread.
+     */
+    public AIMoveService() {
+        this.executor = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "connect4-ai");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the service shared by the views, creating it on first use.
+     *
+     * @return the shared service
+     */
+    public static synchronized AIMoveService getDefault() {
+        if (defaultService == null) {
+            defaultService = new AIMoveService();
+        }
+        return defaultService;
+    }
+
+    /**
+     * Starts searching for the AI's move in the current position.
+     * Cancelling the returned future stops the search.
+     *
+     * @param ai    the AI to move
+     * @param state the game (copied before this returns)
+     * @return the column (1-based) the AI plays, or -1 if it has no move
+     */
+    public CompletableFuture<Integer> requestMove(AIPlayer ai, GameState state) {
+        return requestMove(ai, state, new CancellationToken());
+    }
+
+    /**
+     * Starts searching for the AI's move in the current position.
+     *
+     * @param ai    the AI to move
+     * @param state the game (copied before this returns)
+     * @param token cancels the search; cancelling the future cancels it too
+     * @return the column (1-based) the AI plays, or -1 if it has no move
+     */
+    public CompletableFuture<Integer> requestMove(AIPlayer ai, GameState state, CancellationToken token) {
+        return submit(state, token, snapshot -> ai.getBestMove(snapshot, token));
+    }
+
+    /**
+     * Starts analysing the current position (see AIPlayer.analyze). Each
+     * completed depth is passed to onDepth on the search thread as it
+     * finishes, so the analysis can be left running until the position
+     * changes and then cancelled; the future then ends cancelled, and the
+     * last depth reported is the latest result.
+     *
+     * @param ai       the AI to analyse with
+     * @param state    the game (copied before this returns)
+     * @param maxDepth deepest iteration to run, in plies
+     * @param token    cancels the analysis; cancelling the future cancels it too
+     * @param onDepth  told of each completed depth, or null
+     * @return the analysis of the deepest completed depth
+     */
+    public CompletableFuture<PositionAnalysis> requestAnalysis(AIPlayer ai, GameState state, int maxDepth,
+            CancellationToken token, Consumer<PositionAnalysis> onDepth) {
+        return submit(state, token, snapshot -> ai.analyze(snapshot, maxDepth, token, onDepth));
+    }
+
+    /**
+     * Starts pondering: the AI searches the opponent's replies to its last
+     * move (see AIPlayer.ponder) until every reply is searched or the token
+     * is cancelled. Cancel it as soon as the opponent moves; the next move
+     * request on this service then starts once pondering has stopped, and
+     * finds its results.
+     *
+     * @param ai    the AI that just moved
+     * @param state the game after the AI's move (copied before this returns)
+     * @param token stops pondering; cancelling the future stops it too
+     * @return completes when every reply is searched
+     */
+    public CompletableFuture<Void> requestPonder(AIPlayer ai, GameState state, CancellationToken token) {
+        return submit(state, token, snapshot -> {
+            ai.ponder(snapshot, token);
+            return null;
+        });
+    }
+
+    /**
+     * Runs a search on a copy of the game on the service's thread.
+     */
+    private <T> CompletableFuture<T> submit(GameState state, CancellationToken token, Function<GameState, T> search) {
+        GameState snapshot = new GameState(state);
+        CompletableFuture<T> result = new CompletableFuture<>();
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                token.cancel();
+            }
+        });
+
+        executor.execute(() -> {
+            // Published before the shutdown check, so close() sees either
+            // this token or a shutdown that this check sees
+            running = token;
+            if (token.isCancelled() || result.isDone() || executor.isShutdown()) {
+                running = null;
+                result.cancel(false);
+                return;
+            }
+            try {
+                T value = search.apply(snapshot);
+                if (token.isCancelled()) {
+                    result.cancel(false);
+                } else {
+                    result.complete(value);
+                }
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            } finally {
+                running = null;
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Stops the search thread. The running search and any waiting requests
+     * are cancelled; later requests are rejected.
+     */
+    @Override
+    public void close() {
+        List<Runnable> waiting = executor.shutdownNow();
+        CancellationToken current = running;
+        if (current != null) {
+            current.cancel();
+        }
+        for (Runnable request : waiting) {
+            request.run(); // sees the shutdown and cancels its future
+        }
+    }
+}
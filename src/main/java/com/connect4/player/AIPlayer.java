@@ -1,11 +1,21 @@
 package com.connect4.player;
 
+import java.io.PrintStream;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Consumer;
 
-import com.connect4.view.Cell;
+import com.connect4.view.BitBoard;
 import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
 import com.connect4.view.GameState;
+import com.connect4.view.Position;
 
 /**
  * AIPlayer.java
@@ -19,7 +29,8 @@ import com.connect4.view.GameState;
  * - Medium depth search with improved evaluation
  * - Considers center control and multiple threat creation
  * - Balanced between defense and offense
- * EXPERT (depth 6):
+ * EXPERT (time budget):
+ * - Iteratively deepened search within a wall-clock budget
  * - Deep search with comprehensive evaluation
  * - Evaluates line potentials, center control, and trap setups
  * - Aggressive play with optimal blocking
@@ -29,18 +40,147 @@ import com.connect4.view.GameState;
  * 3. AI (maximizing player) picks moves that maximize score
  * 4. Opponent (minimizing player) picks moves that minimize score
  * 5. Alpha-beta pruning eliminates branches that won't affect final decision
+ * The search copies the game's Position (board, side to move and result,
+ * without the history and UI state) once per call and then plays and takes
+ * back moves in place (Position.makeMove/unmakeMove), so nodes allocate
+ * nothing. Results are memoised in a TranspositionTable keyed by the
+ * position's Zobrist hash and kept between moves of the same game.
+ * Below the root, moves are ordered by MoveOrdering (principal variation,
+ * hash move, killer moves, then history) so cutoffs come early.
+ * With setSearchThreads(n > 1) the root moves are searched in parallel.
+ * With setOpeningBook() early positions are answered from a precomputed
+ * OpeningBook instead of being searched.
+ * Once few squares are left (setEndgameThreshold) the EndgameSolver plays
+ * the position out exactly, so late moves are proven wins, draws or losses
+ * instead of heuristic guesses.
+ * analyze() scores every legal move of a position instead of picking one,
+ * for hints and evaluation displays (see PositionAnalysis).
+ * ponder() searches the opponent's likely replies while they think; when
+ * one of them is played, getBestMove answers from what pondering found.
+ * Every move leaves a SearchMetrics snapshot (nodes, cutoffs, table hits,
+ * time) in getLastSearchMetrics(), optionally logged as JSON lines.
  * 
  * @author Extended feature implementation
  */
 public class AIPlayer {
 
-    private static final int WIN_SCORE = 1000000;
-    private static final int LOSE_SCORE = -1000000;
+    static final int WIN_SCORE = 1000000;
+    static final int LOSE_SCORE = -1000000;
     private static final int DRAW_SCORE = 0;
 
+    /** Default number of transposition table entries (about 4 MB). */
+    public static final int DEFAULT_TT_CAPACITY = 1 << 18;
+
+    /** Default number of empty squares at or below which the game is solved. */
+    public static final int DEFAULT_ENDGAME_THRESHOLD = 16;
+
+    /** Nodes an endgame solve may visit before falling back to the search. */
+    public static final long DEFAULT_ENDGAME_NODE_LIMIT = 1_000_000L;
+
+    /** Deepest iteration the views' hint analyses run to. */
+    public static final int DEFAULT_ANALYSIS_DEPTH = 12;
+
     private final DifficultyLevel difficulty;
     private final int playerNumber; // Which player the AI is (1 or 2)
     private final Random random;
+    private final TranspositionTable transpositionTable; // null when disabled
+    private GameSettings tableSettings; // game the table entries belong to
+
+    private int searchThreads = 1;
+    private ForkJoinPool searchPool; // created on first parallel search
+    private OpeningBook openingBook; // null when not using a book
+    private int endgameThreshold = DEFAULT_ENDGAME_THRESHOLD;
+    private EndgameSolver endgameSolver; // created on first use
+    private EndgameSolver.Result lastEndgameResult;
+
+    // Per-search state shared by all search threads
+    private volatile long deadline; // System.nanoTime() at which to stop
+    private volatile boolean searchAborted;
+    private volatile CancellationToken cancellation = CancellationToken.NONE;
+    private int lastScore; // score of the move returned by searchRoot
+    private int[] principalVariation = new int[0];
+    private MoveOrdering moveOrdering; // killers and history of the sequential search
+    private int lastCompletedDepth;
+    private final SearchMetrics.Recorder metrics = new SearchMetrics.Recorder(); // summed over threads
+    private SearchMetrics.Source moveSource;
+    private SearchMetrics lastSearchMetrics;
+    private PrintStream metricsLog; // null when not logging
+    private final Map<Long, PonderResult> ponderResults = new HashMap<>(); // by position hash
+
+    /**
+     * Mutable state of one search thread.
+     */
+    private final class SearchContext {
+        final Position state;
+        final IncrementalEvaluator evaluator;
+        final MoveOrdering ordering;
+        final CancellationToken cancellation = AIPlayer.this.cancellation;
+        long nodeCount;
+        long leafCount;
+        long tableProbes;
+        long tableHits;
+        final long[] cutoffs; // by index in the node's move order
+        boolean followPv; // still on the previous iteration's best line
+
+        SearchContext(Position state, boolean followPv, MoveOrdering ordering) {
+            this.state = state;
+            this.evaluator = new IncrementalEvaluator(state, playerNumber);
+            this.ordering = ordering;
+            this.cutoffs = new long[state.getColumns()];
+            this.followPv = followPv;
+        }
+
+        /**
+         * Adds this thread's counts to the move's metrics.
+         */
+        void flushMetrics() {
+            metrics.add(nodeCount, leafCount, cutoffs, tableProbes, tableHits);
+        }
+
+        /**
+         * Plays a move on the state and tells the evaluator about the coin.
+         */
+        void play(int column) {
+            int col = column - 1;
+            int row = state.getBoard().getHeight(col);
+            state.makeMove(column);
+            evaluator.place(col, row, state.getBoard().get(col, row));
+        }
+
+        /**
+         * Takes back a move played with play(column).
+         */
+        void unplay(int column) {
+            int col = column - 1;
+            int row = state.getBoard().getHeight(col) - 1;
+            evaluator.remove(col, row, state.getBoard().get(col, row));
+            state.unmakeMove(column);
+        }
+    }
+
+    /**
+     * What pondering found for one of the opponent's replies.
+     */
+    private static final class PonderResult {
+        final GameSettings settings; // game the position belongs to
+        final int move;
+        final int depth;
+        final int[] principalVariation;
+        final EndgameSolver.Result endgameResult; // null if searched
+        final boolean settled; // more time would not change the result
+        final SearchMetrics metrics; // counts and time of the pondering search
+
+        PonderResult(GameSettings settings, int move, int depth, int[] principalVariation,
+                EndgameSolver.Result endgameResult, boolean settled, SearchMetrics metrics) {
+            this.settings = settings;
+            this.move = move;
+            this.depth = depth;
+            this.principalVariation = principalVariation;
+            this.endgameResult = endgameResult;
+            this.settled = settled;
+            this.metrics = metrics;
+        }
+    }
 
     /**
      * Creates an AI player with the specified difficulty.
@@ -49,25 +189,47 @@ public class AIPlayer {
      * @param playerNumber which player the AI controls (1 or 2)
      */
     public AIPlayer(DifficultyLevel difficulty, int playerNumber) {
+        this(difficulty, playerNumber, DEFAULT_TT_CAPACITY);
+    }
+
+    /**
+     * Creates an AI player with a transposition table of the given size.
+     * 
+     * @param difficulty   the difficulty level
+     * @param playerNumber which player the AI controls (1 or 2)
+     * @param ttCapacity   transposition table entries, or 0 to disable it
+     */
+    public AIPlayer(DifficultyLevel difficulty, int playerNumber, int ttCapacity) {
         this.difficulty = difficulty;
         this.playerNumber = playerNumber;
         this.random = new Random();
+        this.transpositionTable = ttCapacity > 0 ? new TranspositionTable(ttCapacity) : null;
     }
 
     /**
      * Calculates and returns the best move for the AI.
      * Uses min/max algorithm with alpha-beta pruning.
-     * The search depth is determined by the difficulty level:
+     * If the difficulty level has a time budget, the search deepens
+     * iteratively until the budget runs out (see the two-argument overload).
+     * Otherwise the search depth is determined by the difficulty level:
      * - BEGINNER: depth 2
      * - INTERMEDIATE: depth 4
-     * - EXPERT: depth 6
      * 
      * @param gameState the current game state
      * @return the column number (1-based) to play, or -1 if no valid moves
      */
     public int getBestMove(GameState gameState) {
-        int depth = difficulty.getAiSearchDepth();
+        if (difficulty.getAiTimeBudgetMillis() > 0) {
+            return getBestMove(gameState, difficulty.getAiTimeBudgetMillis());
+        }
 
+        long start = startMove(gameState);
+        int move = chooseMoveAtFixedDepth(gameState);
+        finishMove(start);
+        return move;
+    }
+
+    private int chooseMoveAtFixedDepth(GameState gameState) {
         ArrayList<Integer> validMoves = getValidMoves(gameState);
         if (validMoves.isEmpty()) {
             return -1;
@@ -76,23 +238,629 @@ public class AIPlayer {
         // For beginner, add some randomness
         if (difficulty == DifficultyLevel.BEGINNER && random.nextDouble() < 0.3) {
             // 30% chance to make a random move at beginner level
+            moveSource = SearchMetrics.Source.RANDOM;
             return validMoves.get(random.nextInt(validMoves.size()));
         }
 
+        int bookMove = probeOpeningBook(gameState);
+        if (bookMove > 0) {
+            return bookMove;
+        }
+
+        // Pondering only keeps searches that reached the full depth
+        PonderResult pondered = takePonderResult(gameState);
+        if (pondered != null) {
+            return usePonderResult(pondered);
+        }
+
+        int solvedMove = probeEndgameSolver(gameState);
+        if (solvedMove > 0) {
+            return solvedMove;
+        }
+
+        prepareTable(gameState);
+        prepareMoveOrdering(gameState, difficulty.getAiSearchDepth());
+        deadline = Long.MAX_VALUE;
+        principalVariation = new int[0];
+
+        // One private copy for the whole search
+        Position searchState = new Position(gameState.getPosition());
+        lastCompletedDepth = difficulty.getAiSearchDepth();
+        return searchRoot(searchState, validMoves, difficulty.getAiSearchDepth());
+    }
+
+    /**
+     * Calculates the best move as getBestMove(GameState) does, stopping
+     * early if the token is cancelled. A cancelled search still returns a
+     * legal move, but not a considered one, so callers should discard it.
+     * 
+     * @param gameState the current game state
+     * @param token     cancels the search from another thread
+     * @return the column number (1-based) to play, or -1 if no valid moves
+     */
+    public int getBestMove(GameState gameState, CancellationToken token) {
+        cancellation = token;
+        try {
+            return getBestMove(gameState);
+        } finally {
+            cancellation = CancellationToken.NONE;
+        }
+    }
+
+    /**
+     * Calculates the best move within a wall-clock budget using iterative
+     * deepening: depth 1, 2, 3, ... are searched in turn until time runs out,
+     * and the move from the deepest fully completed iteration is returned.
+     * Each iteration searches the previous iteration's principal variation
+     * first, so the best line found so far is re-checked early and the
+     * alpha-beta window tightens quickly. The depth-1 iteration always
+     * completes, so a legal move is returned even with a zero budget.
+     * 
+     * @param gameState        the current game state
+     * @param timeBudgetMillis wall-clock budget in milliseconds
+     * @return the column number (1-based) to play, or -1 if no valid moves
+     */
+    public int getBestMove(GameState gameState, long timeBudgetMillis) {
+        long start = startMove(gameState);
+        int move = chooseMoveWithinBudget(gameState, timeBudgetMillis);
+        finishMove(start);
+        return move;
+    }
+
+    private int chooseMoveWithinBudget(GameState gameState, long timeBudgetMillis) {
+        ArrayList<Integer> validMoves = getValidMoves(gameState);
+        if (validMoves.isEmpty()) {
+            return -1;
+        }
+
+        int bookMove = probeOpeningBook(gameState);
+        if (bookMove > 0) {
+            return bookMove;
+        }
+
+        // Time spent pondering this position counts against the budget
+        PonderResult pondered = takePonderResult(gameState);
+        if (pondered != null) {
+            long ponderedMillis = pondered.metrics.getElapsedNanos() / 1_000_000L;
+            if (pondered.settled || ponderedMillis >= timeBudgetMillis) {
+                return usePonderResult(pondered);
+            }
+            timeBudgetMillis -= ponderedMillis;
+        }
+
+        int solvedMove = probeEndgameSolver(gameState);
+        if (solvedMove > 0) {
+            return solvedMove;
+        }
+
+        // The table still holds the pondered tree, so the search soon
+        // catches up with it; keep whichever went deeper
+        long stopAt = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int move = searchIteratively(gameState, validMoves, stopAt, Integer.MAX_VALUE);
+        if (pondered != null && pondered.depth > lastCompletedDepth) {
+            return usePonderResult(pondered);
+        }
+        return move;
+    }
+
+    /**
+     * Calculates the best move by iterative deepening to a fixed depth, with
+     * no time limit and without consulting the opening book. The result
+     * depends only on the position, the depth and the seed, which makes it
+     * suitable for building opening books offline.
+     * 
+     * @param gameState the current game state
+     * @param depth     search depth in plies
+     * @return the column number (1-based) to play, or -1 if no valid moves
+     */
+    public int getBestMoveToDepth(GameState gameState, int depth) {
+        long start = startMove(gameState);
+        ArrayList<Integer> validMoves = getValidMoves(gameState);
+        int move = validMoves.isEmpty() ? -1 : searchIteratively(gameState, validMoves, Long.MAX_VALUE, depth);
+        finishMove(start);
+        return move;
+    }
+
+    /**
+     * Analyses a position: scores every legal move for the side to move,
+     * which need not be this AI's player (see PositionAnalysis).
+     * 
+     * @param gameState the position (not modified)
+     * @param maxDepth  deepest iteration to run, in plies
+     * @return the analysis of the deepest completed iteration
+     */
+    public PositionAnalysis analyze(GameState gameState, int maxDepth) {
+        return analyze(gameState, maxDepth, CancellationToken.NONE, null);
+    }
+
+    /**
+     * Analyses a position by iterative deepening, reporting each completed
+     * depth as it goes, so a view can run it in the background for as long
+     * as the position stands and show the latest result.
+     * Each iteration searches every root move with a full window, so every
+     * column gets an exact score rather than the bound a move search leaves
+     * for moves that lose to the best one. Once the endgame solver applies,
+     * every column is solved exactly instead. The analysis stops early when
+     * every column is proven. It shares the transposition table and move
+     * ordering with this AI's move searches, so do not run both at once.
+     * 
+     * @param gameState the position (not modified)
+     * @param maxDepth  deepest iteration to run, in plies
+     * @param token     stops the analysis from another thread
+     * @param onDepth   told of each completed iteration on the searching
+     *                  thread, or null
+     * @return the analysis of the deepest completed iteration
+     */
+    public PositionAnalysis analyze(GameState gameState, int maxDepth, CancellationToken token,
+            Consumer<PositionAnalysis> onDepth) {
+        cancellation = token;
+        try {
+            return analyzeIteratively(gameState, maxDepth, onDepth);
+        } finally {
+            cancellation = CancellationToken.NONE;
+        }
+    }
+
+    private PositionAnalysis analyzeIteratively(GameState gameState, int maxDepth,
+            Consumer<PositionAnalysis> onDepth) {
+        boolean player1ToMove = gameState.isPlayer1Turn();
+        PositionAnalysis analysis = new PositionAnalysis(0, player1ToMove, new PositionAnalysis.ColumnScore[0], 0);
+        if (gameState.getGameOver() || gameState.isLuckyOfferPending()) {
+            return analysis;
+        }
+        ArrayList<Integer> validMoves = getValidMoves(gameState);
+        if (validMoves.isEmpty()) {
+            return analysis;
+        }
+
+        PositionAnalysis solved = solveEveryMove(gameState, validMoves);
+        if (solved != null) {
+            if (onDepth != null) {
+                onDepth.accept(solved);
+            }
+            return solved;
+        }
+
+        prepareTable(gameState);
+        int empty = countEmptyCells(gameState);
+        int depthLimit = depthLimit(gameState, maxDepth);
+        prepareMoveOrdering(gameState, depthLimit);
+        deadline = Long.MAX_VALUE;
+        principalVariation = new int[0];
+
+        Position searchState = new Position(gameState.getPosition());
+        // Scores are from this AI's side; the side to move maximizes them if
+        // it is the AI, and minimizes them otherwise
+        boolean aiToMove = player1ToMove == (playerNumber == 1);
+        long nodes = 0;
+
+        for (int depth = 1; depth <= depthLimit; depth++) {
+            searchAborted = false;
+            ArrayList<Integer> ordered = new ArrayList<>(validMoves);
+            if (principalVariation.length > 0 && ordered.remove(Integer.valueOf(principalVariation[0]))) {
+                ordered.add(0, principalVariation[0]);
+            }
+
+            SearchContext ctx = new SearchContext(searchState, principalVariation.length > 1, moveOrdering);
+            PositionAnalysis.ColumnScore[] scores = new PositionAnalysis.ColumnScore[ordered.size()];
+            for (int i = 0; i < ordered.size() && !searchAborted; i++) {
+                int column = ordered.get(i);
+                ctx.play(column);
+                int score = minimax(ctx, depth - 1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE, !aiToMove);
+                ctx.unplay(column);
+                ctx.followPv = false;
+                if (!aiToMove) {
+                    score = -score;
+                }
+                scores[i] = new PositionAnalysis.ColumnScore(column, score, searchOutcome(score, depth >= empty), -1,
+                        extractPrincipalVariation(searchState, column, depth));
+            }
+            nodes += ctx.nodeCount;
+            if (searchAborted) {
+                break;
+            }
+
+            analysis = new PositionAnalysis(depth, player1ToMove, scores, nodes);
+            principalVariation = analysis.getBest().getPrincipalVariation();
+            if (onDepth != null) {
+                onDepth.accept(analysis);
+            }
+            if (analysis.isSolved()) {
+                break;
+            }
+        }
+        return analysis;
+    }
+
+    /**
+     * Gets what a search score proves about the game.
+     * 
+     * @param score    score for the side to move
+     * @param toTheEnd true if every line was searched to the end of the game
+     */
+    private static PositionAnalysis.Outcome searchOutcome(int score, boolean toTheEnd) {
+        if (score >= WIN_SCORE) {
+            return PositionAnalysis.Outcome.WIN;
+        } else if (score <= LOSE_SCORE) {
+            return PositionAnalysis.Outcome.LOSS;
+        }
+        return toTheEnd ? PositionAnalysis.Outcome.DRAW : PositionAnalysis.Outcome.UNKNOWN;
+    }
+
+    /**
+     * Solves the position after every legal move with the endgame solver, if
+     * few enough squares are empty.
+     * 
+     * @return the analysis, or null if the solver is off, does not apply, ran
+     *         out of nodes or was cancelled
+     */
+    private PositionAnalysis solveEveryMove(GameState gameState, ArrayList<Integer> validMoves) {
+        int empty = countEmptyCells(gameState);
+        if (endgameThreshold <= 0 || empty - 1 > endgameThreshold) {
+            return null;
+        }
+        boolean player1ToMove = gameState.isPlayer1Turn();
+        Position position = new Position(gameState.getPosition());
+        PositionAnalysis.ColumnScore[] scores = new PositionAnalysis.ColumnScore[validMoves.size()];
+        long nodes = 0;
+
+        for (int i = 0; i < validMoves.size(); i++) {
+            int column = validMoves.get(i);
+            position.makeMove(column);
+            PositionAnalysis.Outcome outcome;
+            int distance = 1;
+            int[] line = { column };
+            if (position.isGameOver()) {
+                int winner = position.getWinner();
+                outcome = winner == BitBoard.EMPTY ? PositionAnalysis.Outcome.DRAW
+                        : (winner == BitBoard.PLAYER1) == player1ToMove ? PositionAnalysis.Outcome.WIN
+                                : PositionAnalysis.Outcome.LOSS;
+            } else {
+                EndgameSolver.Result reply = getEndgameSolver().solve(position, gameState.getSettings(),
+                        cancellation);
+                nodes += getEndgameSolver().getNodes();
+                if (reply == null) {
+                    position.unmakeMove(column);
+                    return null;
+                }
+                // The reply's result is the opponent's
+                outcome = reply.getOutcome() == EndgameSolver.WIN ? PositionAnalysis.Outcome.LOSS
+                        : reply.getOutcome() == EndgameSolver.LOSS ? PositionAnalysis.Outcome.WIN
+                                : PositionAnalysis.Outcome.DRAW;
+                distance += reply.getDistance();
+                line = new int[] { column, reply.getBestMove() };
+            }
+            position.unmakeMove(column);
+            int score = outcome == PositionAnalysis.Outcome.WIN ? WIN_SCORE
+                    : outcome == PositionAnalysis.Outcome.LOSS ? LOSE_SCORE : DRAW_SCORE;
+            scores[i] = new PositionAnalysis.ColumnScore(column, score, outcome, distance, line);
+        }
+        return new PositionAnalysis(empty, player1ToMove, scores, nodes);
+    }
+
+    /**
+     * Thinks on the opponent's time. Call it right after this AI's move,
+     * with the position the opponent now has to answer. Each reply is played
+     * on a private copy and searched as getBestMove would search it: the
+     * reply the principal variation expects first, then the others from the
+     * center out, until all are done or the token is cancelled. The results
+     * are kept for the next getBestMove call; if the opponent played one of
+     * the searched replies its move comes back at once (or, within a time
+     * budget, after searching only the budget pondering did not use), and
+     * the rest are dropped. Table entries from every reply stay in the
+     * transposition table. The last move's principal variation, depth and
+     * metrics are left as they were. Do not run it alongside getBestMove or
+     * analyze on the same AI.
+     * 
+     * @param gameState the position after this AI's move (not modified)
+     * @param token     stops pondering; cancel it once the opponent moves
+     */
+    public void ponder(GameState gameState, CancellationToken token) {
+        ponderResults.clear();
+        if (gameState.getGameOver() || gameState.isLuckyOfferPending()
+                || gameState.isPlayer1Turn() == (playerNumber == 1)) {
+            return;
+        }
+
+        int[] savedPrincipalVariation = principalVariation;
+        int savedDepth = lastCompletedDepth;
+        EndgameSolver.Result savedEndgameResult = lastEndgameResult;
+        SearchMetrics.Source savedSource = moveSource;
+        cancellation = token;
+        try {
+            ArrayList<Integer> replies = getValidMoves(gameState);
+            if (principalVariation.length > 1 && replies.remove(Integer.valueOf(principalVariation[1]))) {
+                replies.add(0, principalVariation[1]);
+            }
+            for (int reply : replies) {
+                if (token.isCancelled()) {
+                    break;
+                }
+                GameState position = cloneGameState(gameState);
+                position.makeMove(reply);
+                if (!position.getGameOver()) {
+                    ponderReply(position);
+                }
+            }
+        } finally {
+            cancellation = CancellationToken.NONE;
+            principalVariation = savedPrincipalVariation;
+            lastCompletedDepth = savedDepth;
+            lastEndgameResult = savedEndgameResult;
+            moveSource = savedSource;
+        }
+    }
+
+    /**
+     * Searches one position the opponent may leave, as getBestMove would,
+     * and keeps the result if it is worth using.
+     */
+    private void ponderReply(GameState position) {
+        long start = startMove(position);
+        if (probeOpeningBook(position) > 0) {
+            return; // answered at once anyway
+        }
+
+        int move = probeEndgameSolver(position);
+        boolean settled = move > 0;
+        if (!settled) {
+            if (cancellation.isCancelled()) {
+                return;
+            }
+            long budget = difficulty.getAiTimeBudgetMillis();
+            int depth = budget > 0 ? Integer.MAX_VALUE : difficulty.getAiSearchDepth();
+            long stopAt = budget > 0 ? System.nanoTime() + budget * 1_000_000L : Long.MAX_VALUE;
+            move = searchIteratively(position, getValidMoves(position), stopAt, depth);
+            settled = lastCompletedDepth >= depthLimit(position, depth)
+                    || lastScore >= WIN_SCORE || lastScore <= LOSE_SCORE;
+            // A fixed-depth move is only usable at its full depth
+            if (lastCompletedDepth == 0 || (budget == 0 && !settled)) {
+                return;
+            }
+        }
+
+        SearchMetrics searched = metrics.snapshot(moveSource, lastCompletedDepth, transpositionTable != null,
+                System.nanoTime() - start);
+        ponderResults.put(position.getZobristHash(), new PonderResult(position.getSettings(), move,
+                lastCompletedDepth, principalVariation, lastEndgameResult, settled, searched));
+    }
+
+    /**
+     * Takes what pondering found for a position, and forgets the rest.
+     * 
+     * @return the result, or null if the position was not pondered
+     */
+    private PonderResult takePonderResult(GameState gameState) {
+        PonderResult result = ponderResults.get(gameState.getZobristHash());
+        ponderResults.clear();
+        if (result == null || result.settings != gameState.getSettings() || !gameState.isValidMove(result.move)) {
+            return null;
+        }
+        return result;
+    }
+
+    /**
+     * Plays a pondered move: its line, depth and counts become the move's.
+     */
+    private int usePonderResult(PonderResult result) {
+        SearchMetrics searched = result.metrics;
+        metrics.add(searched.getNodes(), searched.getLeafEvaluations(), searched.getCutoffsByMoveIndex(),
+                searched.getTableProbes(), searched.getTableHits());
+        principalVariation = result.principalVariation;
+        lastCompletedDepth = result.depth;
+        lastEndgameResult = result.endgameResult;
+        moveSource = SearchMetrics.Source.PONDER;
+        return result.move;
+    }
+
+    /**
+     * Resets the per-move results before choosing a move.
+     * 
+     * @return System.nanoTime() at the start
+     */
+    private long startMove(GameState gameState) {
+        metrics.reset(gameState.getColumns());
+        moveSource = SearchMetrics.Source.SEARCH;
+        lastEndgameResult = null;
+        lastCompletedDepth = 0;
+        return System.nanoTime();
+    }
+
+    /**
+     * Records the metrics of the move just chosen, and logs them if a log
+     * is set.
+     */
+    private void finishMove(long start) {
+        long elapsed = System.nanoTime() - start;
+        lastSearchMetrics = metrics.snapshot(moveSource, lastCompletedDepth, transpositionTable != null, elapsed);
+        if (metricsLog != null) {
+            metricsLog.println(lastSearchMetrics.toJson());
+        }
+    }
+
+    /**
+     * Runs iterative deepening until the deadline passes or the depth limit
+     * is reached.
+     * 
+     * @param gameState  the current game state
+     * @param validMoves legal root moves
+     * @param stopAt     System.nanoTime() after which no new iteration starts
+     *                   and the running one is abandoned
+     * @param depthLimit deepest iteration to run
+     * @return the best move of the deepest completed iteration
+     */
+    private int searchIteratively(GameState gameState, ArrayList<Integer> validMoves, long stopAt,
+            int depthLimit) {
+        prepareTable(gameState);
+        principalVariation = new int[0];
+        lastCompletedDepth = 0;
+
+        Position searchState = new Position(gameState.getPosition());
         int bestMove = validMoves.get(0);
+        int maxDepth = depthLimit(gameState, depthLimit);
+        prepareMoveOrdering(gameState, maxDepth);
+
+        for (int depth = 1; depth <= maxDepth; depth++) {
+            // Never abort the first iteration
+            deadline = depth == 1 ? Long.MAX_VALUE : stopAt;
+
+            int move = searchRoot(searchState, validMoves, depth);
+            if (searchAborted) {
+                break;
+            }
+
+            bestMove = move;
+            lastCompletedDepth = depth;
+            principalVariation = extractPrincipalVariation(searchState, bestMove, depth);
+
+            // A forced result will not change with more depth
+            if (lastScore >= WIN_SCORE || lastScore <= LOSE_SCORE) {
+                break;
+            }
+            if (System.nanoTime() >= stopAt) {
+                break;
+            }
+        }
+
+        return bestMove;
+    }
+
+    /**
+     * Gets the deepest iteration worth running: no deeper than the squares
+     * left to fill, nor than the transposition table can record.
+     *
+     * @param gameState the position to search
+     * @param maxDepth  the depth asked for
+     * @return the depth limit, in plies
+     */
+    private int depthLimit(GameState gameState, int maxDepth) {
+        return Math.min(Math.min(maxDepth, countEmptyCells(gameState)), TranspositionTable.MAX_DEPTH);
+    }
+
+    /**
+     * Looks the position up in the opening book, if one is set and was built
+     * for this board and rules.
+     * 
+     * @return the book's move, or 0 if the position is not in the book
+     */
+    private int probeOpeningBook(GameState gameState) {
+        if (openingBook == null || gameState.isLuckyOfferPending() || !openingBook.matches(gameState)) {
+            return 0;
+        }
+        int move = openingBook.lookup(gameState.getZobristHash());
+        if (move > 0 && gameState.isValidMove(move)) {
+            principalVariation = new int[] { move };
+            lastCompletedDepth = 0;
+            moveSource = SearchMetrics.Source.OPENING_BOOK;
+            return move;
+        }
+        return 0;
+    }
+
+    /**
+     * Solves the position exactly if few enough squares are empty.
+     * 
+     * @return the proven best move, or 0 if the solver is off, does not apply
+     *         or ran out of nodes
+     */
+    private int probeEndgameSolver(GameState gameState) {
+        if (endgameThreshold <= 0 || gameState.isLuckyOfferPending()
+                || countEmptyCells(gameState) > endgameThreshold) {
+            return 0;
+        }
+        EndgameSolver.Result result = getEndgameSolver().solve(gameState, cancellation);
+        metrics.addNodes(endgameSolver.getNodes());
+        if (result == null) {
+            return 0;
+        }
+        lastEndgameResult = result;
+        moveSource = SearchMetrics.Source.ENDGAME_SOLVER;
+        principalVariation = new int[] { result.getBestMove() };
+        lastCompletedDepth = countEmptyCells(gameState); // searched to the end
+        return result.getBestMove();
+    }
+
+    private EndgameSolver getEndgameSolver() {
+        if (endgameSolver == null) {
+            endgameSolver = new EndgameSolver(DEFAULT_TT_CAPACITY, DEFAULT_ENDGAME_NODE_LIMIT);
+        }
+        return endgameSolver;
+    }
+
+    /**
+     * Clears the transposition table when it holds entries from another game.
+     * Entries are only valid for the board size and rules they came from.
+     */
+    private void prepareTable(GameState gameState) {
+        if (transpositionTable != null && gameState.getSettings() != tableSettings) {
+            transpositionTable.clear();
+            tableSettings = gameState.getSettings();
+        }
+    }
+
+    /**
+     * Readies the sequential search's move ordering for a new search: killer
+     * moves are dropped and history is aged, or everything is recreated if
+     * the board width changed.
+     */
+    private void prepareMoveOrdering(GameState gameState, int maxDepth) {
+        if (moveOrdering == null || moveOrdering.getColumns() != gameState.getColumns()) {
+            moveOrdering = new MoveOrdering(gameState.getColumns(), maxDepth);
+        } else {
+            moveOrdering.newSearch();
+            moveOrdering.ensurePly(maxDepth);
+        }
+    }
+
+    /**
+     * Searches every root move to a fixed depth.
+     * Sets lastScore to the best move's score. If the deadline passes, sets
+     * searchAborted and the returned move must be ignored.
+     * With more than one search thread the root moves are split across a
+     * ForkJoinPool (see searchRootParallel).
+     * 
+     * @param searchState private copy of the position
+     * @param validMoves  legal root moves
+     * @param depth       search depth in plies
+     * @return the best column (1-based)
+     */
+    private int searchRoot(Position searchState, ArrayList<Integer> validMoves, int depth) {
+        searchAborted = false;
+
+        // Try the previous iteration's best move first
+        ArrayList<Integer> ordered = new ArrayList<>(validMoves);
+        if (principalVariation.length > 0 && ordered.remove(Integer.valueOf(principalVariation[0]))) {
+            ordered.add(0, principalVariation[0]);
+        }
+
+        if (searchThreads > 1 && ordered.size() > 1) {
+            return searchRootParallel(searchState, ordered, depth);
+        }
+
+        SearchContext ctx = new SearchContext(searchState, principalVariation.length > 1, moveOrdering);
+        int bestMove = ordered.get(0);
         int bestScore = Integer.MIN_VALUE;
         int alpha = Integer.MIN_VALUE;
         int beta = Integer.MAX_VALUE;
 
         // Evaluate each possible move
-        for (int column : validMoves) {
-            // Make the move on a copy of the state
-            GameState clonedState = cloneGameState(gameState);
-            clonedState.moveInternal(column);
+        for (int column : ordered) {
+            ctx.play(column);
 
             // Use min/max to evaluate this move
-            // After AI moves, it's opponent's turn
-            int score = minimax(clonedState, depth - 1, alpha, beta, false);
+            // After AI moves, it's opponent's turn.
+            // The window starts one below the best score so far: a move that
+            // only ties it is then scored exactly rather than cut off with a
+            // bound, and the random tie-break below never picks a worse move.
+            int window = alpha == Integer.MIN_VALUE ? alpha : alpha - 1;
+            int score = minimax(ctx, depth - 1, 1, window, beta, false);
+            ctx.unplay(column);
+            ctx.followPv = false;
+
+            if (searchAborted) {
+                ctx.flushMetrics();
+                return bestMove;
+            }
 
             // Add some randomness to break ties
             if (score > bestScore || (score == bestScore && random.nextBoolean())) {
@@ -103,28 +871,261 @@ public class AIPlayer {
             alpha = Math.max(alpha, score);
         }
 
+        ctx.flushMetrics();
+        lastScore = bestScore;
+        return bestMove;
+    }
+
+    /**
+     * Searches the root moves in parallel, one task per move, each on its own
+     * copy of the state and sharing the transposition table.
+     * Every move is searched with a full window, so its score is exact. The
+     * sequential search scores exactly every move that ties or beats the best
+     * so far, and only those take part in the tie-break, so replaying the
+     * tie-break over the exact scores in the same order picks the same move.
+     * 
+     * @param searchState private copy of the position
+     * @param ordered     legal root moves in search order
+     * @param depth       search depth in plies
+     * @return the best column (1-based)
+     */
+    private int searchRootParallel(Position searchState, ArrayList<Integer> ordered, int depth) {
+        ForkJoinPool pool = getSearchPool();
+        int[] scores = new int[ordered.size()];
+        List<ForkJoinTask<?>> tasks = new ArrayList<>(ordered.size());
+
+        for (int i = 0; i < ordered.size(); i++) {
+            final int index = i;
+            final int column = ordered.get(i);
+            final Position copy = new Position(searchState);
+            tasks.add(pool.submit(() -> {
+                SearchContext ctx = new SearchContext(copy, index == 0 && principalVariation.length > 1,
+                        new MoveOrdering(copy.getColumns(), depth));
+                ctx.play(column);
+                scores[index] = minimax(ctx, depth - 1, 1, Integer.MIN_VALUE, Integer.MAX_VALUE, false);
+                ctx.unplay(column);
+                ctx.flushMetrics();
+            }));
+        }
+        for (ForkJoinTask<?> task : tasks) {
+            task.join();
+        }
+
+        if (searchAborted) {
+            return ordered.get(0);
+        }
+
+        int bestMove = ordered.get(0);
+        int bestScore = Integer.MIN_VALUE;
+        for (int i = 0; i < ordered.size(); i++) {
+            if (scores[i] > bestScore || (scores[i] == bestScore && random.nextBoolean())) {
+                bestScore = scores[i];
+                bestMove = ordered.get(i);
+            }
+        }
+
+        lastScore = bestScore;
         return bestMove;
     }
 
+    private ForkJoinPool getSearchPool() {
+        if (searchPool == null || searchPool.getParallelism() != searchThreads) {
+            if (searchPool != null) {
+                searchPool.shutdown();
+            }
+            searchPool = new ForkJoinPool(searchThreads);
+        }
+        return searchPool;
+    }
+
+    /**
+     * Sets how many threads split the root moves. 1 (the default) searches
+     * on the calling thread only.
+     * 
+     * @param threads number of search threads
+     */
+    public void setSearchThreads(int threads) {
+        this.searchThreads = Math.max(1, threads);
+    }
+
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    /**
+     * Sets an opening book to play from before searching. The book is only
+     * used on the board size and rules it was built for.
+     * 
+     * @param openingBook the book, or null to always search
+     */
+    public void setOpeningBook(OpeningBook openingBook) {
+        this.openingBook = openingBook;
+    }
+
+    public OpeningBook getOpeningBook() {
+        return openingBook;
+    }
+
+    /**
+     * Sets how few empty squares make the AI solve the game exactly instead
+     * of searching to its usual depth.
+     * 
+     * @param emptySquares threshold, or 0 to turn the endgame solver off
+     */
+    public void setEndgameThreshold(int emptySquares) {
+        this.endgameThreshold = Math.max(0, emptySquares);
+    }
+
+    public int getEndgameThreshold() {
+        return endgameThreshold;
+    }
+
+    /**
+     * Gets the proven result behind the last move, if the endgame solver
+     * chose it.
+     * 
+     * @return the result, or null if the last move came from the search
+     */
+    public EndgameSolver.Result getLastEndgameResult() {
+        return lastEndgameResult;
+    }
+
+    /**
+     * Reseeds the random number generator used for tie-breaks and beginner
+     * random moves, to make play reproducible.
+     * 
+     * @param seed the seed
+     */
+    public void setSeed(long seed) {
+        random.setSeed(seed);
+    }
+
+    /**
+     * Reads the principal variation out of the transposition table by
+     * following stored best moves from the root.
+     * 
+     * @param searchState private copy of the position (restored on return)
+     * @param bestMove    the root move chosen
+     * @param depth       depth of the completed iteration
+     * @return the line of columns, starting with bestMove
+     */
+    private int[] extractPrincipalVariation(Position searchState, int bestMove, int depth) {
+        int[] line = new int[depth];
+        int length = 0;
+        line[length++] = bestMove;
+        searchState.makeMove(bestMove);
+
+        while (transpositionTable != null && length < depth && !searchState.isGameOver()) {
+            long entry = transpositionTable.probe(searchState.getHash());
+            if (entry == 0) {
+                break;
+            }
+            int move = TranspositionTable.bestMove(entry);
+            if (!searchState.canPlay(move)) {
+                break;
+            }
+            searchState.makeMove(move);
+            line[length++] = move;
+        }
+
+        for (int i = length - 1; i >= 0; i--) {
+            searchState.unmakeMove(line[i]);
+        }
+        return Arrays.copyOf(line, length);
+    }
+
+    private int countEmptyCells(GameState state) {
+        return state.getPosition().countEmptyCells();
+    }
+
+    /**
+     * Gets the principal variation found by the last iterative-deepening
+     * search: the expected line of play, starting with the AI's move.
+     * 
+     * @return columns (1-based), empty before the first timed search
+     */
+    public int[] getPrincipalVariation() {
+        return principalVariation.clone();
+    }
+
+    /**
+     * Gets the depth the last move was searched to: the deepest completed
+     * iteration of an iterative-deepening search, or the fixed depth.
+     * 
+     * @return depth in plies
+     */
+    public int getLastCompletedDepth() {
+        return lastCompletedDepth;
+    }
+
+    /**
+     * Gets the number of nodes searched by the last getBestMove call, over
+     * all iterations and search threads.
+     * 
+     * @return node count (0 if the move was chosen without searching)
+     */
+    public long getNodesSearched() {
+        return metrics.getNodes();
+    }
+
+    /**
+     * Gets what the AI did to choose its last move.
+     * 
+     * @return the metrics, or null before the first move
+     */
+    public SearchMetrics getLastSearchMetrics() {
+        return lastSearchMetrics;
+    }
+
+    /**
+     * Sets where to write each move's metrics, as one line of JSON (see
+     * SearchMetrics.toJson).
+     * 
+     * @param log the stream, or null to stop logging
+     */
+    public void setMetricsLog(PrintStream log) {
+        this.metricsLog = log;
+    }
+
     /**
      * Recursive min/max evaluation with alpha-beta pruning.
      * This is the core of the AI decision making:
      * - At MAX nodes (AI's turn): choose the move with highest score
      * - At MIN nodes (opponent's turn): assume opponent picks lowest score
      * - Alpha-beta pruning skips branches that can't affect the outcome
+     * - Positions already searched to this depth are answered (or have their
+     * window narrowed) from the transposition table. Only entries of exactly
+     * this depth are used, so a node's score is its true depth-limited value
+     * whatever order the tree was searched in; that keeps parallel and
+     * sequential searches in agreement.
      * 
-     * @param state        current game state
+     * @param ctx          search thread state; ctx.state is restored to its
+     *                     original position on return
      * @param depth        remaining search depth
+     * @param ply          distance from the root
      * @param alpha        best score achievable by maximizer
      * @param beta         best score achievable by minimizer
      * @param isMaximizing true if it's AI's turn (maximize), false for opponent
      * @return the evaluation score of this position
      */
-    private int minimax(GameState state, int depth, int alpha, int beta, boolean isMaximizing) {
-        if (state.getGameOver()) {
-            if (state.getPlayer1Wins()) {
+    private int minimax(SearchContext ctx, int depth, int ply, int alpha, int beta, boolean isMaximizing) {
+        Position state = ctx.state;
+
+        // Check the clock every 1024 nodes, and for cancellation at every node
+        if ((++ctx.nodeCount & 1023) == 0 && System.nanoTime() >= deadline) {
+            searchAborted = true;
+        }
+        if (ctx.cancellation.isCancelled()) {
+            searchAborted = true;
+        }
+        if (searchAborted) {
+            return 0;
+        }
+
+        if (state.isGameOver()) {
+            if (state.getWinner() == BitBoard.PLAYER1) {
                 return playerNumber == 1 ? WIN_SCORE : LOSE_SCORE;
-            } else if (state.getPlayer2Wins()) {
+            } else if (state.getWinner() == BitBoard.PLAYER2) {
                 return playerNumber == 2 ? WIN_SCORE : LOSE_SCORE;
             } else {
                 return DRAW_SCORE;
@@ -132,50 +1133,126 @@ public class AIPlayer {
         }
 
         if (depth == 0) {
-            return evaluatePosition(state);
+            ctx.leafCount++;
+            return ctx.evaluator.evaluate(state);
         }
 
-        ArrayList<Integer> validMoves = getValidMoves(state);
-        if (validMoves.isEmpty()) {
+        long key = state.getHash();
+        int alphaOrig = alpha;
+        int betaOrig = beta;
+        int hashMove = 0;
+        if (transpositionTable != null) {
+            long entry = transpositionTable.probe(key);
+            ctx.tableProbes++;
+            if (entry != 0) {
+                ctx.tableHits++;
+            }
+            // A best move from any depth is worth trying first
+            hashMove = entry != 0 ? TranspositionTable.bestMove(entry) : 0;
+            if (entry != 0 && TranspositionTable.depth(entry) == depth) {
+                int stored = TranspositionTable.score(entry);
+                byte flag = TranspositionTable.flag(entry);
+                if (flag == TranspositionTable.EXACT) {
+                    return stored;
+                } else if (flag == TranspositionTable.LOWER_BOUND) {
+                    alpha = Math.max(alpha, stored);
+                } else {
+                    beta = Math.min(beta, stored);
+                }
+                if (beta <= alpha) {
+                    return stored;
+                }
+            }
+        }
+
+        // While still on the previous principal variation, search its move first
+        int pvMove = 0;
+        if (ctx.followPv) {
+            if (ply < principalVariation.length && state.canPlay(principalVariation[ply])) {
+                pvMove = principalVariation[ply];
+            } else {
+                ctx.followPv = false;
+            }
+        }
+
+        boolean player1ToMove = state.isPlayer1Turn();
+        int moveCount = ctx.ordering.order(state.getBoard(), ply, player1ToMove, pvMove, hashMove);
+        if (moveCount == 0) {
             return DRAW_SCORE;
         }
+        int[] moves = ctx.ordering.getMoves(ply);
+
+        int bestScore;
+        int bestMove = 0;
 
         if (isMaximizing) {
             int maxScore = Integer.MIN_VALUE;
 
-            for (int column : validMoves) {
-                GameState clonedState = cloneGameState(state);
-                clonedState.moveInternal(column);
-
-                int score = minimax(clonedState, depth - 1, alpha, beta, false);
-                maxScore = Math.max(maxScore, score);
+            for (int i = 0; i < moveCount; i++) {
+                int column = moves[i];
+                ctx.play(column);
+                int score = minimax(ctx, depth - 1, ply + 1, alpha, beta, false);
+                ctx.unplay(column);
+                ctx.followPv = false;
+                if (searchAborted) {
+                    return 0;
+                }
+                if (score > maxScore) {
+                    maxScore = score;
+                    bestMove = column;
+                }
 
                 alpha = Math.max(alpha, score);
                 if (beta <= alpha) {
+                    ctx.ordering.recordCutoff(ply, column, depth, player1ToMove);
+                    ctx.cutoffs[i]++;
                     break; // prune remaining branches
                 }
             }
 
-            return maxScore;
+            bestScore = maxScore;
 
         } else {
             int minScore = Integer.MAX_VALUE;
 
-            for (int column : validMoves) {
-                GameState clonedState = cloneGameState(state);
-                clonedState.moveInternal(column);
-
-                int score = minimax(clonedState, depth - 1, alpha, beta, true);
-                minScore = Math.min(minScore, score);
+            for (int i = 0; i < moveCount; i++) {
+                int column = moves[i];
+                ctx.play(column);
+                int score = minimax(ctx, depth - 1, ply + 1, alpha, beta, true);
+                ctx.unplay(column);
+                ctx.followPv = false;
+                if (searchAborted) {
+                    return 0;
+                }
+                if (score < minScore) {
+                    minScore = score;
+                    bestMove = column;
+                }
 
                 beta = Math.min(beta, score);
                 if (beta <= alpha) {
+                    ctx.ordering.recordCutoff(ply, column, depth, player1ToMove);
+                    ctx.cutoffs[i]++;
                     break; // Prune remaining branches
                 }
             }
 
-            return minScore;
+            bestScore = minScore;
+        }
+
+        if (transpositionTable != null) {
+            byte flag;
+            if (bestScore <= alphaOrig) {
+                flag = TranspositionTable.UPPER_BOUND;
+            } else if (bestScore >= betaOrig) {
+                flag = TranspositionTable.LOWER_BOUND;
+            } else {
+                flag = TranspositionTable.EXACT;
+            }
+            transpositionTable.store(key, depth, bestScore, flag, bestMove);
         }
+
+        return bestScore;
     }
 
     /**
@@ -186,22 +1263,25 @@ public class AIPlayer {
      * - Blocking opponent's threats
      * - Lucky coin positions (count as owned piece)
      * Higher scores favor the AI, lower scores favor the opponent.
+     * This is the from-scratch reference; the search itself keeps the same
+     * score up to date incrementally with an IncrementalEvaluator. Threats
+     * are probed on a copy of the position, so the game is only read.
      * 
-     * @param state the game state to evaluate
+     * @param state the game state to evaluate (not modified)
      * @return evaluation score
      */
-    private int evaluatePosition(GameState state) {
+    public int evaluatePosition(GameState state) {
+        Position position = new Position(state.getPosition());
         int score = 0;
-        int cols = state.getColumns();
-        int rows = state.getRows();
-        Cell[][] cells = state.getCells();
+        int rows = position.getRows();
+        BitBoard board = position.getBoard();
 
-        int centerCol = cols / 2;
+        int centerCol = position.getColumns() / 2;
         for (int row = 0; row < rows; row++) {
-            Cell cell = cells[centerCol][row];
-            if (!cell.isAvailable()) {
+            int owner = board.get(centerCol, row);
+            if (owner != BitBoard.EMPTY) {
                 int value = 3; // Center column bonus
-                if (isOwnPiece(cell, state)) {
+                if (isOwnPiece(owner)) {
                     score += value;
                 } else {
                     score -= value;
@@ -209,54 +1289,59 @@ public class AIPlayer {
             }
         }
 
-        score += evaluateLines(state);
+        score += evaluateLines(position);
 
-        score += evaluateThreats(state);
+        // No move is legal while a lucky coin offer is pending
+        if (!state.isLuckyOfferPending()) {
+            score += evaluateThreats(position);
+        }
 
         return score;
     }
 
     /**
-     * Evaluates potential winning lines.
+     * Evaluates potential winning lines, over every window as long as the
+     * board's win length (n).
      * Scoring:
-     * - 2 in a row with 2 empty: +10 / -10
-     * - 3 in a row with 1 empty: +100 / -100
+     * - n-2 in a row with 2 empty: +10 / -10
+     * - n-1 in a row with 1 empty: +100 / -100
      * 
-     * @param state game state
+     * @param position the position
      * @return line evaluation score
      */
-    private int evaluateLines(GameState state) {
+    private int evaluateLines(Position position) {
         int score = 0;
-        int cols = state.getColumns();
-        int rows = state.getRows();
-        Cell[][] cells = state.getCells();
+        int cols = position.getColumns();
+        int rows = position.getRows();
+        BitBoard board = position.getBoard();
+        int n = board.getWinLength();
 
-        // Check all possible 4-length windows
+        // Check all possible n-length windows
         // Horizontal windows
         for (int row = 0; row < rows; row++) {
-            for (int col = 0; col <= cols - 4; col++) {
-                score += evaluateWindow(cells, col, row, 1, 0, state);
+            for (int col = 0; col <= cols - n; col++) {
+                score += evaluateWindow(board, n, col, row, 1, 0);
             }
         }
 
         // Vertical windows
-        for (int row = 0; row <= rows - 4; row++) {
+        for (int row = 0; row <= rows - n; row++) {
             for (int col = 0; col < cols; col++) {
-                score += evaluateWindow(cells, col, row, 0, 1, state);
+                score += evaluateWindow(board, n, col, row, 0, 1);
             }
         }
 
         // Diagonal (/) windows
-        for (int row = 0; row <= rows - 4; row++) {
-            for (int col = 0; col <= cols - 4; col++) {
-                score += evaluateWindow(cells, col, row, 1, 1, state);
+        for (int row = 0; row <= rows - n; row++) {
+            for (int col = 0; col <= cols - n; col++) {
+                score += evaluateWindow(board, n, col, row, 1, 1);
             }
         }
 
         // Diagonal (\) windows
-        for (int row = 3; row < rows; row++) {
-            for (int col = 0; col <= cols - 4; col++) {
-                score += evaluateWindow(cells, col, row, 1, -1, state);
+        for (int row = n - 1; row < rows; row++) {
+            for (int col = 0; col <= cols - n; col++) {
+                score += evaluateWindow(board, n, col, row, 1, -1);
             }
         }
 
@@ -264,53 +1349,61 @@ public class AIPlayer {
     }
 
     /**
-     * Evaluates a window of 4 cells for scoring potential.
+     * Evaluates a window of cells for scoring potential.
      * 
-     * @param cells    the board
+     * @param board    the board
+     * @param length   cells in the window
      * @param startCol starting column
      * @param startRow starting row
      * @param colDir   column direction
      * @param rowDir   row direction
-     * @param state    game state for reference
      * @return window score
      */
-    private int evaluateWindow(Cell[][] cells, int startCol, int startRow,
-            int colDir, int rowDir, GameState state) {
+    private int evaluateWindow(BitBoard board, int length, int startCol, int startRow,
+            int colDir, int rowDir) {
         int ownCount = 0;
         int oppCount = 0;
-        int emptyCount = 0;
 
-        for (int i = 0; i < 4; i++) {
-            Cell cell = cells[startCol + i * colDir][startRow + i * rowDir];
+        for (int i = 0; i < length; i++) {
+            int owner = board.get(startCol + i * colDir, startRow + i * rowDir);
 
-            if (cell.isAvailable()) {
-                emptyCount++;
-            } else if (isOwnPiece(cell, state)) {
+            if (owner == BitBoard.EMPTY) {
+                continue;
+            } else if (isOwnPiece(owner)) {
                 ownCount++;
             } else {
                 oppCount++;
             }
         }
 
-        // Score the window
+        return scoreWindow(ownCount, oppCount, length);
+    }
+
+    /**
+     * Scores a window from its coin counts.
+     * 
+     * @param ownCount AI coins (including lucky coins)
+     * @param oppCount opponent coins
+     * @param length   cells in the window (the win length)
+     * @return window score
+     */
+    static int scoreWindow(int ownCount, int oppCount, int length) {
         if (ownCount > 0 && oppCount > 0) {
             return 0; // cant win here
         }
+        int emptyCount = length - ownCount - oppCount;
 
-        if (ownCount == 4)
+        if (ownCount == length)
             return WIN_SCORE / 10;
-        if (oppCount == 4)
+        if (oppCount == length)
             return LOSE_SCORE / 10;
 
-        if (ownCount == 3 && emptyCount == 1)
-            return 100;
-        if (oppCount == 3 && emptyCount == 1)
-            return -100;
+        if (emptyCount == 1)
+            return ownCount > 0 ? 100 : -100;
 
-        if (ownCount == 2 && emptyCount == 2)
-            return 10;
-        if (oppCount == 2 && emptyCount == 2)
-            return -10;
+        // Two short of a line; skipped when that would be an empty window
+        if (emptyCount == 2 && length > 2)
+            return ownCount > 0 ? 10 : -10;
 
         return 0;
     }
@@ -318,49 +1411,40 @@ public class AIPlayer {
     /**
      * Evaluates immediate win/block threats.
      * 
-     * @param state game state
+     * @param position private copy of the position (restored on return)
      * @return threat score
      */
-    private int evaluateThreats(GameState state) {
+    private int evaluateThreats(Position position) {
         int score = 0;
+        int aiOwner = playerNumber == 1 ? BitBoard.PLAYER1 : BitBoard.PLAYER2;
 
         // Check each column for immediate win/block
-        for (int col = 1; col <= state.getColumns(); col++) {
-            if (!state.isValidMove(col))
+        for (int col = 1; col <= position.getColumns(); col++) {
+            // Simulate the move in place
+            if (!position.makeMove(col))
                 continue;
 
-            // Simulate AI move
-            GameState testState = cloneGameState(state);
-            testState.moveInternal(col);
-
-            if (testState.getPlayer1Wins() || testState.getPlayer2Wins()) {
+            int winner = position.getWinner();
+            if (winner != BitBoard.EMPTY) {
                 // This move wins
-                boolean aiWins = (playerNumber == 1 && testState.getPlayer1Wins()) ||
-                        (playerNumber == 2 && testState.getPlayer2Wins());
-                score += aiWins ? 10000 : -10000;
+                score += winner == aiOwner ? 10000 : -10000;
             }
+
+            position.unmakeMove(col);
         }
 
         return score;
     }
 
     /**
-     * Checks if a cell's piece belongs to the AI player.
+     * Checks if a coin counts as the AI player's.
      * 
-     * @param cell  the cell to check
-     * @param state game state for player info
-     * @return true if AI's piece
+     * @param owner BitBoard owner code of the square
+     * @return true if AI's piece (lucky coins count for the AI)
      */
-    private boolean isOwnPiece(Cell cell, GameState state) {
-        Player aiPlayer = playerNumber == 1 ? state.getSettings().getPlayer1() : state.getSettings().getPlayer2();
-
-        Player.CoinColor aiColor = aiPlayer.getCoinColor();
-
-        if (cell.isRed() && aiColor == Player.CoinColor.RED)
-            return true;
-        if (cell.isYellow() && aiColor == Player.CoinColor.YELLOW)
-            return true;
-        return cell.isLucky();
+    private boolean isOwnPiece(int owner) {
+        int aiOwner = playerNumber == 1 ? BitBoard.PLAYER1 : BitBoard.PLAYER2;
+        return owner == aiOwner || owner == BitBoard.LUCKY;
     }
 
     /**
@@ -461,5 +1545,9 @@ public class AIPlayer {
     public int getPlayerNumber() {
         return playerNumber;
     }
+
+    public TranspositionTable getTranspositionTable() {
+        return transpositionTable;
+    }
 }
 
@@ -0,0 +1,31 @@
+package com.connect4.player;
+
+/**
+ * CancellationToken.java - NEW CLASS
+ * Flag that asks a running search to stop. The searches check it at every
+ * node, so a cancelled search returns within microseconds; whatever move it
+ * returns must then be ignored. A token can be cancelled from any thread and
+ * stays cancelled.
+ *
+ * @author Extended feature implementation
+ */
+public final class CancellationToken {
+
+    /** A token that is never cancelled, for searches that cannot be stopped. */
+    public static final CancellationToken NONE = new CancellationToken();
+
+    private volatile boolean cancelled;
+
+    /**
+     * Asks the search to stop. Does nothing on NONE.
+     */
+    public void cancel() {
+        if (this != NONE) {
+            cancelled = true;
+        }
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+}
@@ -0,0 +1,369 @@
+package com.connect4.player;
+
+import com.connect4.settings.GameSettings;
+import com.connect4.view.BitBoard;
+import com.connect4.view.GameState;
+import com.connect4.view.Position;
+
+/**
+ * EndgameSolver.java - NEW CLASS
+ * Exact solver for positions with few empty squares. Instead of a
+ * depth-limited search with a heuristic evaluation, it searches every line
+ * to the end of the game and proves whether the side to move wins, loses or
+ * draws, and how many plies the result takes with best play.
+ * How it works:
+ * - Scores are exact game results: a win completed with k coins on the
+ * board scores (squares + 1 - k) for the winner and the negation for the
+ * loser, so faster wins score higher; a draw scores 0. The score depends
+ * only on the position, so it can be stored in a transposition table.
+ * - Negamax with alpha-beta, run with null windows (alpha, alpha + 1) and
+ * the window moved by bisection until the exact score is pinned down, as
+ * in MTD(f).
+ * - Before searching a node, every move is tried once to find an immediate
+ * win; the score window is also clipped to the best and worst results still
+ * possible at that point.
+ * - Moves are ordered with the table's best move first, then from the
+ * center outwards.
+ * Positions are played in place on a copy of the game's Position with
+ * makeMove/unmakeMove. Lucky coin offers are not made during the search;
+ * lucky coins already on the board count for both players as usual.
+ * A node limit bounds the work. If a search reaches it, or is cancelled,
+ * the solver gives up and returns null, and the caller falls back to its
+ * normal search.
+ *
+ * @author Extended feature implementation
+ */
+public class EndgameSolver {
+
+    public static final int WIN = 1;
+    public static final int DRAW = 0;
+    public static final int LOSS = -1;
+
+    /**
+     * Proven result for the side to move.
+     */
+    public static class Result {
+        private final int outcome;
+        private final int distance;
+        private final int bestMove;
+        private final int score;
+
+        Result(int outcome, int distance, int bestMove, int score) {
+            this.outcome = outcome;
+            this.distance = distance;
+            this.bestMove = bestMove;
+            this.score = score;
+        }
+
+        /**
+         * @return WIN, DRAW or LOSS for the side to move
+         */
+        public int getOutcome() {
+            return outcome;
+        }
+
+        /**
+         * @return plies until the game ends with best play on both sides
+         */
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * @return a best move (1-based column)
+         */
+        public int getBestMove() {
+            return bestMove;
+        }
+
+        /**
+         * @return exact score (see the class comment)
+         */
+        public int getScore() {
+            return score;
+        }
+
+        @Override
+        public String toString() {
+            String name = outcome == WIN ? "win" : outcome == LOSS ? "loss" : "draw";
+            return name + " in " + distance + " (play column " + bestMove + ")";
+        }
+    }
+
+    private final TranspositionTable table;
+    private final long nodeLimit;
+
+    private GameSettings tableSettings; // game the table entries belong to
+
+    private Position state;
+    private int squares;
+    private int[] columnOrder;
+    private long nodes;
+    private boolean aborted;
+    private CancellationToken cancellation = CancellationToken.NONE;
+
+    /**
+     * Creates a solver.
+     *
+     * @param ttCapacity transposition table entries
+     * @param nodeLimit  nodes a solve may visit before giving up
+     */
+    public EndgameSolver(int ttCapacity, long nodeLimit) {
+        this.table = new TranspositionTable(ttCapacity);
+        this.nodeLimit = nodeLimit;
+    }
+
+    /**
+     * Solves a position.
+     *
+     * @param position the position (not modified)
+     * @return the proven result, or null if the node limit was reached, the
+     *         game is over or a lucky coin offer is pending
+     */
+    public Result solve(GameState position) {
+        return solve(position, CancellationToken.NONE);
+    }
+
+    /**
+     * Solves a position, giving up if the token is cancelled.
+     *
+     * @param position the position (not modified)
+     * @param token    cancels the solve from another thread
+     * @return the proven result, or null if cancelled, the node limit was
+     *         reached, the game is over or a lucky coin offer is pending
+     */
+    public Result solve(GameState position, CancellationToken token) {
+        if (position.isLuckyOfferPending()) {
+            return null;
+        }
+        return solve(position.getPosition(), position.getSettings(), token);
+    }
+
+    /**
+     * Solves a search position.
+     *
+     * @param position the position (not modified)
+     * @param settings the game it belongs to, which the table's entries are
+     *                 kept for
+     * @param token    cancels the solve from another thread
+     * @return the proven result, or null if cancelled, the node limit was
+     *         reached or the game is over
+     */
+    Result solve(Position position, GameSettings settings, CancellationToken token) {
+        if (position.isGameOver()) {
+            return null;
+        }
+        cancellation = token;
+
+        state = new Position(position);
+        squares = state.getColumns() * state.getRows();
+        columnOrder = centerOrder(state.getColumns());
+        nodes = 0;
+        aborted = false;
+        // Scores are only valid for the board size and rules they came from
+        if (settings != tableSettings) {
+            table.clear();
+            tableSettings = settings;
+        }
+
+        int coins = countCoins();
+        int bestMove = 0;
+        int bestScore = Integer.MIN_VALUE;
+        for (int pass = 0; pass < 2 && bestScore <= 0; pass++) {
+            // First pass: immediate wins only; second: solve every move
+            for (int column : columnOrder) {
+                if (!state.makeMove(column)) {
+                    continue;
+                }
+                int score;
+                if (state.isGameOver()) {
+                    score = terminalScore(coins + 1);
+                } else {
+                    score = pass == 0 ? Integer.MIN_VALUE : -solveScore(coins + 1);
+                }
+                state.unmakeMove(column);
+                if (aborted) {
+                    return null;
+                }
+                if (score > bestScore) {
+                    bestScore = score;
+                    bestMove = column;
+                }
+            }
+        }
+
+        int outcome = bestScore > 0 ? WIN : bestScore < 0 ? LOSS : DRAW;
+        int distance;
+        if (outcome == DRAW) {
+            distance = squares - coins;
+        } else {
+            int finalCoins = squares + 1 - Math.abs(bestScore);
+            distance = finalCoins - coins;
+        }
+        return new Result(outcome, distance, bestMove, bestScore);
+    }
+
+    /**
+     * Gets the nodes visited by the last solve.
+     *
+     * @return node count
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    private int countCoins() {
+        int coins = 0;
+        for (int col = 0; col < state.getColumns(); col++) {
+            coins += state.getBoard().getHeight(col);
+        }
+        return coins;
+    }
+
+    /**
+     * Lists the columns from the center outwards, as AIPlayer orders moves.
+     */
+    private static int[] centerOrder(int columns) {
+        int[] order = new int[columns];
+        int count = 0;
+        int center = columns / 2 + 1;
+        order[count++] = center;
+        for (int offset = 1; offset <= columns / 2; offset++) {
+            if (center - offset >= 1) {
+                order[count++] = center - offset;
+            }
+            if (center + offset <= columns) {
+                order[count++] = center + offset;
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Score of a finished game from the point of view of the player who
+     * made the last move.
+     */
+    private int terminalScore(int coins) {
+        boolean moverWasPlayer1 = !state.isPlayer1Turn();
+        if (state.getWinner() != BitBoard.EMPTY) {
+            boolean moverWon = (state.getWinner() == BitBoard.PLAYER1) == moverWasPlayer1;
+            int score = squares + 1 - coins;
+            return moverWon ? score : -score;
+        }
+        return 0;
+    }
+
+    /**
+     * Finds the exact score of the current position by narrowing a null
+     * window, as in MTD(f).
+     */
+    private int solveScore(int coins) {
+        int min = -(squares - coins - 1);
+        int max = squares - coins;
+        while (min < max && !aborted) {
+            int med = min + (max - min) / 2;
+            // Probe near zero first: most positions are close to a draw
+            if (med <= 0 && min / 2 < med) {
+                med = min / 2;
+            } else if (med >= 0 && max / 2 > med) {
+                med = max / 2;
+            }
+            int result = negamax(coins, med, med + 1);
+            if (result <= med) {
+                max = result;
+            } else {
+                min = result;
+            }
+        }
+        return min;
+    }
+
+    /**
+     * Negamax with alpha-beta for the side to move.
+     *
+     * @param coins coins on the board
+     * @return the score, or a bound on it outside (alpha, beta)
+     */
+    private int negamax(int coins, int alpha, int beta) {
+        if (++nodes > nodeLimit || cancellation.isCancelled()) {
+            aborted = true;
+        }
+        if (aborted) {
+            return 0;
+        }
+
+        // Take an immediate win if there is one
+        for (int column : columnOrder) {
+            if (state.makeMove(column)) {
+                boolean over = state.isGameOver();
+                int score = over ? terminalScore(coins + 1) : 0;
+                state.unmakeMove(column);
+                if (score > 0) {
+                    return score;
+                }
+            }
+        }
+        if (coins + 1 >= squares) {
+            return 0; // the last square cannot win, so it draws
+        }
+
+        // No win now: the best left is winning with our next coin, the worst
+        // is losing to the opponent's reply
+        int max = squares - coins - 2;
+        int min = -(squares - coins - 1);
+
+        long key = state.getHash();
+        long entry = table.probe(key);
+        int hashMove = 0;
+        if (entry != 0) {
+            int stored = TranspositionTable.score(entry);
+            byte flag = TranspositionTable.flag(entry);
+            hashMove = TranspositionTable.bestMove(entry);
+            if (flag == TranspositionTable.EXACT) {
+                return stored;
+            } else if (flag == TranspositionTable.UPPER_BOUND) {
+                max = Math.min(max, stored);
+            } else {
+                min = Math.max(min, stored);
+            }
+        }
+        if (beta > max) {
+            beta = max;
+            if (alpha >= beta) {
+                return beta;
+            }
+        }
+        if (alpha < min) {
+            alpha = min;
+            if (alpha >= beta) {
+                return alpha;
+            }
+        }
+
+        int bestMove = 0;
+        boolean raised = false;
+        for (int i = -1; i < columnOrder.length; i++) {
+            int column = i < 0 ? hashMove : columnOrder[i];
+            if (column <= 0 || (i >= 0 && column == hashMove) || !state.makeMove(column)) {
+                continue;
+            }
+            int score = state.isGameOver() ? terminalScore(coins + 1) : -negamax(coins + 1, -beta, -alpha);
+            state.unmakeMove(column);
+            if (aborted) {
+                return 0;
+            }
+            if (score >= beta) {
+                table.store(key, 0, score, TranspositionTable.LOWER_BOUND, column);
+                return score;
+            }
+            if (score > alpha) {
+                alpha = score;
+                bestMove = column;
+                raised = true;
+            }
+        }
+
+        table.store(key, 0, alpha, raised ? TranspositionTable.EXACT : TranspositionTable.UPPER_BOUND, bestMove);
+        return alpha;
+    }
+}
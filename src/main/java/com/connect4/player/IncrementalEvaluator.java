@@ -0,0 +1,277 @@
+package com.connect4.player;
+
+import com.connect4.view.BitBoard;
+import com.connect4.view.GameState;
+import com.connect4.view.Position;
+
+/**
+ * IncrementalEvaluator.java - NEW CLASS
+ * Keeps the AI's static evaluation up to date as coins are placed and
+ * removed during search, instead of rescanning the board at every leaf.
+ * It produces the same score as AIPlayer.evaluatePosition:
+ * - Center column bonus: running total, updated when a center coin changes
+ * - Line windows: coin counts per player for every window as long as the
+ * board's win length, plus the running sum of window scores. A coin only
+ * touches the (at most 4 x win length) windows that contain it.
+ * - Immediate threats: for each player, a count per empty cell of windows
+ * that the cell would complete. At a leaf only the playable cell of each
+ * column is looked up, instead of playing every column and running a win
+ * check.
+ * The owner of the evaluator must call place() after every coin is added and
+ * remove() before every coin is taken away.
+ *
+ * @author Extended feature implementation
+ */
+public class IncrementalEvaluator {
+
+    private static final int CENTER_BONUS = 3;
+    private static final int THREAT_SCORE = 10000;
+
+    private final int columns;
+    private final int rows;
+    private final int aiPlayer; // BitBoard.PLAYER1 or BitBoard.PLAYER2
+    private final int windowLength; // the board's win length
+
+    private final int[] windowCells; // windowLength cell indices per window
+    private final int[][] cellWindows; // windows containing each cell
+    private final int[][] cellSlots; // position of the cell in each of those windows
+
+    private final byte[] player1Counts;
+    private final byte[] player2Counts;
+    private final byte[] luckyCounts;
+    private final int[] occupied; // bit i set when the i-th cell of the window is filled
+
+    private final int[] player1Threats; // per cell: windows it would complete
+    private final int[] player2Threats;
+
+    private int lineScore;
+    private int centerScore;
+
+    /**
+     * Builds the evaluator for the current position of a game.
+     *
+     * @param state        the game state to evaluate
+     * @param playerNumber which player the AI controls (1 or 2)
+     */
+    public IncrementalEvaluator(GameState state, int playerNumber) {
+        this(state.getPosition(), playerNumber);
+    }
+
+    /**
+     * Builds the evaluator for a search position.
+     *
+     * @param position     the position to evaluate
+     * @param playerNumber which player the AI controls (1 or 2)
+     */
+    public IncrementalEvaluator(Position position, int playerNumber) {
+        this.columns = position.getColumns();
+        this.rows = position.getRows();
+        this.aiPlayer = playerNumber == 1 ? BitBoard.PLAYER1 : BitBoard.PLAYER2;
+        this.windowLength = position.getBoard().getWinLength();
+
+        // Enumerate windows in the same directions as AIPlayer.evaluateLines
+        int maxWindows = 4 * columns * rows;
+        int[] cells = new int[maxWindows * windowLength];
+        int count = 0;
+        int[][] directions = { { 1, 0 }, { 0, 1 }, { 1, 1 }, { 1, -1 } };
+        for (int[] dir : directions) {
+            for (int col = 0; col < columns; col++) {
+                for (int row = 0; row < rows; row++) {
+                    int endCol = col + (windowLength - 1) * dir[0];
+                    int endRow = row + (windowLength - 1) * dir[1];
+                    if (endCol >= columns || endRow < 0 || endRow >= rows) {
+                        continue;
+                    }
+                    for (int i = 0; i < windowLength; i++) {
+                        cells[count * windowLength + i] = cellIndex(col + i * dir[0], row + i * dir[1]);
+                    }
+                    count++;
+                }
+            }
+        }
+        this.windowCells = java.util.Arrays.copyOf(cells, count * windowLength);
+
+        int[] perCell = new int[columns * rows];
+        for (int cell : windowCells) {
+            perCell[cell]++;
+        }
+        this.cellWindows = new int[columns * rows][];
+        this.cellSlots = new int[columns * rows][];
+        for (int cell = 0; cell < perCell.length; cell++) {
+            cellWindows[cell] = new int[perCell[cell]];
+            cellSlots[cell] = new int[perCell[cell]];
+            perCell[cell] = 0;
+        }
+        for (int w = 0; w < count; w++) {
+            for (int i = 0; i < windowLength; i++) {
+                int cell = windowCells[w * windowLength + i];
+                cellWindows[cell][perCell[cell]] = w;
+                cellSlots[cell][perCell[cell]] = i;
+                perCell[cell]++;
+            }
+        }
+
+        this.player1Counts = new byte[count];
+        this.player2Counts = new byte[count];
+        this.luckyCounts = new byte[count];
+        this.occupied = new int[count];
+        this.player1Threats = new int[columns * rows];
+        this.player2Threats = new int[columns * rows];
+
+        // Every empty window starts with score 0 and no threats
+        BitBoard board = position.getBoard();
+        for (int col = 0; col < columns; col++) {
+            for (int row = 0; row < rows; row++) {
+                int owner = board.get(col, row);
+                if (owner != BitBoard.EMPTY) {
+                    place(col, row, owner);
+                }
+            }
+        }
+    }
+
+    private int cellIndex(int col, int row) {
+        return col * rows + row;
+    }
+
+    /**
+     * Records a coin that was just placed.
+     *
+     * @param col   0-based column
+     * @param row   0-based row
+     * @param owner BitBoard.PLAYER1, PLAYER2 or LUCKY
+     */
+    public void place(int col, int row, int owner) {
+        update(col, row, owner, 1);
+    }
+
+    /**
+     * Records a coin that is about to be removed.
+     *
+     * @param col   0-based column
+     * @param row   0-based row
+     * @param owner owner of the coin being removed
+     */
+    public void remove(int col, int row, int owner) {
+        update(col, row, owner, -1);
+    }
+
+    private void update(int col, int row, int owner, int delta) {
+        if (col == columns / 2) {
+            centerScore += (isOwn(owner) ? CENTER_BONUS : -CENTER_BONUS) * delta;
+        }
+
+        int cell = cellIndex(col, row);
+        int[] windows = cellWindows[cell];
+        int[] slots = cellSlots[cell];
+        for (int k = 0; k < windows.length; k++) {
+            int w = windows[k];
+            unregister(w);
+            switch (owner) {
+                case BitBoard.PLAYER1 -> player1Counts[w] += delta;
+                case BitBoard.PLAYER2 -> player2Counts[w] += delta;
+                default -> luckyCounts[w] += delta;
+            }
+            occupied[w] ^= 1 << slots[k];
+            register(w);
+        }
+    }
+
+    private void register(int w) {
+        lineScore += windowScore(w);
+        markThreats(w, 1);
+    }
+
+    private void unregister(int w) {
+        lineScore -= windowScore(w);
+        markThreats(w, -1);
+    }
+
+    /**
+     * Adds or removes the threat a window makes: when a player (with lucky
+     * coins as wildcards) holds all but one cell and the opponent holds none,
+     * the empty cell wins for that player.
+     */
+    private void markThreats(int w, int delta) {
+        int p1 = player1Counts[w] + luckyCounts[w];
+        int p2 = player2Counts[w] + luckyCounts[w];
+        if (p1 == windowLength - 1 && player2Counts[w] == 0) {
+            player1Threats[emptyCell(w)] += delta;
+        }
+        if (p2 == windowLength - 1 && player1Counts[w] == 0) {
+            player2Threats[emptyCell(w)] += delta;
+        }
+    }
+
+    private int emptyCell(int w) {
+        int slot = Integer.numberOfTrailingZeros(~occupied[w]);
+        return windowCells[w * windowLength + slot];
+    }
+
+    /**
+     * Scores one window the same way as AIPlayer.evaluateWindow.
+     */
+    private int windowScore(int w) {
+        int ownCount = luckyCounts[w] + (aiPlayer == BitBoard.PLAYER1 ? player1Counts[w] : player2Counts[w]);
+        int oppCount = aiPlayer == BitBoard.PLAYER1 ? player2Counts[w] : player1Counts[w];
+        return AIPlayer.scoreWindow(ownCount, oppCount, windowLength);
+    }
+
+    private boolean isOwn(int owner) {
+        return owner == aiPlayer || owner == BitBoard.LUCKY;
+    }
+
+    /**
+     * Gets the evaluation of the current position.
+     *
+     * @param state the game state this evaluator tracks
+     * @return evaluation score, higher is better for the AI
+     */
+    public int evaluate(GameState state) {
+        // No move is legal while an offer is pending
+        if (state.isLuckyOfferPending()) {
+            return centerScore + lineScore;
+        }
+        return evaluate(state.getPosition());
+    }
+
+    /**
+     * Gets the evaluation of the current search position.
+     *
+     * @param position the position this evaluator tracks
+     * @return evaluation score, higher is better for the AI
+     */
+    public int evaluate(Position position) {
+        return centerScore + lineScore + threatScore(position);
+    }
+
+    /**
+     * Scores the immediate wins available to the side to move, one playable
+     * cell per column.
+     */
+    private int threatScore(Position position) {
+        // No move is legal after the game ends
+        if (position.isGameOver()) {
+            return 0;
+        }
+
+        int side = position.getSideToMove();
+        int[] threats = side == BitBoard.PLAYER1 ? player1Threats : player2Threats;
+        boolean fourCorners = position.isFourCorners();
+        BitBoard board = position.getBoard();
+        int perThreat = side == aiPlayer ? THREAT_SCORE : -THREAT_SCORE;
+
+        int score = 0;
+        for (int col = 0; col < columns; col++) {
+            int row = board.getHeight(col);
+            if (row >= rows) {
+                continue;
+            }
+            if (threats[cellIndex(col, row)] > 0
+                    || (fourCorners && board.hasSquareThrough(side, col, row))) {
+                score += perThreat;
+            }
+        }
+        return score;
+    }
+}
@@ -0,0 +1,208 @@
+package com.connect4.player;
+
+import java.util.Arrays;
+
+import com.connect4.view.BitBoard;
+
+/**
+ * MoveOrdering.java - NEW CLASS
+ * Orders the moves at each search node so the best one is usually tried
+ * first, which makes alpha-beta cut off sooner. Moves are tried in this
+ * order:
+ * 1. The move from the previous iteration's principal variation
+ * 2. The transposition table's best move for the position
+ * 3. The two killer moves for this ply: the last moves that caused a cutoff
+ * at the same distance from the root
+ * 4. The rest by history score (how much each column has caused cutoffs for
+ * the side to move), ties broken center-out
+ * Move lists are written into buffers preallocated per ply, so ordering
+ * allocates nothing during the search. One instance belongs to one search
+ * thread.
+ *
+ * @author Extended feature implementation
+ */
+public class MoveOrdering {
+
+    private static final int PV_KEY = Integer.MAX_VALUE;
+    private static final int HASH_KEY = Integer.MAX_VALUE - 1;
+    private static final int KILLER_KEY = Integer.MAX_VALUE - 3; // second killer is one less
+    private static final int HISTORY_LIMIT = 1 << 24; // halve all scores beyond this
+
+    private final int columns;
+    private final int[] centerOrder;
+    private final int[][] history; // [side to move][col], side 0 is player 1
+    private int[][] killers; // [ply][slot], 1-based columns, 0 for none
+    private int[][] moves; // [ply][index]
+    private final int[] keys; // ordering key of each candidate, reused per node
+
+    /**
+     * Creates move ordering state for a board width.
+     *
+     * @param columns board width
+     * @param maxPly  deepest ply that will be ordered (grown on demand)
+     */
+    public MoveOrdering(int columns, int maxPly) {
+        this.columns = columns;
+        this.centerOrder = new int[columns];
+        int count = 0;
+        int center = columns / 2 + 1;
+        centerOrder[count++] = center;
+        for (int offset = 1; offset <= columns / 2; offset++) {
+            if (center - offset >= 1) {
+                centerOrder[count++] = center - offset;
+            }
+            if (center + offset <= columns) {
+                centerOrder[count++] = center + offset;
+            }
+        }
+        this.history = new int[2][columns];
+        this.killers = new int[0][];
+        this.moves = new int[0][];
+        this.keys = new int[columns];
+        ensurePly(maxPly);
+    }
+
+    /**
+     * Makes sure buffers exist for plies 0 to maxPly.
+     *
+     * @param maxPly deepest ply
+     */
+    public void ensurePly(int maxPly) {
+        if (maxPly < moves.length) {
+            return;
+        }
+        int old = moves.length;
+        killers = Arrays.copyOf(killers, maxPly + 1);
+        moves = Arrays.copyOf(moves, maxPly + 1);
+        for (int ply = old; ply <= maxPly; ply++) {
+            killers[ply] = new int[2];
+            moves[ply] = new int[columns];
+        }
+    }
+
+    /**
+     * Forgets killer moves and weakens the history, for a new search.
+     * History is halved rather than cleared, so what was learnt on the
+     * previous move still helps a little.
+     */
+    public void newSearch() {
+        for (int[] slots : killers) {
+            slots[0] = 0;
+            slots[1] = 0;
+        }
+        ageHistory();
+    }
+
+    private void ageHistory() {
+        for (int[] side : history) {
+            for (int col = 0; col < columns; col++) {
+                side[col] >>= 1;
+            }
+        }
+    }
+
+    /**
+     * Lists the legal moves at a node in the order to try them.
+     *
+     * @param board         the position
+     * @param ply           distance from the root
+     * @param player1ToMove side to move
+     * @param pvMove        principal variation move, or 0
+     * @param hashMove      transposition table move, or 0
+     * @return the number of moves, which are in getMoves(ply)
+     */
+    public int order(BitBoard board, int ply, boolean player1ToMove, int pvMove, int hashMove) {
+        int[] list = moves[ply];
+        int[] sideHistory = history[player1ToMove ? 0 : 1];
+        int killer1 = killers[ply][0];
+        int killer2 = killers[ply][1];
+        int count = 0;
+
+        for (int column : centerOrder) {
+            if (board.isColumnFull(column - 1)) {
+                continue;
+            }
+            int key;
+            if (column == pvMove) {
+                key = PV_KEY;
+            } else if (column == hashMove) {
+                key = HASH_KEY;
+            } else if (column == killer1) {
+                key = KILLER_KEY;
+            } else if (column == killer2) {
+                key = KILLER_KEY - 1;
+            } else {
+                key = sideHistory[column - 1];
+            }
+
+            // Insertion sort, highest key first; equal keys keep center-out order
+            int i = count++;
+            while (i > 0 && keys[i - 1] < key) {
+                keys[i] = keys[i - 1];
+                list[i] = list[i - 1];
+                i--;
+            }
+            keys[i] = key;
+            list[i] = column;
+        }
+        return count;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Gets the buffer filled by the last order() call for a ply.
+     *
+     * @param ply distance from the root
+     * @return moves, valid up to the count order() returned
+     */
+    public int[] getMoves(int ply) {
+        return moves[ply];
+    }
+
+    /**
+     * Records a move that caused a beta cutoff.
+     *
+     * @param ply           distance from the root
+     * @param column        the move (1-based)
+     * @param depth         remaining depth at the node; deeper cutoffs count more
+     * @param player1ToMove side that played the move
+     */
+    public void recordCutoff(int ply, int column, int depth, boolean player1ToMove) {
+        int[] slots = killers[ply];
+        if (slots[0] != column) {
+            slots[1] = slots[0];
+            slots[0] = column;
+        }
+
+        int[] sideHistory = history[player1ToMove ? 0 : 1];
+        sideHistory[column - 1] += depth * depth;
+        if (sideHistory[column - 1] > HISTORY_LIMIT) {
+            ageHistory();
+        }
+    }
+
+    /**
+     * Gets a killer move.
+     *
+     * @param ply  distance from the root
+     * @param slot 0 for the most recent, 1 for the one before
+     * @return 1-based column, or 0 if none
+     */
+    public int getKiller(int ply, int slot) {
+        return killers[ply][slot];
+    }
+
+    /**
+     * Gets a column's history score.
+     *
+     * @param player1ToMove side to move
+     * @param column        1-based column
+     * @return accumulated cutoff score
+     */
+    public int getHistory(boolean player1ToMove, int column) {
+        return history[player1ToMove ? 0 : 1][column - 1];
+    }
+}
@@ -0,0 +1,174 @@
+package com.connect4.player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import com.connect4.view.GameState;
+
+/**
+ * OpeningBook.java - NEW CLASS
+ * Precomputed best moves for early positions, so the AI can answer them
+ * without searching. Books are built offline by OpeningBookGenerator and
+ * memory-mapped read-only, so opening one costs no parsing and many AIs can
+ * share a book.
+ * File layout (big-endian):
+ * - Header: magic "C4OB", version, columns, rows, flags (bit 0 Four
+ * Corners, bits 1-7 win condition, 0 meaning 4), ply (positions with fewer coins than this are covered),
+ * search depth used, entry count (int)
+ * - Entries sorted by key: position Zobrist hash (long, see
+ * GameState.getZobristHash) and best move (1-based column, byte)
+ * Lookup is a binary search over the mapped entries.
+ *
+ * @author Extended feature implementation
+ */
+public class OpeningBook {
+
+    /** Where the views look for the book for the standard 7x6 board. */
+    public static final String DEFAULT_BOOK_PATH = "books" + File.separator + "beginner_7x6.c4book";
+
+    static final byte[] MAGIC = { 'C', '4', 'O', 'B' };
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 14;
+    static final int ENTRY_SIZE = 9;
+
+    private static OpeningBook defaultBook;
+    private static boolean defaultBookLoaded;
+
+    private final ByteBuffer entries;
+    private final int columns;
+    private final int rows;
+    private final boolean fourCorners;
+    private final int winCondition;
+    private final int ply;
+    private final int searchDepth;
+    private final int size;
+
+    private OpeningBook(ByteBuffer data) throws IOException {
+        if (data.remaining() < HEADER_SIZE) {
+            throw new IOException("Not an opening book");
+        }
+        for (byte b : MAGIC) {
+            if (data.get() != b) {
+                throw new IOException("Not an opening book");
+            }
+        }
+        int version = data.get() & 0xFF;
+        if (version != VERSION) {
+            throw new IOException("Unsupported opening book version " + version);
+        }
+        this.columns = data.get() & 0xFF;
+        this.rows = data.get() & 0xFF;
+        int flags = data.get() & 0xFF;
+        this.fourCorners = (flags & 1) != 0;
+        this.winCondition = (flags >>> 1) > 0 ? flags >>> 1 : 4;
+        this.ply = data.get() & 0xFF;
+        this.searchDepth = data.get() & 0xFF;
+        this.size = data.getInt();
+        if (data.remaining() < (long) size * ENTRY_SIZE) {
+            throw new IOException("Opening book is truncated");
+        }
+        this.entries = data.slice();
+    }
+
+    /**
+     * Opens a book file by memory-mapping it.
+     *
+     * @param path the book file
+     * @return the book
+     * @throws IOException if the file cannot be read or is not a book
+     */
+    public static OpeningBook open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new OpeningBook(mapped);
+        }
+    }
+
+    /**
+     * Gets the book at DEFAULT_BOOK_PATH, opening it on first use.
+     *
+     * @return the shared default book, or null if there is none
+     */
+    public static synchronized OpeningBook getDefault() {
+        if (!defaultBookLoaded) {
+            defaultBookLoaded = true;
+            File file = new File(DEFAULT_BOOK_PATH);
+            if (file.isFile()) {
+                try {
+                    defaultBook = open(file.toPath());
+                } catch (IOException e) {
+                    System.err.println("Error loading opening book: " + e.getMessage());
+                }
+            }
+        }
+        return defaultBook;
+    }
+
+    /**
+     * Checks whether this book was built for a game's board size and rules.
+     *
+     * @param state the game
+     * @return true if the book applies
+     */
+    public boolean matches(GameState state) {
+        return state.getColumns() == columns && state.getRows() == rows
+                && state.getSettings().isFourCornersEnabled() == fourCorners
+                && state.getSettings().getWinCondition() == winCondition;
+    }
+
+    /**
+     * Finds the book move for a position.
+     *
+     * @param key the position's Zobrist hash
+     * @return 1-based column, or 0 if the position is not in the book
+     */
+    public int lookup(long key) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midKey = entries.getLong(mid * ENTRY_SIZE);
+            if (midKey < key) {
+                low = mid + 1;
+            } else if (midKey > key) {
+                high = mid - 1;
+            } else {
+                return entries.get(mid * ENTRY_SIZE + 8);
+            }
+        }
+        return 0;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public boolean isFourCorners() {
+        return fourCorners;
+    }
+
+    public int getWinCondition() {
+        return winCondition;
+    }
+
+    public int getPly() {
+        return ply;
+    }
+
+    public int getSearchDepth() {
+        return searchDepth;
+    }
+
+    public int size() {
+        return size;
+    }
+}
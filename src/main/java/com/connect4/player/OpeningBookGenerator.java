@@ -0,0 +1,293 @@
+package com.connect4.player;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+/**
+ * OpeningBookGenerator.java - NEW CLASS
+ * Builds an OpeningBook offline using the engine's own search:
+ * 1. Enumerates every distinct position with fewer coins than the book ply
+ * (ignoring lucky coins), skipping finished games.
+ * 2. Searches each one with AIPlayer.getBestMoveToDepth. Mirror-image
+ * positions share one search, with the move mirrored.
+ * 3. Writes the entries sorted by position hash.
+ * Searches run in parallel and are seeded per position, so the same
+ * options always produce the same book.
+ * Usage (see printUsage):
+ * java com.connect4.player.OpeningBookGenerator --ply 6 --depth 8
+ *
+ * @author Extended feature implementation
+ */
+public class OpeningBookGenerator {
+
+    private final DifficultyLevel board;
+    private final boolean fourCorners;
+    private final int ply;
+    private final int depth;
+    private final int threads;
+
+    /**
+     * Creates a generator.
+     *
+     * @param board       difficulty level that sets the board size
+     * @param fourCorners true to build for the Four Corners rule
+     * @param ply         positions with fewer coins than this are covered
+     * @param depth       search depth for each position
+     * @param threads     positions searched at once
+     */
+    public OpeningBookGenerator(DifficultyLevel board, boolean fourCorners, int ply, int depth, int threads) {
+        this.board = board;
+        this.fourCorners = fourCorners;
+        this.ply = ply;
+        this.depth = depth;
+        this.threads = Math.max(1, threads);
+    }
+
+    private GameSettings createSettings() {
+        GameSettings settings = new GameSettings(
+                new Player(1, "Book 1", Player.PlayerType.COMPUTER, Player.CoinColor.RED),
+                new Player(2, "Book 2", Player.PlayerType.COMPUTER, Player.CoinColor.YELLOW),
+                fourCorners);
+        settings.setDifficultyLevel(board);
+        return settings;
+    }
+
+    private static GameState replay(GameSettings settings, int[] moves) {
+        GameState state = new GameState(settings);
+        for (int move : moves) {
+            state.makeMove(move);
+        }
+        return state;
+    }
+
+    private int[] mirror(int[] moves) {
+        int[] mirrored = new int[moves.length];
+        for (int i = 0; i < moves.length; i++) {
+            mirrored[i] = board.getColumns() + 1 - moves[i];
+        }
+        return mirrored;
+    }
+
+    /**
+     * Lists one move sequence for every distinct unfinished position with
+     * fewer than ply coins.
+     */
+    private List<int[]> enumeratePositions(GameSettings settings) {
+        List<int[]> positions = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        List<int[]> frontier = new ArrayList<>();
+        frontier.add(new int[0]);
+        seen.add(replay(settings, new int[0]).getZobristHash());
+
+        for (int coins = 0; coins < ply && !frontier.isEmpty(); coins++) {
+            positions.addAll(frontier);
+            if (coins + 1 == ply) {
+                break;
+            }
+            List<int[]> next = new ArrayList<>();
+            for (int[] moves : frontier) {
+                GameState state = replay(settings, moves);
+                for (int column = 1; column <= state.getColumns(); column++) {
+                    if (!state.makeMove(column)) {
+                        continue;
+                    }
+                    if (!state.getGameOver() && seen.add(state.getZobristHash())) {
+                        int[] extended = java.util.Arrays.copyOf(moves, moves.length + 1);
+                        extended[moves.length] = column;
+                        next.add(extended);
+                    }
+                    state.unmakeMove(column);
+                }
+            }
+            frontier = next;
+        }
+        return positions;
+    }
+
+    /**
+     * Builds the book entries.
+     *
+     * @return best move (1-based column) by position hash
+     * @throws InterruptedException if interrupted while waiting for searches
+     */
+    public Map<Long, Integer> generate() throws InterruptedException {
+        GameSettings settings = createSettings();
+        List<int[]> positions = enumeratePositions(settings);
+
+        // Search one position of each mirror pair: the one with the smaller hash
+        List<int[]> toSearch = new ArrayList<>();
+        Map<Long, Long> mirrorOf = new HashMap<>();
+        for (int[] moves : positions) {
+            long key = replay(settings, moves).getZobristHash();
+            long mirrorKey = replay(settings, mirror(moves)).getZobristHash();
+            mirrorOf.put(key, mirrorKey);
+            if (key <= mirrorKey) {
+                toSearch.add(moves);
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        ThreadLocal<AIPlayer[]> players = ThreadLocal.withInitial(() -> new AIPlayer[] {
+                new AIPlayer(board, 1), new AIPlayer(board, 2) });
+        Map<Long, Integer> book = new HashMap<>();
+        try {
+            List<Future<long[]>> results = new ArrayList<>();
+            for (int[] moves : toSearch) {
+                results.add(executor.submit(() -> {
+                    GameState state = replay(settings, moves);
+                    long key = state.getZobristHash();
+                    AIPlayer ai = players.get()[state.isPlayer1Turn() ? 0 : 1];
+                    ai.setSeed(key);
+                    return new long[] { key, ai.getBestMoveToDepth(state, depth) };
+                }));
+            }
+            for (Future<long[]> result : results) {
+                long[] entry = result.get();
+                book.put(entry[0], (int) entry[1]);
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Book search failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Fill in the mirrored positions
+        for (Map.Entry<Long, Long> pair : mirrorOf.entrySet()) {
+            if (!book.containsKey(pair.getKey())) {
+                int move = book.get(pair.getValue());
+                book.put(pair.getKey(), board.getColumns() + 1 - move);
+            }
+        }
+        return book;
+    }
+
+    /**
+     * Writes a book file.
+     *
+     * @param book entries from generate()
+     * @param path destination file
+     * @throws IOException if it cannot be written
+     */
+    public void write(Map<Long, Integer> book, Path path) throws IOException {
+        long[] keys = new long[book.size()];
+        int i = 0;
+        for (long key : book.keySet()) {
+            keys[i++] = key;
+        }
+        java.util.Arrays.sort(keys);
+
+        ByteBuffer buffer = ByteBuffer.allocate(OpeningBook.HEADER_SIZE + keys.length * OpeningBook.ENTRY_SIZE);
+        buffer.put(OpeningBook.MAGIC);
+        buffer.put((byte) OpeningBook.VERSION);
+        buffer.put((byte) board.getColumns());
+        buffer.put((byte) board.getRows());
+        buffer.put((byte) ((fourCorners ? 1 : 0) | board.getWinCondition() << 1));
+        buffer.put((byte) ply);
+        buffer.put((byte) depth);
+        buffer.putInt(keys.length);
+        for (long key : keys) {
+            buffer.putLong(key);
+            buffer.put((byte) (int) book.get(key));
+        }
+        buffer.flip();
+
+        File parent = path.toAbsolutePath().getParent().toFile();
+        if (!parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        DifficultyLevel board = DifficultyLevel.BEGINNER;
+        boolean fourCorners = false;
+        int ply = 6;
+        int depth = 8;
+        int threads = Runtime.getRuntime().availableProcessors();
+        String out = OpeningBook.DEFAULT_BOOK_PATH;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            try {
+                switch (arg) {
+                    case "--board":
+                        board = DifficultyLevel.valueOf(value.trim().toUpperCase());
+                        i++;
+                        break;
+                    case "--corners":
+                        fourCorners = true;
+                        break;
+                    case "--ply":
+                        ply = Integer.parseInt(value);
+                        i++;
+                        break;
+                    case "--depth":
+                        depth = Integer.parseInt(value);
+                        i++;
+                        break;
+                    case "--threads":
+                        threads = Integer.parseInt(value);
+                        i++;
+                        break;
+                    case "--out":
+                        out = value;
+                        i++;
+                        break;
+                    case "--help":
+                    case "-h":
+                        printUsage();
+                        return;
+                    default:
+                        System.err.println("Unknown argument: " + arg);
+                        printUsage();
+                        System.exit(1);
+                }
+            } catch (IllegalArgumentException | NullPointerException e) {
+                System.err.println("Bad value for " + arg + ": " + value);
+                printUsage();
+                System.exit(1);
+            }
+        }
+
+        OpeningBookGenerator generator = new OpeningBookGenerator(board, fourCorners, ply, depth, threads);
+        long start = System.currentTimeMillis();
+        Map<Long, Integer> book = generator.generate();
+        generator.write(book, new File(out).toPath());
+        System.out.printf("Wrote %d positions to %s in %.1f s%n", book.size(), out,
+                (System.currentTimeMillis() - start) / 1000.0);
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: OpeningBookGenerator [options]");
+        System.out.println("  --board LEVEL   board size by level (default BEGINNER, 7x6)");
+        System.out.println("  --corners       build for the Four Corners rule");
+        System.out.println("  --ply N         cover positions with fewer than N coins (default 6)");
+        System.out.println("  --depth D       search depth per position (default 8)");
+        System.out.println("  --threads T     positions searched at once (default: number of cores)");
+        System.out.println("  --out FILE      output file (default " + OpeningBook.DEFAULT_BOOK_PATH + ")");
+    }
+}
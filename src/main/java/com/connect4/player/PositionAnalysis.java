@@ -0,0 +1,211 @@
+package com.connect4.player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * PositionAnalysis.java - NEW CLASS
+ * The AI's verdict on every legal move in a position, from
+ * AIPlayer.analyze, for hints and evaluation displays:
+ * - Each column's score from the point of view of the side to move (higher
+ * is better for them), with the line of play expected after it
+ * - Whether the column is a proven win, draw or loss. A search proves a
+ * result when it finds a forced win or loss within its depth, or when it
+ * reaches the end of the game on every line; the endgame solver proves
+ * results exactly once few squares are left.
+ * - The depth searched and the nodes visited
+ * Every column is searched with a full window, so unlike the bounds a move
+ * search leaves behind, each score is exact for its depth. Instances are
+ * immutable.
+ *
+ * @author Extended feature implementation
+ */
+public final class PositionAnalysis {
+
+    /**
+     * Game result with best play, where it is known.
+     */
+    public enum Outcome {
+        WIN, DRAW, LOSS, UNKNOWN
+    }
+
+    /**
+     * The analysis of one legal move.
+     */
+    public static final class ColumnScore {
+        private final int column;
+        private final int score;
+        private final Outcome outcome;
+        private final int distance;
+        private final int[] principalVariation;
+
+        ColumnScore(int column, int score, Outcome outcome, int distance, int[] principalVariation) {
+            this.column = column;
+            this.score = score;
+            this.outcome = outcome;
+            this.distance = distance;
+            this.principalVariation = principalVariation;
+        }
+
+        /**
+         * @return the move (1-based column)
+         */
+        public int getColumn() {
+            return column;
+        }
+
+        /**
+         * @return score for the side to move; +1,000,000 and -1,000,000
+         *         mark forced wins and losses
+         */
+        public int getScore() {
+            return score;
+        }
+
+        public Outcome getOutcome() {
+            return outcome;
+        }
+
+        public boolean isProven() {
+            return outcome != Outcome.UNKNOWN;
+        }
+
+        /**
+         * @return plies until the game ends with best play, counting this
+         *         move, or -1 if not known
+         */
+        public int getDistance() {
+            return distance;
+        }
+
+        /**
+         * @return the expected line of play, starting with this column
+         */
+        public int[] getPrincipalVariation() {
+            return principalVariation.clone();
+        }
+
+        /**
+         * Formats the result or score, e.g. "+120", "draw" or "win in 5".
+         *
+         * @return the verdict
+         */
+        public String getVerdict() {
+            if (outcome == Outcome.UNKNOWN) {
+                return (score > 0 ? "+" : "") + score;
+            }
+            String verdict = outcome.name().toLowerCase(Locale.ROOT);
+            if (outcome != Outcome.DRAW && distance > 0) {
+                verdict += " in " + distance;
+            }
+            return verdict;
+        }
+
+        /**
+         * Formats the column and its verdict, e.g. "4: +120".
+         */
+        @Override
+        public String toString() {
+            return column + ": " + getVerdict();
+        }
+    }
+
+    // Higher scores first; among proven results, faster wins and slower losses
+    private static final Comparator<ColumnScore> BEST_FIRST = Comparator
+            .comparingInt(ColumnScore::getScore).reversed()
+            .thenComparingInt(score -> score.getDistance() < 0 ? 0
+                    : score.getOutcome() == Outcome.WIN ? score.getDistance()
+                    : score.getOutcome() == Outcome.LOSS ? -score.getDistance() : 0);
+
+    private final int depth;
+    private final boolean player1ToMove;
+    private final List<ColumnScore> columns;
+    private final long nodes;
+
+    PositionAnalysis(int depth, boolean player1ToMove, ColumnScore[] columns, long nodes) {
+        ColumnScore[] sorted = columns.clone();
+        Arrays.sort(sorted, BEST_FIRST); // stable, so ties keep search order
+        this.depth = depth;
+        this.player1ToMove = player1ToMove;
+        this.columns = Collections.unmodifiableList(new ArrayList<>(Arrays.asList(sorted)));
+        this.nodes = nodes;
+    }
+
+    /**
+     * @return plies searched, or the squares left if the endgame solver
+     *         analysed the position
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return the side the scores are for
+     */
+    public boolean isPlayer1ToMove() {
+        return player1ToMove;
+    }
+
+    /**
+     * @return every legal move analysed, best first; empty if the game is
+     *         over, a lucky coin offer is pending or the analysis was
+     *         cancelled before its first depth completed
+     */
+    public List<ColumnScore> getColumns() {
+        return columns;
+    }
+
+    /**
+     * @return the best move's analysis, or null if there are no columns
+     */
+    public ColumnScore getBest() {
+        return columns.isEmpty() ? null : columns.get(0);
+    }
+
+    /**
+     * Gets one column's analysis.
+     *
+     * @param column 1-based column
+     * @return its analysis, or null if the move is not legal
+     */
+    public ColumnScore getColumn(int column) {
+        for (ColumnScore score : columns) {
+            if (score.getColumn() == column) {
+                return score;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return true if every column's result is proven
+     */
+    public boolean isSolved() {
+        for (ColumnScore score : columns) {
+            if (!score.isProven()) {
+                return false;
+            }
+        }
+        return !columns.isEmpty();
+    }
+
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * Formats the analysis on one line, best move first.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("depth ").append(depth);
+        for (int i = 0; i < columns.size(); i++) {
+            sb.append(i == 0 ? ": " : ", ").append(columns.get(i));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,286 @@
+package com.connect4.player;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * SearchMetrics.java - NEW CLASS
+ * What the AI did to choose one move, for tuning difficulty levels against
+ * latency targets and for the views' debug overlays:
+ * - Where the move came from (search, opening book, endgame solver, a
+ * search made while the opponent was thinking, or a beginner's random
+ * move) and the depth reached
+ * - Nodes visited and leaf positions evaluated
+ * - Beta cutoffs by the index of the move that caused them (index 0 is the
+ * first move tried; a high share there means move ordering works)
+ * - Transposition table probes and hits, if the AI has a table
+ * - Wall-clock time, and the effective branching factor: b such that
+ * b^depth = nodes
+ * Instances are immutable snapshots, read with AIPlayer.getLastSearchMetrics.
+ * toJson() gives one line per move for machine-readable logs; setting the
+ * system property connect4.metricsLog to a file path makes the views append
+ * those lines to that file (see getDefaultLog).
+ *
+ * @author Extended feature implementation
+ */
+public final class SearchMetrics {
+
+    /** System property naming the file the views log metrics to. */
+    public static final String LOG_PROPERTY = "connect4.metricsLog";
+
+    /**
+     * Where a move came from.
+     */
+    public enum Source {
+        SEARCH, OPENING_BOOK, ENDGAME_SOLVER, RANDOM, PONDER
+    }
+
+    private static PrintStream defaultLog;
+    private static boolean defaultLogOpened;
+
+    private final Source source;
+    private final int depth;
+    private final long nodes;
+    private final long leafEvaluations;
+    private final long[] cutoffsByMoveIndex;
+    private final boolean tableEnabled;
+    private final long tableProbes;
+    private final long tableHits;
+    private final long elapsedNanos;
+
+    SearchMetrics(Source source, int depth, long nodes, long leafEvaluations, long[] cutoffsByMoveIndex,
+            boolean tableEnabled, long tableProbes, long tableHits, long elapsedNanos) {
+        this.source = source;
+        this.depth = depth;
+        this.nodes = nodes;
+        this.leafEvaluations = leafEvaluations;
+        this.cutoffsByMoveIndex = cutoffsByMoveIndex;
+        this.tableEnabled = tableEnabled;
+        this.tableProbes = tableProbes;
+        this.tableHits = tableHits;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Gets the log file named by the connect4.metricsLog system property,
+     * opening it for appending on first use.
+     *
+     * @return the shared log, or null if the property is not set or the file
+     *         cannot be opened
+     */
+    public static synchronized PrintStream getDefaultLog() {
+        if (!defaultLogOpened) {
+            defaultLogOpened = true;
+            String path = System.getProperty(LOG_PROPERTY);
+            if (path != null && !path.isBlank()) {
+                try {
+                    defaultLog = new PrintStream(new FileOutputStream(path, true), true, "UTF-8");
+                } catch (IOException e) {
+                    System.err.println("Error opening metrics log: " + e.getMessage());
+                }
+            }
+        }
+        return defaultLog;
+    }
+
+    public Source getSource() {
+        return source;
+    }
+
+    /**
+     * @return plies searched (for the endgame solver, to the end of the
+     *         game), or 0 for book and random moves
+     */
+    public int getDepth() {
+        return depth;
+    }
+
+    /**
+     * @return nodes visited, over all iterations and search threads
+     */
+    public long getNodes() {
+        return nodes;
+    }
+
+    /**
+     * @return positions scored by the static evaluation
+     */
+    public long getLeafEvaluations() {
+        return leafEvaluations;
+    }
+
+    /**
+     * Gets the beta cutoffs, counted by the index of the move that caused
+     * them in the node's move order.
+     *
+     * @return counts, index 0 for the first move tried
+     */
+    public long[] getCutoffsByMoveIndex() {
+        return cutoffsByMoveIndex.clone();
+    }
+
+    /**
+     * @return total beta cutoffs
+     */
+    public long getCutoffs() {
+        long total = 0;
+        for (long count : cutoffsByMoveIndex) {
+            total += count;
+        }
+        return total;
+    }
+
+    /**
+     * @return share of cutoffs caused by the first move tried (0 to 1), or 0
+     *         if there were none
+     */
+    public double getFirstMoveCutoffRate() {
+        long total = getCutoffs();
+        return total == 0 ? 0.0 : (double) cutoffsByMoveIndex[0] / total;
+    }
+
+    /**
+     * @return true if the AI has a transposition table
+     */
+    public boolean isTableEnabled() {
+        return tableEnabled;
+    }
+
+    public long getTableProbes() {
+        return tableProbes;
+    }
+
+    public long getTableHits() {
+        return tableHits;
+    }
+
+    /**
+     * @return share of table probes that found the position (0 to 1), or 0
+     *         without a table or probes
+     */
+    public double getTableHitRate() {
+        return tableProbes == 0 ? 0.0 : (double) tableHits / tableProbes;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Gets the effective branching factor: the b for which b^depth equals
+     * the node count. Lower means the pruning works better.
+     *
+     * @return the branching factor, or 0 if nothing was searched
+     */
+    public double getEffectiveBranchingFactor() {
+        if (depth <= 0 || nodes <= 1) {
+            return 0.0;
+        }
+        return Math.pow(nodes, 1.0 / depth);
+    }
+
+    /**
+     * Formats the metrics as one line of JSON.
+     *
+     * @return a JSON object
+     */
+    public String toJson() {
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"source\":\"").append(source.name()).append('"');
+        sb.append(",\"depth\":").append(depth);
+        sb.append(",\"nodes\":").append(nodes);
+        sb.append(",\"leafEvaluations\":").append(leafEvaluations);
+        sb.append(",\"cutoffs\":").append(getCutoffs());
+        sb.append(",\"cutoffsByMoveIndex\":[");
+        for (int i = 0; i < cutoffsByMoveIndex.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(cutoffsByMoveIndex[i]);
+        }
+        sb.append(']');
+        if (tableEnabled) {
+            sb.append(",\"tableProbes\":").append(tableProbes);
+            sb.append(",\"tableHits\":").append(tableHits);
+            sb.append(",\"tableHitRate\":").append(String.format(Locale.ROOT, "%.4f", getTableHitRate()));
+        }
+        sb.append(",\"elapsedNanos\":").append(elapsedNanos);
+        sb.append(",\"effectiveBranchingFactor\":")
+                .append(String.format(Locale.ROOT, "%.3f", getEffectiveBranchingFactor()));
+        sb.append('}');
+        return sb.toString();
+    }
+
+    /**
+     * Formats the metrics on one short line for debug overlays.
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(source.name().toLowerCase(Locale.ROOT).replace('_', ' '));
+        if (depth > 0) {
+            sb.append(", depth ").append(depth);
+        }
+        sb.append(String.format(Locale.ROOT, ", %,d nodes in %.1f ms", nodes, elapsedNanos / 1e6));
+        if (nodes > 0) {
+            sb.append(String.format(Locale.ROOT, ", EBF %.2f", getEffectiveBranchingFactor()));
+            if (getCutoffs() > 0) {
+                sb.append(String.format(Locale.ROOT, ", 1st-move cutoffs %.0f%%", 100 * getFirstMoveCutoffRate()));
+            }
+            if (tableEnabled && tableProbes > 0) {
+                sb.append(String.format(Locale.ROOT, ", TT hits %.0f%%", 100 * getTableHitRate()));
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Adds up the counts of one move's search threads. Each thread counts
+     * into its own fields and adds them here once it finishes.
+     */
+    static final class Recorder {
+        private long nodes;
+        private long leafEvaluations;
+        private long[] cutoffsByMoveIndex = new long[0];
+        private long tableProbes;
+        private long tableHits;
+
+        synchronized void reset(int columns) {
+            nodes = 0;
+            leafEvaluations = 0;
+            tableProbes = 0;
+            tableHits = 0;
+            if (cutoffsByMoveIndex.length != columns) {
+                cutoffsByMoveIndex = new long[columns];
+            } else {
+                Arrays.fill(cutoffsByMoveIndex, 0L);
+            }
+        }
+
+        synchronized void add(long nodes, long leafEvaluations, long[] cutoffs, long tableProbes, long tableHits) {
+            this.nodes += nodes;
+            this.leafEvaluations += leafEvaluations;
+            for (int i = 0; i < cutoffs.length && i < cutoffsByMoveIndex.length; i++) {
+                cutoffsByMoveIndex[i] += cutoffs[i];
+            }
+            this.tableProbes += tableProbes;
+            this.tableHits += tableHits;
+        }
+
+        synchronized void addNodes(long nodes) {
+            this.nodes += nodes;
+        }
+
+        synchronized long getNodes() {
+            return nodes;
+        }
+
+        synchronized SearchMetrics snapshot(Source source, int depth, boolean tableEnabled, long elapsedNanos) {
+            return new SearchMetrics(source, depth, nodes, leafEvaluations, cutoffsByMoveIndex.clone(),
+                    tableEnabled, tableProbes, tableHits, elapsedNanos);
+        }
+    }
+}
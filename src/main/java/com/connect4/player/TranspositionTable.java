@@ -0,0 +1,127 @@
+package com.connect4.player;
+
+import java.util.Arrays;
+
+/**
+ * TranspositionTable.java - NEW CLASS
+ * Fixed-size table of search results keyed by Zobrist position hashes, so
+ * the AI does not search the same position twice when it is reached through
+ * different move orders.
+ * Each entry stores:
+ * - The full 64-bit key (to reject index collisions)
+ * - The remaining search depth the score was computed at
+ * - The score and whether it is exact, a lower bound or an upper bound
+ * - The best move found (1-based column), for move ordering
+ * The depth, score, flag and move are packed into one long, and the slot's
+ * key is stored XORed with that long. A reader that sees a half-written
+ * entry from another search thread gets a key mismatch and treats it as a
+ * miss, so the table can be shared by parallel searches without locks.
+ * A new result replaces the existing one in its slot unless the existing one
+ * is for a different position searched deeper.
+ * Depths are stored in 8 bits, so results searched deeper than MAX_DEPTH are
+ * stored as MAX_DEPTH. That only makes them look shallower than they are,
+ * which is safe; the AI's iterative deepening stops at MAX_DEPTH anyway.
+ *
+ * @author Extended feature implementation
+ */
+public class TranspositionTable {
+
+    public static final byte EXACT = 0;
+    public static final byte LOWER_BOUND = 1;
+    public static final byte UPPER_BOUND = 2;
+
+    /** Deepest search depth an entry can record. */
+    public static final int MAX_DEPTH = 254;
+
+    private final long[] keys; // key ^ data
+    private final long[] data; // 0 marks an empty slot
+    private final int mask;
+
+    /**
+     * Creates a table.
+     *
+     * @param capacity number of entries, rounded up to a power of two
+     */
+    public TranspositionTable(int capacity) {
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.keys = new long[size];
+        this.data = new long[size];
+        this.mask = size - 1;
+    }
+
+    private int slot(long key) {
+        return (int) (key ^ (key >>> 32)) & mask;
+    }
+
+    /**
+     * Looks up a position.
+     *
+     * @param key position hash
+     * @return the packed entry (read it with depth/score/flag/bestMove), or 0
+     *         if the position is not stored
+     */
+    public long probe(long key) {
+        int slot = slot(key);
+        long entry = data[slot];
+        if (entry != 0 && (keys[slot] ^ entry) == key) {
+            return entry;
+        }
+        return 0L;
+    }
+
+    /**
+     * Stores a search result.
+     *
+     * @param key      position hash
+     * @param depth    remaining depth the position was searched to (stored as
+     *                 at most MAX_DEPTH)
+     * @param score    score found
+     * @param flag     EXACT, LOWER_BOUND or UPPER_BOUND
+     * @param bestMove best 1-based column, or 0 if none
+     */
+    public void store(long key, int depth, int score, byte flag, int bestMove) {
+        depth = Math.min(depth, MAX_DEPTH);
+        int slot = slot(key);
+        long existing = data[slot];
+        if (existing != 0 && (keys[slot] ^ existing) != key && depth(existing) > depth) {
+            return; // keep the deeper result for the other position
+        }
+
+        long entry = (score & 0xFFFFFFFFL)
+                | ((long) ((depth + 1) & 0xFF) << 32)
+                | ((long) (flag & 0x3) << 40)
+                | ((long) (bestMove & 0xFF) << 48);
+        data[slot] = entry;
+        keys[slot] = key ^ entry;
+    }
+
+    public static int depth(long entry) {
+        return (int) ((entry >>> 32) & 0xFF) - 1;
+    }
+
+    public static int score(long entry) {
+        return (int) entry;
+    }
+
+    public static byte flag(long entry) {
+        return (byte) ((entry >>> 40) & 0x3);
+    }
+
+    public static int bestMove(long entry) {
+        return (int) ((entry >>> 48) & 0xFF);
+    }
+
+    public int getCapacity() {
+        return keys.length;
+    }
+
+    /**
+     * Removes every entry.
+     */
+    public void clear() {
+        Arrays.fill(data, 0L);
+    }
+}
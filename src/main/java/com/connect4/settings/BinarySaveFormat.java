@@ -0,0 +1,304 @@
+package com.connect4.settings;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import com.connect4.player.Player;
+import com.connect4.view.Cell;
+
+/**
+ * BinarySaveFormat.java - NEW CLASS
+ * Compact binary encoding of a GameSnapshot, read and written through NIO
+ * file channels. A typical save is well under a hundred bytes.
+ * Layout (big-endian), version 1:
+ * - Header: magic "C4SV", format version byte
+ * - Settings: game mode, difficulty level, columns, rows, flags (bit 0 Four
+ * Corners, bits 1-7 win condition; 0 in saves made before it was stored
+ * means the level's), max and current lucky coins; then for each player: type, coin
+ * colour, games won, games played, name
+ * - Save info: timestamp, description
+ * - Status: flags (bit 0 game over, 1 player 1 wins, 2 player 2 wins,
+ * 3 player 1 to move), move count
+ * - Moves, 2 bytes each in the order played: column; then row (bits 0-4),
+ * owner (bits 5-6: 1 player 1, 2 player 2, 3 lucky) and lucky coin flag
+ * (bit 7)
+ * - CRC32 of everything before it
+ * The board is not stored: replaying the moves rebuilds it. Strings are an
+ * unsigned 16-bit length and UTF-8 bytes. Enums are stored by ordinal, so
+ * new constants must be added at the end (or the version bumped).
+ *
+ * @author Extended feature implementation
+ */
+final class BinarySaveFormat {
+
+    static final int VERSION = 1;
+    private static final byte[] MAGIC = { 'C', '4', 'S', 'V' };
+
+    private BinarySaveFormat() {
+    }
+
+    /**
+     * Checks whether file contents start with this format's header.
+     *
+     * @param data the first bytes of a file (position is left unchanged)
+     * @return true for a binary save of any version
+     */
+    static boolean hasMagic(ByteBuffer data) {
+        if (data.remaining() < MAGIC.length) {
+            return false;
+        }
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (data.get(data.position() + i) != MAGIC[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes a snapshot to a file, replacing its contents.
+     *
+     * @param snapshot the snapshot to write
+     * @param path     destination file
+     * @throws IOException if the file cannot be written
+     */
+    static void write(SaveLoadManager.GameSnapshot snapshot, Path path) throws IOException {
+        ByteBuffer buffer = encode(snapshot);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Reads a whole file into a buffer.
+     *
+     * @param path the file to read
+     * @return buffer positioned at the start of the contents
+     * @throws IOException if the file cannot be read
+     */
+    static ByteBuffer readFile(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Save file too large: " + path);
+            }
+            ByteBuffer buffer = ByteBuffer.allocate((int) size);
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // keep reading until full or end of file
+            }
+            buffer.flip();
+            return buffer;
+        }
+    }
+
+    /**
+     * Encodes a snapshot.
+     *
+     * @param snapshot the snapshot to encode
+     * @return buffer ready to be written
+     */
+    static ByteBuffer encode(SaveLoadManager.GameSnapshot snapshot) {
+        GameSettings settings = snapshot.settings;
+        byte[] name1 = utf8(settings.getPlayer1().getName());
+        byte[] name2 = utf8(settings.getPlayer2().getName());
+        byte[] description = utf8(snapshot.saveDescription);
+        int moveCount = snapshot.moveHistory.length;
+
+        int size = MAGIC.length + 1
+                + 7 + 2 * 12 + name1.length + name2.length
+                + 8 + 2 + description.length
+                + 1 + 2 + 2 * moveCount
+                + 4;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+
+        // Settings block
+        buffer.put((byte) settings.getGameMode().ordinal());
+        buffer.put((byte) settings.getDifficultyLevel().ordinal());
+        buffer.put((byte) settings.getColumns());
+        buffer.put((byte) settings.getRows());
+        buffer.put((byte) ((settings.isFourCornersEnabled() ? 1 : 0) | settings.getWinCondition() << 1));
+        buffer.put((byte) settings.getMaxLuckyCoins());
+        buffer.put((byte) settings.getCurrentLuckyCoins());
+        putPlayer(buffer, settings.getPlayer1(), name1);
+        putPlayer(buffer, settings.getPlayer2(), name2);
+
+        // Save info
+        buffer.putLong(snapshot.savedTimestamp);
+        putString(buffer, description);
+
+        // Status and moves
+        int status = (snapshot.gameOver ? 1 : 0)
+                | (snapshot.player1Wins ? 2 : 0)
+                | (snapshot.player2Wins ? 4 : 0)
+                | (snapshot.player1Turn ? 8 : 0);
+        buffer.put((byte) status);
+        buffer.putShort((short) moveCount);
+
+        Cell.CellState player1State = toCellState(settings.getPlayer1().getCoinColor());
+        for (int i = 0; i < moveCount; i++) {
+            int col = snapshot.moveHistory[i][0];
+            int row = snapshot.moveHistory[i][1];
+            Cell.CellState state = snapshot.boardState[col][row];
+            int owner = state == Cell.CellState.LUCKY ? 3 : state == player1State ? 1 : 2;
+            boolean lucky = snapshot.luckyHistory != null && snapshot.luckyHistory[i];
+            buffer.put((byte) col);
+            buffer.put((byte) (row | owner << 5 | (lucky ? 0x80 : 0)));
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(buffer.array(), 0, buffer.position());
+        buffer.putInt((int) crc.getValue());
+
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Decodes a snapshot.
+     *
+     * @param data file contents, starting at the magic
+     * @return the snapshot
+     * @throws IOException if the data is corrupt or from a newer version
+     */
+    static SaveLoadManager.GameSnapshot decode(ByteBuffer data) throws IOException {
+        if (!hasMagic(data) || data.remaining() < MAGIC.length + 1 + 4) {
+            throw new IOException("Not a binary save file");
+        }
+
+        int end = data.limit() - 4;
+        CRC32 crc = new CRC32();
+        ByteBuffer checked = data.duplicate();
+        checked.limit(end);
+        crc.update(checked);
+        if ((int) crc.getValue() != data.getInt(end)) {
+            throw new IOException("Save file is corrupt (checksum mismatch)");
+        }
+
+        ByteBuffer buffer = data.duplicate();
+        buffer.limit(end);
+        buffer.position(buffer.position() + MAGIC.length);
+        int version = buffer.get() & 0xFF;
+        if (version > VERSION) {
+            throw new IOException("Save file is from a newer version (" + version + ")");
+        }
+
+        try {
+            // Settings block
+            GameSettings.GameMode mode = GameSettings.GameMode.values()[buffer.get()];
+            DifficultyLevel level = DifficultyLevel.values()[buffer.get()];
+            int columns = buffer.get() & 0xFF;
+            int rows = buffer.get() & 0xFF;
+            int flags = buffer.get() & 0xFF;
+            boolean fourCorners = (flags & 1) != 0;
+            int winCondition = flags >>> 1;
+            int maxLucky = buffer.get() & 0xFF;
+            int currentLucky = buffer.get() & 0xFF;
+            Player player1 = getPlayer(buffer, 1);
+            Player player2 = getPlayer(buffer, 2);
+
+            GameSettings settings = new GameSettings(player1, player2, fourCorners);
+            settings.setDifficultyLevel(level);
+            settings.setGameMode(mode);
+            settings.setColumns(columns);
+            settings.setRows(rows);
+            if (winCondition > 0) {
+                settings.setWinCondition(winCondition);
+            }
+            settings.setMaxLuckyCoins(maxLucky);
+            settings.setCurrentLuckyCoins(currentLucky);
+
+            SaveLoadManager.GameSnapshot snapshot = new SaveLoadManager.GameSnapshot();
+            snapshot.settings = settings;
+            snapshot.savedTimestamp = buffer.getLong();
+            snapshot.saveDescription = getString(buffer);
+
+            int status = buffer.get();
+            snapshot.gameOver = (status & 1) != 0;
+            snapshot.player1Wins = (status & 2) != 0;
+            snapshot.player2Wins = (status & 4) != 0;
+            snapshot.player1Turn = (status & 8) != 0;
+
+            // Rebuild the board by replaying the moves
+            int moveCount = buffer.getShort() & 0xFFFF;
+            snapshot.moveHistory = new int[moveCount][2];
+            snapshot.luckyHistory = new boolean[moveCount];
+            snapshot.boardState = new Cell.CellState[columns][rows];
+            for (Cell.CellState[] column : snapshot.boardState) {
+                java.util.Arrays.fill(column, Cell.CellState.EMPTY);
+            }
+            Cell.CellState player1State = toCellState(player1.getCoinColor());
+            Cell.CellState player2State = toCellState(player2.getCoinColor());
+            for (int i = 0; i < moveCount; i++) {
+                int col = buffer.get() & 0xFF;
+                int packed = buffer.get() & 0xFF;
+                int row = packed & 0x1F;
+                int owner = (packed >> 5) & 0x3;
+                if (col >= columns || row >= rows) {
+                    throw new IOException("Save file has a move off the board");
+                }
+                snapshot.moveHistory[i][0] = col;
+                snapshot.moveHistory[i][1] = row;
+                snapshot.luckyHistory[i] = (packed & 0x80) != 0;
+                snapshot.boardState[col][row] = owner == 1 ? player1State
+                        : owner == 2 ? player2State : Cell.CellState.LUCKY;
+            }
+            return snapshot;
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException | IllegalArgumentException e) {
+            throw new IOException("Save file is corrupt (truncated or bad value)");
+        }
+    }
+
+    private static void putPlayer(ByteBuffer buffer, Player player, byte[] name) {
+        buffer.put((byte) player.getType().ordinal());
+        buffer.put((byte) player.getCoinColor().ordinal());
+        buffer.putInt(player.getGamesWon());
+        buffer.putInt(player.getGamesPlayed());
+        putString(buffer, name);
+    }
+
+    private static Player getPlayer(ByteBuffer buffer, int id) {
+        Player.PlayerType type = Player.PlayerType.values()[buffer.get()];
+        Player.CoinColor color = Player.CoinColor.values()[buffer.get()];
+        int gamesWon = buffer.getInt();
+        int gamesPlayed = buffer.getInt();
+        Player player = new Player(id, getString(buffer), type, color);
+        player.setGamesWon(gamesWon);
+        player.setGamesPlayed(gamesPlayed);
+        return player;
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > 0xFFFF) {
+            bytes = java.util.Arrays.copyOf(bytes, 0xFFFF);
+        }
+        return bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static Cell.CellState toCellState(Player.CoinColor color) {
+        return Cell.CellState.valueOf(color.name());
+    }
+}
@@ -9,10 +9,12 @@ import java.io.Serializable;
  * - Board dimensions (columns x rows)
  * - Maximum number of lucky coins allowed
  * - AI search depth for min/max algorithm
+ * - AI time budget (0 = search to the fixed depth instead)
  * DIFFICULTY LEVELS (Rectangular - Standard):
  * - BEGINNER: 7x6 board, max 3 lucky coins, shallow AI (depth 2)
  * - INTERMEDIATE: 14x12 board, max 7 lucky coins, moderate AI (depth 4)
- * - EXPERT: 21x18 board, max 11 lucky coins, deep AI (depth 6)
+ * - EXPERT: 21x18 board, max 11 lucky coins, deep AI (iterative deepening,
+ * 1.5 s per move)
  * DIFFICULTY LEVELS (Square - Four Corners mode enabled):
  * - BEGINNER_SQUARE: 7x7 board, max 3 lucky coins, shallow AI (depth 2)
  * - INTERMEDIATE_SQUARE: 12x12 board, max 7 lucky coins, moderate AI (depth 4)
@@ -28,6 +30,7 @@ public enum DifficultyLevel implements Serializable {
             6, // rows
             3, // max lucky coins
             2, // AI search depth
+            0, // AI time budget in ms (fixed depth)
             4// win condition (4 in a row)
     ),
 
@@ -37,6 +40,7 @@ public enum DifficultyLevel implements Serializable {
             12, // rows
             7, // max lucky coins
             4, // AI search depth
+            0, // AI time budget in ms (fixed depth)
             4// win condition (4 in a row)
     ),
 
@@ -46,6 +50,7 @@ public enum DifficultyLevel implements Serializable {
             18, // rows
             11, // max lucky coins
             4, // AI search depth (reduced from 6 for performance)
+            1500, // AI time budget in ms (deepens until it runs out)
             4// win condition (4 in a row)
     );
 
@@ -54,15 +59,17 @@ public enum DifficultyLevel implements Serializable {
     private final int rows;
     private final int maxLuckyCoins;
     private final int aiSearchDepth;
+    private final long aiTimeBudgetMillis;
     private final int winCondition;
 
     DifficultyLevel(String displayName, int columns, int rows,
-            int maxLuckyCoins, int aiSearchDepth, int winCondition) {
+            int maxLuckyCoins, int aiSearchDepth, long aiTimeBudgetMillis, int winCondition) {
         this.displayName = displayName;
         this.columns = columns;
         this.rows = rows;
         this.maxLuckyCoins = maxLuckyCoins;
         this.aiSearchDepth = aiSearchDepth;
+        this.aiTimeBudgetMillis = aiTimeBudgetMillis;
         this.winCondition = winCondition;
     }
 
@@ -86,6 +93,10 @@ public enum DifficultyLevel implements Serializable {
         return aiSearchDepth;
     }
 
+    public long getAiTimeBudgetMillis() {
+        return aiTimeBudgetMillis;
+    }
+
     public int getWinCondition() {
         return winCondition;
     }
@@ -99,6 +110,10 @@ public enum DifficultyLevel implements Serializable {
     }
 
     public String getDescription() {
+        if (aiTimeBudgetMillis > 0) {
+            return String.format("%s: %dx%d board, max %d lucky coins, AI %.1fs per move",
+                    displayName, columns, rows, maxLuckyCoins, aiTimeBudgetMillis / 1000.0);
+        }
         return String.format("%s: %dx%d board, max %d lucky coins, AI depth %d",
                 displayName, columns, rows, maxLuckyCoins, aiSearchDepth);
     }
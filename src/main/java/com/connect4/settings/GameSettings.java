@@ -19,6 +19,9 @@ public class GameSettings implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    /** Longest win condition that fits the 7 bits saves and books store it in. */
+    public static final int MAX_WIN_CONDITION = 127;
+
     public enum GameMode {
         TWO_PLAYER("Two Players", "Two human players compete against each other"),
         VS_COMPUTER("Vs Computer", "Single player competes against AI opponent");
@@ -54,6 +57,7 @@ public class GameSettings implements Serializable {
     private int rows;
     private int maxLuckyCoins;
     private int currentLuckyCoins;
+    private int winCondition; // 0 in settings saved before it existed
 
     /**
      * Creates default game settings for two-player mode with standard board.
@@ -142,11 +146,13 @@ public class GameSettings implements Serializable {
     }
 
     /**
-     * Applies board size and lucky coin settings from the difficulty level.
+     * Applies board size, win condition and lucky coin settings from the
+     * difficulty level.
      */
     private void applyDifficultySettings() {
         this.columns = difficultyLevel.getColumns();
         this.rows = difficultyLevel.getRows();
+        this.winCondition = difficultyLevel.getWinCondition();
         this.maxLuckyCoins = difficultyLevel.getMaxLuckyCoins();
         this.currentLuckyCoins = 0;
     }
@@ -255,6 +261,9 @@ public class GameSettings implements Serializable {
         StringBuilder sb = new StringBuilder();
         sb.append("Game Mode: ").append(gameMode.getDisplayName()).append("\n");
         sb.append("Board Size: ").append(columns).append(" x ").append(rows).append("\n");
+        if (getWinCondition() != 4) {
+            sb.append("Win Condition: ").append(getWinCondition()).append(" in a row\n");
+        }
         sb.append("Max Lucky Coins: ").append(maxLuckyCoins).append("\n");
         sb.append("Player 1: ").append(player1.getName())
                 .append(" (").append(player1.getCoinColor()).append(")\n");
@@ -315,6 +324,34 @@ public class GameSettings implements Serializable {
         this.rows = rows;
     }
 
+    /**
+     * Gets the number of coins in a row needed to win.
+     * 
+     * @return the win condition, by default the difficulty level's
+     */
+    public int getWinCondition() {
+        return winCondition > 0 ? winCondition : difficultyLevel.getWinCondition();
+    }
+
+    /**
+     * Overrides the difficulty level's win condition, e.g. to play connect-5
+     * on a large board. Takes effect for games created afterwards.
+     * Save files and opening books store it in 7 bits, so it can be at most
+     * 127, and no more than the board's longer side.
+     * 
+     * @param winCondition coins in a row needed to win
+     * @throws IllegalArgumentException if winCondition is below 2 or above
+     *                                  min(127, max(columns, rows))
+     */
+    public void setWinCondition(int winCondition) {
+        int max = Math.min(MAX_WIN_CONDITION, Math.max(columns, rows));
+        if (winCondition < 2 || winCondition > max) {
+            throw new IllegalArgumentException(
+                    "Win condition must be between 2 and " + max + ", got " + winCondition);
+        }
+        this.winCondition = winCondition;
+    }
+
     public int getMaxLuckyCoins() {
         return maxLuckyCoins;
     }
@@ -0,0 +1,288 @@
+package com.connect4.settings;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SaveIndex.java - NEW CLASS
+ * Persistent index of the saves in one directory, so listing saves does not
+ * open every save file. For each save it keeps:
+ * - The summary line shown in the load dialogs
+ * - The file's modification time and length when it was indexed
+ * - Board size and move count
+ * The index is one small binary file in the save directory, read with a
+ * single channel read. refresh() lists the directory and compares each
+ * file's modification time and length with the index; only new or changed
+ * saves are opened, and the index is rewritten only if something changed.
+ * SaveLoadManager also updates it directly after every save and delete.
+ *
+ * @author Extended feature implementation
+ */
+public class SaveIndex {
+
+    public static final String INDEX_FILENAME = ".c4index";
+    private static final byte[] MAGIC = { 'C', '4', 'I', 'X' };
+    private static final int VERSION = 1;
+
+    /**
+     * Index entry for one save file.
+     */
+    public static class Entry {
+        private final String filename;
+        private final String summary;
+        private final long lastModified;
+        private final long length;
+        private final int columns;
+        private final int rows;
+        private final int moveCount;
+
+        public Entry(String filename, String summary, long lastModified, long length,
+                int columns, int rows, int moveCount) {
+            this.filename = filename;
+            this.summary = summary;
+            this.lastModified = lastModified;
+            this.length = length;
+            this.columns = columns;
+            this.rows = rows;
+            this.moveCount = moveCount;
+        }
+
+        public String getFilename() {
+            return filename;
+        }
+
+        public String getSummary() {
+            return summary;
+        }
+
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        public long getLength() {
+            return length;
+        }
+
+        public int getColumns() {
+            return columns;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getMoveCount() {
+            return moveCount;
+        }
+    }
+
+    private final File directory;
+    private final Map<String, Entry> entries = new HashMap<>();
+
+    private SaveIndex(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Reads the index of a directory. A missing or unreadable index gives an
+     * empty one, which refresh() then rebuilds.
+     *
+     * @param directory the save directory
+     * @return the index
+     */
+    public static SaveIndex load(File directory) {
+        SaveIndex index = new SaveIndex(directory);
+        Path path = new File(directory, INDEX_FILENAME).toPath();
+        if (!Files.exists(path)) {
+            return index;
+        }
+
+        try {
+            ByteBuffer buffer = BinarySaveFormat.readFile(path);
+            if (buffer.remaining() < MAGIC.length + 5) {
+                return index;
+            }
+            for (byte b : MAGIC) {
+                if (buffer.get() != b) {
+                    return index;
+                }
+            }
+            if (buffer.get() != VERSION) {
+                return index;
+            }
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++) {
+                String filename = getString(buffer);
+                long lastModified = buffer.getLong();
+                long length = buffer.getLong();
+                int columns = buffer.get() & 0xFF;
+                int rows = buffer.get() & 0xFF;
+                int moveCount = buffer.getShort() & 0xFFFF;
+                String summary = getString(buffer);
+                index.entries.put(filename,
+                        new Entry(filename, summary, lastModified, length, columns, rows, moveCount));
+            }
+        } catch (IOException | BufferUnderflowException e) {
+            index.entries.clear();
+        }
+        return index;
+    }
+
+    /**
+     * Writes the index file, replacing the old one in a single rename.
+     *
+     * @throws IOException if it cannot be written
+     */
+    public void save() throws IOException {
+        List<byte[]> strings = new ArrayList<>();
+        int size = MAGIC.length + 1 + 4;
+        for (Entry entry : entries.values()) {
+            byte[] filename = utf8(entry.filename);
+            byte[] summary = utf8(entry.summary);
+            strings.add(filename);
+            strings.add(summary);
+            size += 2 + filename.length + 8 + 8 + 1 + 1 + 2 + 2 + summary.length;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.put(MAGIC);
+        buffer.put((byte) VERSION);
+        buffer.putInt(entries.size());
+        int s = 0;
+        for (Entry entry : entries.values()) {
+            putString(buffer, strings.get(s++));
+            buffer.putLong(entry.lastModified);
+            buffer.putLong(entry.length);
+            buffer.put((byte) entry.columns);
+            buffer.put((byte) entry.rows);
+            buffer.putShort((short) entry.moveCount);
+            putString(buffer, strings.get(s++));
+        }
+        buffer.flip();
+
+        Path target = new File(directory, INDEX_FILENAME).toPath();
+        Path temp = new File(directory, INDEX_FILENAME + ".tmp").toPath();
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+        try {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Brings the index up to date with the directory: drops deleted saves and
+     * re-reads saves that are new or whose time or length changed.
+     *
+     * @param extension save file extension
+     * @return true if any entry changed (the index should be saved)
+     */
+    public boolean refresh(String extension) {
+        File[] files = directory.listFiles((d, name) -> name.endsWith(extension));
+        if (files == null) {
+            files = new File[0];
+        }
+
+        boolean changed = false;
+        Map<String, Entry> current = new HashMap<>();
+        for (File file : files) {
+            String name = file.getName();
+            long lastModified = file.lastModified();
+            long length = file.length();
+            Entry entry = entries.get(name);
+            if (entry == null || entry.lastModified != lastModified || entry.length != length) {
+                entry = readEntry(file, lastModified, length);
+                changed = true;
+            }
+            current.put(name, entry);
+        }
+
+        if (current.size() != entries.size()) {
+            changed = true;
+        }
+        entries.clear();
+        entries.putAll(current);
+        return changed;
+    }
+
+    private static Entry readEntry(File file, long lastModified, long length) {
+        SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(file.getPath());
+        if (snapshot == null) {
+            return new Entry(file.getName(), file.getName() + " (unable to read)",
+                    lastModified, length, 0, 0, 0);
+        }
+        return new Entry(file.getName(), snapshot.getSummary(), lastModified, length,
+                snapshot.settings.getColumns(), snapshot.settings.getRows(), snapshot.moveHistory.length);
+    }
+
+    /**
+     * Records a save that was just written.
+     *
+     * @param file     the save file
+     * @param snapshot what was written to it
+     */
+    public void put(File file, SaveLoadManager.GameSnapshot snapshot) {
+        entries.put(file.getName(), new Entry(file.getName(), snapshot.getSummary(),
+                file.lastModified(), file.length(), snapshot.settings.getColumns(),
+                snapshot.settings.getRows(), snapshot.moveHistory.length));
+    }
+
+    /**
+     * Forgets a save.
+     *
+     * @param filename file name within the directory
+     * @return true if it was indexed
+     */
+    public boolean remove(String filename) {
+        return entries.remove(filename) != null;
+    }
+
+    /**
+     * Gets all entries, newest first.
+     *
+     * @return the entries
+     */
+    public Entry[] getEntries() {
+        Entry[] sorted = entries.values().toArray(new Entry[0]);
+        Arrays.sort(sorted, (a, b) -> {
+            int byTime = Long.compare(b.lastModified, a.lastModified);
+            return byTime != 0 ? byTime : a.filename.compareTo(b.filename);
+        });
+        return sorted;
+    }
+
+    private static byte[] utf8(String value) {
+        byte[] bytes = (value != null ? value : "").getBytes(StandardCharsets.UTF_8);
+        return bytes.length > 0xFFFF ? Arrays.copyOf(bytes, 0xFFFF) : bytes;
+    }
+
+    private static void putString(ByteBuffer buffer, byte[] bytes) {
+        buffer.putShort((short) bytes.length);
+        buffer.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -1,15 +1,16 @@
 package com.connect4.settings;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.file.Paths;
 import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Stack;
 
 import com.connect4.player.Player;
 import com.connect4.view.Cell;
 import com.connect4.view.GameState;
-
-import java.awt.Point;
+import com.connect4.view.MoveLog;
 
 /**
  * SaveLoadManager.java - NEW CLASS
@@ -18,7 +19,11 @@ import java.awt.Point;
  * - Save current game state to a file
  * - Load a previously saved game
  * - List available saved games
- * Save format uses Java serialization for simplicity and reliability.
+ * Games are saved in a compact versioned binary format (see
+ * BinarySaveFormat). Older saves written with Java serialization are
+ * recognised by their header and still load.
+ * Save listings come from a SaveIndex kept in the save directory, so
+ * showing the load dialog does not open every save.
  * 
  * @author Extended feature implementation
  */
@@ -41,6 +46,7 @@ public class SaveLoadManager {
 
         // Move history
         public int[][] moveHistory; // Array of [column, row] pairs
+        public boolean[] luckyHistory; // Per move: was it a lucky coin (null in old saves)
 
         // Game status
         public boolean gameOver;
@@ -52,6 +58,12 @@ public class SaveLoadManager {
         public long savedTimestamp;
         public String saveDescription;
 
+        /**
+         * Creates an empty snapshot for a reader to fill in.
+         */
+        GameSnapshot() {
+        }
+
         /**
          * Creates a snapshot from current game state.
          * 
@@ -67,21 +79,21 @@ public class SaveLoadManager {
             int cols = gameState.getColumns();
             int rows = gameState.getRows();
             this.boardState = new Cell.CellState[cols][rows];
-            Cell[][] cells = gameState.getCells();
             for (int i = 0; i < cols; i++) {
                 for (int j = 0; j < rows; j++) {
-                    this.boardState[i][j] = cells[i][j].getState();
+                    this.boardState[i][j] = gameState.getCellState(i, j);
                 }
             }
 
             // Copy move history
-            Stack<Point> moves = gameState.getMoves();
-            this.moveHistory = new int[moves.size()][2];
-            int index = 0;
-            for (Point move : moves) {
-                this.moveHistory[index][0] = (int) move.getX();
-                this.moveHistory[index][1] = (int) move.getY();
-                index++;
+            IntBuffer moves = gameState.getMoveLog().view();
+            this.moveHistory = new int[moves.remaining()][2];
+            this.luckyHistory = new boolean[moves.remaining()];
+            for (int i = 0; i < moveHistory.length; i++) {
+                int move = moves.get(i);
+                this.moveHistory[i][0] = MoveLog.column(move);
+                this.moveHistory[i][1] = MoveLog.row(move);
+                this.luckyHistory[i] = MoveLog.isLucky(move);
             }
 
             // Copy game status
@@ -170,12 +182,11 @@ public class SaveLoadManager {
             filename = SAVE_DIRECTORY + File.separator + filename;
         }
 
-        try (ObjectOutputStream oos = new ObjectOutputStream(
-                new FileOutputStream(filename))) {
-
+        try {
             GameSnapshot snapshot = new GameSnapshot(gameState,
                     description != null ? description : "Saved game");
-            oos.writeObject(snapshot);
+            BinarySaveFormat.write(snapshot, Paths.get(filename));
+            updateIndex(new File(filename), snapshot);
             return true;
 
         } catch (IOException e) {
@@ -200,7 +211,8 @@ public class SaveLoadManager {
     }
 
     /**
-     * Loads a game state from a file.
+     * Loads a game state from a file, in the binary format or the older
+     * Java serialization format.
      * 
      * @param filename the filename to load from
      * @return the loaded GameSnapshot, or null if failed
@@ -216,10 +228,12 @@ public class SaveLoadManager {
             filename = SAVE_DIRECTORY + File.separator + filename;
         }
 
-        try (ObjectInputStream ois = new ObjectInputStream(
-                new FileInputStream(filename))) {
-
-            return (GameSnapshot) ois.readObject();
+        try {
+            ByteBuffer data = BinarySaveFormat.readFile(Paths.get(filename));
+            if (BinarySaveFormat.hasMagic(data)) {
+                return BinarySaveFormat.decode(data);
+            }
+            return loadLegacy(data);
 
         } catch (IOException | ClassNotFoundException e) {
             System.err.println("Error loading game: " + e.getMessage());
@@ -227,6 +241,21 @@ public class SaveLoadManager {
         }
     }
 
+    /**
+     * Reads a save written with Java serialization.
+     * 
+     * @param data file contents
+     * @return the snapshot
+     */
+    private static GameSnapshot loadLegacy(ByteBuffer data) throws IOException, ClassNotFoundException {
+        try (ObjectInputStream ois = new ObjectInputStream(
+                new ByteArrayInputStream(data.array(), data.position(), data.remaining()))) {
+            return (GameSnapshot) ois.readObject();
+        } catch (ClassCastException e) {
+            throw new IOException("Not a saved game");
+        }
+    }
+
     /**
      * Applies a loaded snapshot to a new GameState.
      * 
@@ -238,18 +267,27 @@ public class SaveLoadManager {
         GameState gameState = new GameState(snapshot.settings);
 
         // Restore board state
-        Cell[][] cells = gameState.getCells();
         for (int i = 0; i < snapshot.boardState.length; i++) {
             for (int j = 0; j < snapshot.boardState[i].length; j++) {
-                cells[i][j].setState(snapshot.boardState[i][j]);
+                gameState.setCellState(i, j, snapshot.boardState[i][j]);
             }
         }
 
-        // Restore move history
-        Stack<Point> moves = gameState.getMoves();
+        // Restore move history, and which moves were lucky coins so undo
+        // gives them back
+        MoveLog moves = gameState.getMoveLog();
         moves.clear();
-        for (int[] move : snapshot.moveHistory) {
-            moves.push(new Point(move[0], move[1]));
+        int luckyCoins = 0;
+        for (int i = 0; i < snapshot.moveHistory.length; i++) {
+            int[] move = snapshot.moveHistory[i];
+            boolean wasLucky = snapshot.luckyHistory != null && snapshot.luckyHistory[i];
+            moves.push(move[0], move[1], wasLucky, gameState.getBoard().get(move[0], move[1]));
+            if (wasLucky) {
+                luckyCoins++;
+            }
+        }
+        if (snapshot.luckyHistory != null) {
+            snapshot.settings.setCurrentLuckyCoins(luckyCoins);
         }
 
         // Restore game status
@@ -262,53 +300,74 @@ public class SaveLoadManager {
     }
 
     /**
-     * Lists all available save files.
+     * Lists all available saves with their index entries, newest first.
+     * Only saves that are new or changed since the index was last written
+     * are opened.
      * 
-     * @return array of save file names
+     * @return index entries for every save file
      */
-    public static String[] listSaves() {
+    public static synchronized SaveIndex.Entry[] listSaveEntries() {
         ensureSaveDirectory();
-        File dir = new File(SAVE_DIRECTORY);
-
-        File[] files = dir.listFiles((d, name) -> name.endsWith(FILE_EXTENSION));
-        if (files == null || files.length == 0) {
-            return new String[0];
+        SaveIndex index = SaveIndex.load(new File(SAVE_DIRECTORY));
+        if (index.refresh(FILE_EXTENSION)) {
+            try {
+                index.save();
+            } catch (IOException e) {
+                System.err.println("Error writing save index: " + e.getMessage());
+            }
         }
+        return index.getEntries();
+    }
 
-        String[] filenames = new String[files.length];
-        for (int i = 0; i < files.length; i++) {
-            filenames[i] = files[i].getName();
+    /**
+     * Lists all available save files.
+     * 
+     * @return array of save file names, newest first
+     */
+    public static String[] listSaves() {
+        SaveIndex.Entry[] entries = listSaveEntries();
+        String[] filenames = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            filenames[i] = entries[i].getFilename();
         }
-
-        // Sort by modification time (newest first)
-        java.util.Arrays.sort(filenames, (a, b) -> {
-            File fa = new File(SAVE_DIRECTORY, a);
-            File fb = new File(SAVE_DIRECTORY, b);
-            return Long.compare(fb.lastModified(), fa.lastModified());
-        });
-
         return filenames;
     }
 
     /**
-     * Gets summaries of all available saves.
+     * Gets summaries of all available saves, in the same order as
+     * listSaves().
      * 
      * @return array of summary strings
      */
     public static String[] getSaveSummaries() {
-        String[] filenames = listSaves();
-        String[] summaries = new String[filenames.length];
+        SaveIndex.Entry[] entries = listSaveEntries();
+        String[] summaries = new String[entries.length];
+        for (int i = 0; i < entries.length; i++) {
+            summaries[i] = entries[i].getSummary();
+        }
+        return summaries;
+    }
 
-        for (int i = 0; i < filenames.length; i++) {
-            GameSnapshot snapshot = loadGame(filenames[i]);
-            if (snapshot != null) {
-                summaries[i] = snapshot.getSummary();
-            } else {
-                summaries[i] = filenames[i] + " (unable to read)";
-            }
+    /**
+     * Records a new or overwritten save in the index, if it is in the save
+     * directory.
+     */
+    private static synchronized void updateIndex(File file, GameSnapshot snapshot) {
+        if (!isInSaveDirectory(file)) {
+            return;
+        }
+        SaveIndex index = SaveIndex.load(new File(SAVE_DIRECTORY));
+        index.put(file, snapshot);
+        try {
+            index.save();
+        } catch (IOException e) {
+            System.err.println("Error writing save index: " + e.getMessage());
         }
+    }
 
-        return summaries;
+    private static boolean isInSaveDirectory(File file) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        return parent != null && parent.equals(new File(SAVE_DIRECTORY).getAbsoluteFile());
     }
 
     /**
@@ -327,7 +386,20 @@ public class SaveLoadManager {
         }
 
         File file = new File(filename);
-        return file.delete();
+        boolean deleted = file.delete();
+        if (deleted && isInSaveDirectory(file)) {
+            synchronized (SaveLoadManager.class) {
+                SaveIndex index = SaveIndex.load(new File(SAVE_DIRECTORY));
+                if (index.remove(file.getName())) {
+                    try {
+                        index.save();
+                    } catch (IOException e) {
+                        System.err.println("Error writing save index: " + e.getMessage());
+                    }
+                }
+            }
+        }
+        return deleted;
     }
 }
 
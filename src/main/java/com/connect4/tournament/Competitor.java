@@ -0,0 +1,81 @@
+package com.connect4.tournament;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.SearchMetrics;
+import com.connect4.settings.DifficultyLevel;
+
+/**
+ * Competitor.java - NEW CLASS
+ * One AI configuration taking part in a tournament. The difficulty level
+ * only sets how the AI searches (depth or time budget, beginner random
+ * moves); the board it plays on is chosen by the tournament.
+ * 
+ * @author Extended feature implementation
+ */
+public class Competitor {
+
+    private final String name;
+    private final DifficultyLevel aiLevel;
+    private final int searchThreads;
+    private final int ttCapacity;
+
+    /**
+     * Creates a single-threaded competitor with the default table size.
+     * 
+     * @param aiLevel search settings to use
+     */
+    public Competitor(DifficultyLevel aiLevel) {
+        this(aiLevel.getDisplayName(), aiLevel, 1, AIPlayer.DEFAULT_TT_CAPACITY);
+    }
+
+    /**
+     * Creates a competitor.
+     * 
+     * @param name          name shown in the report
+     * @param aiLevel       search settings to use
+     * @param searchThreads threads per search (see AIPlayer.setSearchThreads)
+     * @param ttCapacity    transposition table entries, or 0 to disable it
+     */
+    public Competitor(String name, DifficultyLevel aiLevel, int searchThreads, int ttCapacity) {
+        this.name = name;
+        this.aiLevel = aiLevel;
+        this.searchThreads = searchThreads;
+        this.ttCapacity = ttCapacity;
+    }
+
+    /**
+     * Creates a fresh AI for one game.
+     * 
+     * @param playerNumber which player the AI controls (1 or 2)
+     * @param seed         seed for the AI's tie-breaks and random moves
+     * @return the AI
+     */
+    public AIPlayer createAI(int playerNumber, long seed) {
+        AIPlayer ai = new AIPlayer(aiLevel, playerNumber, ttCapacity);
+        ai.setSearchThreads(searchThreads);
+        ai.setSeed(seed);
+        ai.setMetricsLog(SearchMetrics.getDefaultLog());
+        return ai;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public DifficultyLevel getAiLevel() {
+        return aiLevel;
+    }
+
+    public int getSearchThreads() {
+        return searchThreads;
+    }
+
+    public int getTtCapacity() {
+        return ttCapacity;
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,181 @@
+package com.connect4.tournament;
+
+import java.util.Arrays;
+
+import com.connect4.settings.DifficultyLevel;
+
+/**
+ * MatchupResult.java - NEW CLASS
+ * Results of all games between two competitors under one set of rules:
+ * - Wins, draws and losses from the first competitor's point of view
+ * - Per competitor: nodes searched, time spent searching and the latency
+ * of every move, for nodes per second and latency percentiles
+ * 
+ * @author Extended feature implementation
+ */
+public class MatchupResult {
+
+    /**
+     * Search statistics of one competitor over a matchup.
+     */
+    public static class SideStats {
+        private long nodes;
+        private long searchNanos;
+        private long[] latencies = new long[64]; // per move, nanoseconds
+        private int moves;
+
+        void addMove(long latencyNanos, long nodesSearched) {
+            if (moves == latencies.length) {
+                latencies = Arrays.copyOf(latencies, moves * 2);
+            }
+            latencies[moves++] = latencyNanos;
+            searchNanos += latencyNanos;
+            nodes += nodesSearched;
+        }
+
+        void addAll(SideStats other) {
+            for (int i = 0; i < other.moves; i++) {
+                addMove(other.latencies[i], 0);
+            }
+            nodes += other.nodes;
+        }
+
+        public long getNodes() {
+            return nodes;
+        }
+
+        public int getMoves() {
+            return moves;
+        }
+
+        /**
+         * Gets the search speed.
+         * 
+         * @return nodes per second, or 0 if no time was spent searching
+         */
+        public double getNodesPerSecond() {
+            return searchNanos == 0 ? 0 : nodes * 1e9 / searchNanos;
+        }
+
+        /**
+         * Gets a move latency percentile (nearest rank).
+         * 
+         * @param percentile 0-100
+         * @return latency in milliseconds, or 0 if no moves were made
+         */
+        public double getLatencyPercentileMillis(double percentile) {
+            if (moves == 0) {
+                return 0;
+            }
+            long[] sorted = Arrays.copyOf(latencies, moves);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * moves);
+            return sorted[Math.max(0, Math.min(moves - 1, rank - 1))] / 1e6;
+        }
+    }
+
+    private final DifficultyLevel board;
+    private final boolean fourCorners;
+    private final boolean luckyCoins;
+    private final Competitor first;
+    private final Competitor second;
+
+    private int firstWins;
+    private int draws;
+    private int secondWins;
+    private final SideStats firstStats = new SideStats();
+    private final SideStats secondStats = new SideStats();
+
+    /**
+     * Creates an empty result.
+     * 
+     * @param board       difficulty level that sets the board size
+     * @param fourCorners true if the Four Corners rule is on
+     * @param luckyCoins  true if lucky coins can be offered
+     * @param first       first competitor
+     * @param second      second competitor
+     */
+    public MatchupResult(DifficultyLevel board, boolean fourCorners, boolean luckyCoins,
+            Competitor first, Competitor second) {
+        this.board = board;
+        this.fourCorners = fourCorners;
+        this.luckyCoins = luckyCoins;
+        this.first = first;
+        this.second = second;
+    }
+
+    /**
+     * Adds the outcome of one game.
+     * 
+     * @param winner      1 if the first competitor won, 2 if the second did,
+     *                    0 for a draw
+     * @param firstGame   first competitor's statistics for the game
+     * @param secondGame  second competitor's statistics for the game
+     */
+    void addGame(int winner, SideStats firstGame, SideStats secondGame) {
+        if (winner == 1) {
+            firstWins++;
+        } else if (winner == 2) {
+            secondWins++;
+        } else {
+            draws++;
+        }
+        firstStats.addAll(firstGame);
+        secondStats.addAll(secondGame);
+    }
+
+    public DifficultyLevel getBoard() {
+        return board;
+    }
+
+    public boolean isFourCorners() {
+        return fourCorners;
+    }
+
+    public boolean isLuckyCoins() {
+        return luckyCoins;
+    }
+
+    public Competitor getFirst() {
+        return first;
+    }
+
+    public Competitor getSecond() {
+        return second;
+    }
+
+    public int getFirstWins() {
+        return firstWins;
+    }
+
+    public int getDraws() {
+        return draws;
+    }
+
+    public int getSecondWins() {
+        return secondWins;
+    }
+
+    public int getGames() {
+        return firstWins + draws + secondWins;
+    }
+
+    public SideStats getFirstStats() {
+        return firstStats;
+    }
+
+    public SideStats getSecondStats() {
+        return secondStats;
+    }
+
+    /**
+     * Describes the rules of this matchup, e.g. "Beginner board, corners, lucky".
+     * 
+     * @return short rules description
+     */
+    public String getRulesDescription() {
+        return board.getDisplayName() + " board"
+                + (fourCorners ? ", corners" : "")
+                + (luckyCoins ? ", lucky" : "");
+    }
+}
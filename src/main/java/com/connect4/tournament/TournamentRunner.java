@@ -0,0 +1,345 @@
+package com.connect4.tournament;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.Player;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+/**
+ * TournamentRunner.java - NEW CLASS
+ * Plays AI-vs-AI games without a view, for tuning playing strength and
+ * search speed. For every board (difficulty level), every combination of
+ * the Four Corners and lucky coin rules, and every pair of competitors, it
+ * plays a number of games, alternating which competitor moves first.
+ * Games run in parallel on a fixed thread pool. Every game is seeded from
+ * the tournament seed and its index (lucky coin offers and both AIs' random
+ * choices), so a tournament between fixed-depth competitors gives the same
+ * results on every run whatever the thread count.
+ * The report has a win/draw/loss table, and per competitor the nodes
+ * searched per second and move latency percentiles.
+ * Usage (see printUsage):
+ * java com.connect4.tournament.TournamentRunner --games 20 --players
+ * BEGINNER,INTERMEDIATE
+ * 
+ * @author Extended feature implementation
+ */
+public class TournamentRunner {
+
+    private final List<Competitor> competitors = new ArrayList<>();
+    private final List<DifficultyLevel> boards = new ArrayList<>();
+    private boolean[] fourCornersModes = { false, true };
+    private boolean[] luckyCoinModes = { false, true };
+    private int gamesPerMatchup = 10;
+    private long seed = 1L;
+    private int parallelGames = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Result of one game, from the point of view of the matchup's first
+     * competitor.
+     */
+    private static class GameRecord {
+        int winner; // 0 draw, 1 first competitor, 2 second competitor
+        final MatchupResult.SideStats firstStats = new MatchupResult.SideStats();
+        final MatchupResult.SideStats secondStats = new MatchupResult.SideStats();
+    }
+
+    public void addCompetitor(Competitor competitor) {
+        competitors.add(competitor);
+    }
+
+    public void addBoard(DifficultyLevel board) {
+        boards.add(board);
+    }
+
+    /**
+     * Sets which Four Corners settings to play.
+     * 
+     * @param modes e.g. {false, true} for both
+     */
+    public void setFourCornersModes(boolean... modes) {
+        this.fourCornersModes = modes.clone();
+    }
+
+    /**
+     * Sets which lucky coin settings to play.
+     * 
+     * @param modes e.g. {false, true} for both
+     */
+    public void setLuckyCoinModes(boolean... modes) {
+        this.luckyCoinModes = modes.clone();
+    }
+
+    public void setGamesPerMatchup(int gamesPerMatchup) {
+        this.gamesPerMatchup = gamesPerMatchup;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public void setParallelGames(int parallelGames) {
+        this.parallelGames = Math.max(1, parallelGames);
+    }
+
+    /**
+     * Plays the whole tournament.
+     * With one competitor it plays against itself; otherwise every pair of
+     * different competitors meets once per rule set.
+     * 
+     * @return one result per board, rule set and pair of competitors
+     * @throws InterruptedException if interrupted while waiting for games
+     */
+    public List<MatchupResult> run() throws InterruptedException {
+        List<DifficultyLevel> boardList = boards.isEmpty()
+                ? List.of(DifficultyLevel.values())
+                : boards;
+
+        List<MatchupResult> results = new ArrayList<>();
+        for (DifficultyLevel board : boardList) {
+            for (boolean fourCorners : fourCornersModes) {
+                for (boolean lucky : luckyCoinModes) {
+                    if (competitors.size() == 1) {
+                        results.add(new MatchupResult(board, fourCorners, lucky,
+                                competitors.get(0), competitors.get(0)));
+                    }
+                    for (int i = 0; i < competitors.size(); i++) {
+                        for (int j = i + 1; j < competitors.size(); j++) {
+                            results.add(new MatchupResult(board, fourCorners, lucky,
+                                    competitors.get(i), competitors.get(j)));
+                        }
+                    }
+                }
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelGames);
+        try {
+            List<List<Future<GameRecord>>> futures = new ArrayList<>();
+            long gameIndex = 0;
+            for (MatchupResult matchup : results) {
+                List<Future<GameRecord>> games = new ArrayList<>();
+                for (int game = 0; game < gamesPerMatchup; game++) {
+                    final boolean firstMovesFirst = game % 2 == 0;
+                    final long gameSeed = mixSeed(seed, gameIndex++);
+                    games.add(executor.submit(() -> playGame(matchup, firstMovesFirst, gameSeed)));
+                }
+                futures.add(games);
+            }
+
+            // Collect in submission order so the totals do not depend on timing
+            for (int m = 0; m < results.size(); m++) {
+                for (Future<GameRecord> future : futures.get(m)) {
+                    GameRecord record = future.get();
+                    results.get(m).addGame(record.winner, record.firstStats, record.secondStats);
+                }
+            }
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Tournament game failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        return results;
+    }
+
+    /**
+     * Derives a game's seed from the tournament seed (SplitMix64 step).
+     */
+    private static long mixSeed(long seed, long index) {
+        long z = seed + (index + 1) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Plays one game to the end.
+     * 
+     * @param matchup         the pairing and rules
+     * @param firstMovesFirst true if the matchup's first competitor is player 1
+     * @param gameSeed        seed for lucky coin offers and both AIs
+     * @return the outcome and both sides' search statistics
+     */
+    private static GameRecord playGame(MatchupResult matchup, boolean firstMovesFirst, long gameSeed) {
+        Competitor player1 = firstMovesFirst ? matchup.getFirst() : matchup.getSecond();
+        Competitor player2 = firstMovesFirst ? matchup.getSecond() : matchup.getFirst();
+
+        GameSettings settings = new GameSettings(
+                new Player(1, player1.getName(), Player.PlayerType.COMPUTER, Player.CoinColor.RED),
+                new Player(2, player2.getName(), Player.PlayerType.COMPUTER, Player.CoinColor.YELLOW),
+                matchup.isFourCorners());
+        settings.setDifficultyLevel(matchup.getBoard());
+        if (!matchup.isLuckyCoins()) {
+            settings.setMaxLuckyCoins(0);
+        }
+
+        GameState state = new GameState(settings, gameSeed);
+        AIPlayer ai1 = player1.createAI(1, gameSeed + 1);
+        AIPlayer ai2 = player2.createAI(2, gameSeed + 2);
+
+        GameRecord record = new GameRecord();
+        MatchupResult.SideStats stats1 = firstMovesFirst ? record.firstStats : record.secondStats;
+        MatchupResult.SideStats stats2 = firstMovesFirst ? record.secondStats : record.firstStats;
+
+        // Every coin fills a square, so this bounds the loop even if an AI
+        // keeps returning unplayable moves
+        int turnsLeft = 2 * state.getColumns() * state.getRows();
+        while (!state.getGameOver() && turnsLeft-- > 0) {
+            boolean player1ToMove = state.isPlayer1Turn();
+            AIPlayer ai = player1ToMove ? ai1 : ai2;
+
+            if (state.isLuckyOfferPending()) {
+                if (ai.shouldAcceptLuckyOffer(state)) {
+                    state.acceptLuckyOffer();
+                } else {
+                    state.rejectLuckyOffer();
+                }
+                continue;
+            }
+
+            long start = System.nanoTime();
+            int move = ai.getBestMove(state);
+            long latency = System.nanoTime() - start;
+            (player1ToMove ? stats1 : stats2).addMove(latency, ai.getNodesSearched());
+
+            if (move < 1 || !state.move(move)) {
+                break;
+            }
+        }
+
+        int winner = state.getPlayer1Wins() ? 1 : state.getPlayer2Wins() ? 2 : 0;
+        if (winner != 0 && !firstMovesFirst) {
+            winner = 3 - winner;
+        }
+        record.winner = winner;
+        return record;
+    }
+
+    /**
+     * Prints the win/draw/loss table and the search statistics.
+     * 
+     * @param results results from run()
+     * @param out     where to print
+     */
+    public static void printReport(List<MatchupResult> results, PrintStream out) {
+        out.println("=== RESULTS (wins / draws / losses for the first competitor) ===");
+        out.printf("%-36s %-14s %-14s %6s %6s %6s%n", "Rules", "First", "Second", "W", "D", "L");
+        for (MatchupResult r : results) {
+            out.printf("%-36s %-14s %-14s %6d %6d %6d%n", r.getRulesDescription(),
+                    r.getFirst(), r.getSecond(), r.getFirstWins(), r.getDraws(), r.getSecondWins());
+        }
+
+        out.println();
+        out.println("=== SEARCH (per competitor and rules; latency in ms) ===");
+        out.printf("%-36s %-14s %7s %12s %9s %9s %9s %9s%n", "Rules", "Competitor", "Moves",
+                "Nodes/s", "p50", "p90", "p99", "max");
+        for (MatchupResult r : results) {
+            printSide(out, r, r.getFirst(), r.getFirstStats());
+            printSide(out, r, r.getSecond(), r.getSecondStats());
+        }
+    }
+
+    private static void printSide(PrintStream out, MatchupResult r, Competitor competitor,
+            MatchupResult.SideStats stats) {
+        out.printf("%-36s %-14s %7d %12.0f %9.2f %9.2f %9.2f %9.2f%n", r.getRulesDescription(),
+                competitor, stats.getMoves(), stats.getNodesPerSecond(),
+                stats.getLatencyPercentileMillis(50), stats.getLatencyPercentileMillis(90),
+                stats.getLatencyPercentileMillis(99), stats.getLatencyPercentileMillis(100));
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        TournamentRunner runner = new TournamentRunner();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            String value = i + 1 < args.length ? args[i + 1] : null;
+            try {
+                switch (arg) {
+                    case "--games":
+                        runner.setGamesPerMatchup(Integer.parseInt(value));
+                        i++;
+                        break;
+                    case "--seed":
+                        runner.setSeed(Long.parseLong(value));
+                        i++;
+                        break;
+                    case "--parallel":
+                        runner.setParallelGames(Integer.parseInt(value));
+                        i++;
+                        break;
+                    case "--players":
+                        for (String name : value.split(",")) {
+                            runner.addCompetitor(new Competitor(DifficultyLevel.valueOf(name.trim().toUpperCase())));
+                        }
+                        i++;
+                        break;
+                    case "--boards":
+                        for (String name : value.split(",")) {
+                            runner.addBoard(DifficultyLevel.valueOf(name.trim().toUpperCase()));
+                        }
+                        i++;
+                        break;
+                    case "--corners":
+                        runner.setFourCornersModes(parseModes(value));
+                        i++;
+                        break;
+                    case "--lucky":
+                        runner.setLuckyCoinModes(parseModes(value));
+                        i++;
+                        break;
+                    case "--help":
+                    case "-h":
+                        printUsage();
+                        return;
+                    default:
+                        System.err.println("Unknown argument: " + arg);
+                        printUsage();
+                        System.exit(1);
+                }
+            } catch (IllegalArgumentException | NullPointerException e) {
+                System.err.println("Bad value for " + arg + ": " + value);
+                printUsage();
+                System.exit(1);
+            }
+        }
+
+        if (runner.competitors.isEmpty()) {
+            runner.addCompetitor(new Competitor(DifficultyLevel.BEGINNER));
+            runner.addCompetitor(new Competitor(DifficultyLevel.INTERMEDIATE));
+        }
+
+        printReport(runner.run(), System.out);
+    }
+
+    private static boolean[] parseModes(String value) {
+        switch (value.toLowerCase()) {
+            case "on":
+                return new boolean[] { true };
+            case "off":
+                return new boolean[] { false };
+            case "both":
+                return new boolean[] { false, true };
+            default:
+                throw new IllegalArgumentException(value);
+        }
+    }
+
+    private static void printUsage() {
+        System.out.println("Usage: TournamentRunner [options]");
+        System.out.println("  --games N          games per matchup (default 10)");
+        System.out.println("  --seed S           tournament seed (default 1)");
+        System.out.println("  --parallel T       games played at once (default: number of cores)");
+        System.out.println("  --players A,B,...  AI levels to enter (default BEGINNER,INTERMEDIATE)");
+        System.out.println("  --boards A,B,...   board sizes by level (default: all)");
+        System.out.println("  --corners on|off|both   Four Corners rule (default both)");
+        System.out.println("  --lucky on|off|both     lucky coins (default both)");
+    }
+}
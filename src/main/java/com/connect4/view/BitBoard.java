@@ -0,0 +1,580 @@
+package com.connect4.view;
+
+/**
+ * BitBoard.java - NEW CLASS
+ * Packed-long board engine used as the authoritative store behind GameState.
+ * Layout:
+ * - One bit per square, column-major, with (rows + 1) bits per column.
+ * The extra bit on top of each column is a sentinel that is always zero,
+ * so shifting a mask never carries a run from one column into the next.
+ * - One mask for player 1, one for player 2 and one for lucky coins.
+ * - One height byte per column (index of the first free row).
+ * - The same three masks again, row-major (one run of words per row, bit
+ * = column), for Four Corners squares. ANDing two rows leaves the columns
+ * where a player holds both, so a square of size d is two set bits d apart
+ * in that intersection. A coin's squares are found with one intersection
+ * per other row (O(board edge)), and the full scan tests each pair of rows
+ * with one shift-and-AND.
+ * Win detection for a whole colour is done with shift-and-AND over the masks
+ * instead of walking Cell objects, which keeps it proportional to the number
+ * of words in the mask (7 longs on the largest 21x18 board).
+ * The winning run length is a property of the board (4 unless given). Runs
+ * are found by doubling: AND the mask with itself shifted by 1, 2, 4, ...
+ * steps, then once more for the remainder, so a run of n costs about
+ * log2(n) passes over the mask rather than n.
+ * The board also keeps a Zobrist hash of its contents, updated on every
+ * set/clear, so positions can be looked up in a transposition table.
+ *
+ * @author Extended feature implementation
+ */
+public class BitBoard {
+
+    public static final int EMPTY = 0;
+    public static final int PLAYER1 = 1;
+    public static final int PLAYER2 = 2;
+    public static final int LUCKY = 3;
+
+    private final int columns;
+    private final int rows;
+    private final int height; // bits per column (rows + sentinel)
+    private final int winLength; // coins in a row needed to win
+
+    private final long[] player1;
+    private final long[] player2;
+    private final long[] lucky;
+    private final byte[] heights;
+    private long hash;
+
+    // Row-major copies for square detection: rowWords longs per row
+    private final int rowWords;
+    private final long[] player1Rows;
+    private final long[] player2Rows;
+    private final long[] luckyRows;
+
+    // Scratch masks reused by the win scan so it never allocates
+    private final long[] scratch;
+    private final long[] runs;
+    private final long[] rowScratch;
+
+    /**
+     * Creates an empty board where four in a row wins.
+     *
+     * @param columns number of columns
+     * @param rows    number of rows
+     */
+    public BitBoard(int columns, int rows) {
+        this(columns, rows, 4);
+    }
+
+    /**
+     * Creates an empty board.
+     *
+     * @param columns   number of columns
+     * @param rows      number of rows
+     * @param winLength coins in a row needed to win (at least 2)
+     */
+    public BitBoard(int columns, int rows, int winLength) {
+        if (winLength < 2) {
+            throw new IllegalArgumentException("Win length must be at least 2: " + winLength);
+        }
+        this.columns = columns;
+        this.rows = rows;
+        this.height = rows + 1;
+        this.winLength = winLength;
+
+        int words = (columns * height + 63) >>> 6;
+        this.player1 = new long[words];
+        this.player2 = new long[words];
+        this.lucky = new long[words];
+        this.heights = new byte[columns];
+        this.rowWords = (columns + 63) >>> 6;
+        this.player1Rows = new long[rows * rowWords];
+        this.player2Rows = new long[rows * rowWords];
+        this.luckyRows = new long[rows * rowWords];
+        this.scratch = new long[words];
+        this.runs = new long[words];
+        this.rowScratch = new long[rowWords];
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other board to copy
+     */
+    public BitBoard(BitBoard other) {
+        this.columns = other.columns;
+        this.rows = other.rows;
+        this.height = other.height;
+        this.winLength = other.winLength;
+        this.player1 = other.player1.clone();
+        this.player2 = other.player2.clone();
+        this.lucky = other.lucky.clone();
+        this.heights = other.heights.clone();
+        this.hash = other.hash;
+        this.rowWords = other.rowWords;
+        this.player1Rows = other.player1Rows.clone();
+        this.player2Rows = other.player2Rows.clone();
+        this.luckyRows = other.luckyRows.clone();
+        this.scratch = new long[other.scratch.length];
+        this.runs = new long[other.runs.length];
+        this.rowScratch = new long[other.rowScratch.length];
+    }
+
+    /**
+     * Gets the owner of a square.
+     *
+     * @param col 0-based column
+     * @param row 0-based row (0 is the bottom)
+     * @return EMPTY, PLAYER1, PLAYER2 or LUCKY
+     */
+    public int get(int col, int row) {
+        int bit = col * height + row;
+        int word = bit >>> 6;
+        long mask = 1L << (bit & 63);
+        if ((player1[word] & mask) != 0)
+            return PLAYER1;
+        if ((player2[word] & mask) != 0)
+            return PLAYER2;
+        if ((lucky[word] & mask) != 0)
+            return LUCKY;
+        return EMPTY;
+    }
+
+    /**
+     * Sets the owner of a square, replacing whatever was there.
+     *
+     * @param col   0-based column
+     * @param row   0-based row
+     * @param owner EMPTY, PLAYER1, PLAYER2 or LUCKY
+     */
+    public void set(int col, int row, int owner) {
+        int bit = col * height + row;
+        int word = bit >>> 6;
+        long mask = 1L << (bit & 63);
+
+        hash ^= zobristKey(bit, get(col, row)) ^ zobristKey(bit, owner);
+
+        player1[word] &= ~mask;
+        player2[word] &= ~mask;
+        lucky[word] &= ~mask;
+
+        int rowWord = row * rowWords + (col >>> 6);
+        long rowMask = 1L << (col & 63);
+        player1Rows[rowWord] &= ~rowMask;
+        player2Rows[rowWord] &= ~rowMask;
+        luckyRows[rowWord] &= ~rowMask;
+
+        switch (owner) {
+            case PLAYER1 -> {
+                player1[word] |= mask;
+                player1Rows[rowWord] |= rowMask;
+            }
+            case PLAYER2 -> {
+                player2[word] |= mask;
+                player2Rows[rowWord] |= rowMask;
+            }
+            case LUCKY -> {
+                lucky[word] |= mask;
+                luckyRows[rowWord] |= rowMask;
+            }
+            default -> {
+            }
+        }
+
+        if (owner != EMPTY) {
+            if (row >= heights[col]) {
+                heights[col] = (byte) (row + 1);
+            }
+        } else if (row == heights[col] - 1) {
+            updateHeight(col);
+        }
+    }
+
+    /**
+     * Empties a square.
+     *
+     * @param col 0-based column
+     * @param row 0-based row
+     */
+    public void clear(int col, int row) {
+        set(col, row, EMPTY);
+    }
+
+    /**
+     * Empties the whole board.
+     */
+    public void reset() {
+        java.util.Arrays.fill(player1, 0L);
+        java.util.Arrays.fill(player2, 0L);
+        java.util.Arrays.fill(lucky, 0L);
+        java.util.Arrays.fill(player1Rows, 0L);
+        java.util.Arrays.fill(player2Rows, 0L);
+        java.util.Arrays.fill(luckyRows, 0L);
+        java.util.Arrays.fill(heights, (byte) 0);
+        hash = 0L;
+    }
+
+    /**
+     * Gets the Zobrist key for one owner on one square. Keys are derived from
+     * the square and owner with a SplitMix64 finaliser instead of a random
+     * table, so they are the same on every run and for every board size.
+     * An empty square has key 0.
+     */
+    private static long zobristKey(int bit, int owner) {
+        if (owner == EMPTY) {
+            return 0L;
+        }
+        long z = (((long) bit << 2) | owner) * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Gets the Zobrist hash of the coins on the board.
+     * Maintained incrementally: every set() or clear() XORs the old and new
+     * owner keys of that square in and out.
+     *
+     * @return the board hash
+     */
+    public long getHash() {
+        return hash;
+    }
+
+    private void updateHeight(int col) {
+        int h = heights[col];
+        while (h > 0 && get(col, h - 1) == EMPTY) {
+            h--;
+        }
+        heights[col] = (byte) h;
+    }
+
+    /**
+     * Gets the first free row of a column.
+     *
+     * @param col 0-based column
+     * @return the number of occupied squares at the bottom of the column
+     */
+    public int getHeight(int col) {
+        return heights[col];
+    }
+
+    public boolean isOccupied(int col, int row) {
+        return get(col, row) != EMPTY;
+    }
+
+    public boolean isColumnFull(int col) {
+        return heights[col] >= rows;
+    }
+
+    /**
+     * Checks whether every column is full.
+     *
+     * @return true if no more coins can be dropped
+     */
+    public boolean isFull() {
+        for (int col = 0; col < columns; col++) {
+            if (heights[col] < rows) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Checks whether a player has a winning line (getWinLength() in a row)
+     * anywhere on the board. Lucky coins count for both players.
+     *
+     * @param player PLAYER1 or PLAYER2
+     * @return true if a horizontal, vertical or diagonal winning line exists
+     */
+    public boolean hasWinningLine(int player) {
+        return hasLineOf(player, winLength);
+    }
+
+    /**
+     * Checks whether a player has four in a row anywhere on the board,
+     * whatever the board's win length. Lucky coins count for both players.
+     *
+     * @param player PLAYER1 or PLAYER2
+     * @return true if a horizontal, vertical or diagonal line of four exists
+     */
+    public boolean hasFourInARow(int player) {
+        return hasLineOf(player, 4);
+    }
+
+    /**
+     * Checks whether a player has a line of the given length anywhere on the
+     * board. Lucky coins count for both players.
+     *
+     * @param player PLAYER1 or PLAYER2
+     * @param length coins in a row
+     * @return true if a horizontal, vertical or diagonal line exists
+     */
+    public boolean hasLineOf(int player, int length) {
+        long[] own = player == PLAYER1 ? player1 : player2;
+        for (int i = 0; i < scratch.length; i++) {
+            scratch[i] = own[i] | lucky[i];
+        }
+
+        // vertical, horizontal, diagonal /, diagonal \
+        return hasRun(1, length) || hasRun(height, length)
+                || hasRun(height + 1, length) || hasRun(height - 1, length);
+    }
+
+    /**
+     * Checks scratch for a run of the given length, stepping shift bits per
+     * square. After each doubling step, bit i of runs is set when the span
+     * squares starting at i are all set.
+     */
+    private boolean hasRun(int shift, int length) {
+        System.arraycopy(scratch, 0, runs, 0, runs.length);
+        int span = 1;
+        while (span * 2 <= length) {
+            andShifted(runs, span * shift, runs);
+            span *= 2;
+        }
+        if (span < length) {
+            // Overlap two runs of span to cover the rest (length - span <= span)
+            andShifted(runs, (length - span) * shift, runs);
+        }
+        for (long word : runs) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * dst = src & (src >>> shift), treating the array as one long bit string.
+     * Safe to call with dst == src because every read index is >= the write
+     * index.
+     */
+    private static void andShifted(long[] src, int shift, long[] dst) {
+        int wordShift = shift >>> 6;
+        int bitShift = shift & 63;
+        for (int i = 0; i < src.length; i++) {
+            int w = i + wordShift;
+            long shifted = 0L;
+            if (w < src.length) {
+                shifted = src[w] >>> bitShift;
+                if (bitShift != 0 && w + 1 < src.length) {
+                    shifted |= src[w + 1] << (64 - bitShift);
+                }
+            }
+            dst[i] = src[i] & shifted;
+        }
+    }
+
+    /**
+     * Finds a winner among the lines and squares that pass through one square,
+     * plus those through any lucky coin on the board (a lucky coin counts for
+     * both players, so it can complete a line for either of them).
+     * Only a newly placed coin can create a new win, so this gives the same
+     * answer as the full-board scans after each move, at O(line length) cost
+     * for lines and O(board edge) for squares.
+     *
+     * @param col         0-based column of the coin just placed
+     * @param row         0-based row of the coin just placed
+     * @param fourCorners true if Four Corners squares also win
+     * @return PLAYER1, PLAYER2 or EMPTY if nobody has won
+     */
+    public int findWinnerThrough(int col, int row, boolean fourCorners) {
+        int winner = findLineWinnerThrough(col, row);
+        if (winner == EMPTY) {
+            winner = findWinnerThroughLucky(false);
+        }
+        if (winner == EMPTY && fourCorners) {
+            winner = findSquareWinnerThrough(col, row);
+            if (winner == EMPTY) {
+                winner = findWinnerThroughLucky(true);
+            }
+        }
+        return winner;
+    }
+
+    private int findWinnerThroughLucky(boolean squares) {
+        for (int i = 0; i < lucky.length; i++) {
+            long bits = lucky[i];
+            while (bits != 0) {
+                int bit = (i << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1;
+                int col = bit / height;
+                int row = bit % height;
+                int winner = squares ? findSquareWinnerThrough(col, row) : findLineWinnerThrough(col, row);
+                if (winner != EMPTY) {
+                    return winner;
+                }
+            }
+        }
+        return EMPTY;
+    }
+
+    private int findLineWinnerThrough(int col, int row) {
+        int owner = get(col, row);
+        if (owner == PLAYER1 || owner == LUCKY) {
+            if (hasLineThrough(PLAYER1, col, row)) {
+                return PLAYER1;
+            }
+        }
+        if (owner == PLAYER2 || owner == LUCKY) {
+            if (hasLineThrough(PLAYER2, col, row)) {
+                return PLAYER2;
+            }
+        }
+        return EMPTY;
+    }
+
+    private int findSquareWinnerThrough(int col, int row) {
+        int owner = get(col, row);
+        if (owner == PLAYER1 || owner == LUCKY) {
+            if (hasSquareThrough(PLAYER1, col, row)) {
+                return PLAYER1;
+            }
+        }
+        if (owner == PLAYER2 || owner == LUCKY) {
+            if (hasSquareThrough(PLAYER2, col, row)) {
+                return PLAYER2;
+            }
+        }
+        return EMPTY;
+    }
+
+    /**
+     * Checks for a winning line (getWinLength() in a row) through a square.
+     *
+     * @param player PLAYER1 or PLAYER2
+     * @param col    0-based column
+     * @param row    0-based row
+     * @return true if a winning line through the square counts for the player
+     */
+    public boolean hasLineThrough(int player, int col, int row) {
+        return countLine(player, col, row, 1, 0) >= winLength
+                || countLine(player, col, row, 0, 1) >= winLength
+                || countLine(player, col, row, 1, 1) >= winLength
+                || countLine(player, col, row, 1, -1) >= winLength;
+    }
+
+    private int countLine(int player, int col, int row, int dCol, int dRow) {
+        int count = 1;
+        int c = col + dCol;
+        int r = row + dRow;
+        while (c >= 0 && c < columns && r >= 0 && r < rows && owns(player, c, r)) {
+            count++;
+            c += dCol;
+            r += dRow;
+        }
+        c = col - dCol;
+        r = row - dRow;
+        while (c >= 0 && c < columns && r >= 0 && r < rows && owns(player, c, r)) {
+            count++;
+            c -= dCol;
+            r -= dRow;
+        }
+        return count;
+    }
+
+    /**
+     * Checks for a Four Corners square that has the given square as a corner.
+     *
+     * @param player PLAYER1 or PLAYER2
+     * @param col    0-based column
+     * @param row    0-based row
+     * @return true if such a square counts for the player
+     */
+    public boolean hasSquareThrough(int player, int col, int row) {
+        long[] own = player == PLAYER1 ? player1Rows : player2Rows;
+        for (int other = 0; other < rows; other++) {
+            int size = Math.abs(other - row);
+            if (size == 0 || !ownsInRow(own, other, col)) {
+                continue;
+            }
+            // The other two corners: a column size away held in both rows
+            if ((col >= size && ownsInBothRows(own, row, other, col - size))
+                    || (col + size < columns && ownsInBothRows(own, row, other, col + size))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean ownsInRow(long[] own, int row, int col) {
+        int i = row * rowWords + (col >>> 6);
+        return ((own[i] | luckyRows[i]) & (1L << (col & 63))) != 0;
+    }
+
+    private boolean ownsInBothRows(long[] own, int rowA, int rowB, int col) {
+        int a = rowA * rowWords + (col >>> 6);
+        int b = rowB * rowWords + (col >>> 6);
+        return ((own[a] | luckyRows[a]) & (own[b] | luckyRows[b]) & (1L << (col & 63))) != 0;
+    }
+
+    /**
+     * Scans the whole board for a square whose four corners belong to the
+     * same player (Four Corners rule). Lucky coins count for both players.
+     * Each pair of rows is intersected once per player, then shift-and-ANDed
+     * by their distance, so the scan costs O(rows^2) word operations.
+     *
+     * @return PLAYER1 or PLAYER2 for the first square found (smallest first),
+     *         or EMPTY if none
+     */
+    public int findSquareWinner() {
+        for (int size = 1; size < Math.min(columns, rows); size++) {
+            for (int row = 0; row + size < rows; row++) {
+                if (hasSquareInRows(player1Rows, row, row + size, size)) {
+                    return PLAYER1;
+                }
+                if (hasSquareInRows(player2Rows, row, row + size, size)) {
+                    return PLAYER2;
+                }
+            }
+        }
+        return EMPTY;
+    }
+
+    private boolean hasSquareInRows(long[] own, int rowA, int rowB, int size) {
+        int a = rowA * rowWords;
+        int b = rowB * rowWords;
+        for (int w = 0; w < rowWords; w++) {
+            rowScratch[w] = (own[a + w] | luckyRows[a + w]) & (own[b + w] | luckyRows[b + w]);
+        }
+        andShifted(rowScratch, size, rowScratch);
+        for (long word : rowScratch) {
+            if (word != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a square counts for a player (own coin or lucky coin).
+     *
+     * @param player PLAYER1 or PLAYER2
+     * @param col    0-based column
+     * @param row    0-based row
+     * @return true if the square counts for the player
+     */
+    public boolean owns(int player, int col, int row) {
+        int owner = get(col, row);
+        return owner == player || owner == LUCKY;
+    }
+
+    public int getColumns() {
+        return columns;
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    /**
+     * Gets the number of coins in a row needed to win.
+     *
+     * @return the win length
+     */
+    public int getWinLength() {
+        return winLength;
+    }
+}
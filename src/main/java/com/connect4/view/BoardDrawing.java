@@ -2,6 +2,7 @@ package com.connect4.view;
 
 import java.awt.*;
 import java.awt.geom.*;
+import java.awt.image.BufferedImage;
 import java.awt.event.*;
 import javax.swing.*;
 
@@ -15,11 +16,34 @@ import com.connect4.player.Player;
  * - Dynamic cell sizing based on board dimensions
  * - Player color support beyond red/yellow
  * - Statistics display area
+ * - Optional debug line (AI search info) in the top-left corner
+ * - Optional move hint: the column is outlined and its verdict shown
+ * under the debug line
+ * - Cached rendering: the numbering, board and empty holes are drawn once
+ * per board size into a backdrop image, coins are copied from one sprite
+ * image per cell state, and refresh() repaints only the columns and status
+ * text that changed since the last paint
  * 
  * @author Original + Refactored + Extended features
  */
 public class BoardDrawing extends JComponent implements MouseListener {
 
+    private static final Font INSTRUCTION_FONT = new Font("SansSerif", Font.ITALIC, 12);
+    private static final Font STATUS_FONT = new Font("SansSerif", Font.BOLD, 18);
+    private static final Font STATS_FONT = new Font("SansSerif", Font.PLAIN, 12);
+    private static final Font ERROR_FONT = new Font("SansSerif", Font.BOLD, 14);
+    private static final Font DEBUG_FONT = new Font("Monospaced", Font.PLAIN, 11);
+
+    private static final Color COIN_BLUE = new Color(100, 149, 237);
+    private static final Color COIN_GREEN = new Color(34, 139, 34);
+    private static final Color COIN_PURPLE = new Color(148, 0, 211);
+    private static final Color COIN_ORANGE = new Color(255, 165, 0);
+    private static final Color TURQUOISE = new Color(64, 224, 208);
+    private static final Color CLOVER_GREEN = new Color(0, 100, 0);
+    private static final Color HINT_COLOR = new Color(0, 200, 0);
+    private static final Font HINT_FONT = new Font("SansSerif", Font.BOLD, 12);
+    private static final Stroke HINT_STROKE = new BasicStroke(3f);
+
     private GameState state;
     private GUIView guiView;
 
@@ -37,6 +61,19 @@ public class BoardDrawing extends JComponent implements MouseListener {
     private final int headerHeight = 40;
 
     private Rectangle[] columnZones;
+    private String debugText; // null when hidden
+    private int hintColumn; // 1-based, 0 when no hint
+    private String hintText; // null when no hint
+
+    // Cached rendering, rebuilt when the board size or screen scale changes
+    private Font labelFont;
+    private BufferedImage backdrop;
+    private double backdropScale;
+    private final BufferedImage[] sprites = new BufferedImage[Cell.CellState.values().length];
+
+    // What the last paints drew, for refresh()
+    private byte[] shown; // cell state ordinal by col * rows + row
+    private String shownFooter;
 
     public BoardDrawing(GameState gs) {
         state = gs;
@@ -73,6 +110,12 @@ public class BoardDrawing extends JComponent implements MouseListener {
             columnZones[i] = new Rectangle(x, boardStartY - headerHeight - 20,
                     holeSize + 10, headerHeight);
         }
+
+        labelFont = new Font("SansSerif", Font.BOLD, Math.min(16, cellSize / 2));
+        backdrop = null;
+        shown = new byte[boardCols * boardRows];
+        java.util.Arrays.fill(shown, (byte) -1);
+        shownFooter = null;
     }
 
     public void setGUIView(GUIView view) {
@@ -86,12 +129,97 @@ public class BoardDrawing extends JComponent implements MouseListener {
         return new Dimension(width, height);
     }
 
+    /**
+     * Sets a line of debug text to draw over the board.
+     * 
+     * @param text the text, or null to hide it
+     */
+    public void setDebugText(String text) {
+        this.debugText = text;
+        repaint(0, 0, getWidth(), 20);
+    }
+
+    /**
+     * Sets the hinted move, outlined on the board with its text below the
+     * debug line.
+     * 
+     * @param column 1-based column, or 0 to hide the hint
+     * @param text   the hint's text, or null
+     */
+    public void setHint(int column, String text) {
+        if (column == hintColumn && java.util.Objects.equals(text, hintText)) {
+            return;
+        }
+        if (hintColumn > 0 && hintColumn <= boardCols) {
+            repaint(getHintBounds(hintColumn - 1));
+        }
+        hintColumn = column;
+        hintText = text;
+        if (hintColumn > 0 && hintColumn <= boardCols) {
+            repaint(getHintBounds(hintColumn - 1));
+        }
+        repaint(0, 18, getWidth(), 20);
+    }
+
+    private Rectangle getHintBounds(int col) {
+        Rectangle bounds = getColumnBounds(col);
+        bounds.grow(4, 4);
+        return bounds;
+    }
+
     public void setGameState(GameState newState) {
         this.state = newState;
         updateDimensions();
         repaint();
     }
 
+    /**
+     * Repaints the parts of the board that no longer match the game: the
+     * columns whose coins changed and the status area below the board if
+     * its text changed. Falls back to a full repaint after a board resize.
+     */
+    public void refresh() {
+        if (shown == null || boardCols != state.getColumns() || boardRows != state.getRows()) {
+            repaint();
+            return;
+        }
+        for (int col = 0; col < boardCols; col++) {
+            for (int row = 0; row < boardRows; row++) {
+                if (shown[col * boardRows + row] != state.getCellState(col, row).ordinal()) {
+                    repaint(getColumnBounds(col));
+                    break;
+                }
+            }
+        }
+        if (!footerText().equals(shownFooter)) {
+            repaint(getFooterBounds());
+        }
+    }
+
+    /**
+     * Gets the area covered by a column's holes.
+     *
+     * @param col 0-based column
+     * @return the bounds, in component coordinates
+     */
+    public Rectangle getColumnBounds(int col) {
+        int x = boardStartX + 10 + col * cellSize + (cellSize - holeSize) / 2 - 1;
+        return new Rectangle(x, boardStartY, holeSize + 2, boardHeight);
+    }
+
+    private Rectangle getFooterBounds() {
+        int y = boardStartY + boardHeight;
+        return new Rectangle(0, y, getWidth(), 80); // status, statistics and error lines
+    }
+
+    /**
+     * Text drawn below the board; when it changes the footer is repainted.
+     */
+    private String footerText() {
+        return state.getStatusMessage() + '\n' + footerPlayer().getCoinColor() + '\n' + state.getStatsDisplay()
+                + '\n' + state.getError();
+    }
+
     public void paintComponent(Graphics g) {
         Graphics2D g2 = (Graphics2D) g;
         g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
@@ -101,81 +229,40 @@ public class BoardDrawing extends JComponent implements MouseListener {
             updateDimensions();
         }
 
-        // Draw column numbers (above board, no button backgrounds)
-        g2.setFont(new Font("SansSerif", Font.BOLD, Math.min(16, cellSize / 2)));
-        g2.setColor(Color.DARK_GRAY);
-        for (int i = 0; i < boardCols; i++) {
-            String num = Integer.toString(i + 1);
-            int w = g2.getFontMetrics().stringWidth(num);
-            int x = boardStartX + 10 + i * cellSize + (cellSize - w) / 2;
-            int y = boardStartY - 15;
-            g2.drawString(num, x, y);
+        // Numbering, instruction, board and empty holes come from one image
+        double scale = g2.getTransform().getScaleX();
+        if (backdrop == null || backdropScale != scale) {
+            buildBackdrop(g2, scale);
         }
+        Dimension size = getPreferredSize();
+        g2.drawImage(backdrop, 0, 0, size.width, size.height, null);
 
-        // Draw row numbers
-        g2.setColor(Color.DARK_GRAY);
-        for (int i = 0; i < boardRows; i++) {
-            String num = Integer.toString(i + 1);
-            int w = g2.getFontMetrics().stringWidth(num);
-            int y = boardStartY + 10 + (boardRows - 1 - i) * cellSize + (cellSize + 10) / 2;
-            g2.drawString(num, boardStartX - 20, y);
-        }
-
-        // Draw instruction
-        g2.setColor(Color.DARK_GRAY);
-        g2.setFont(new Font("SansSerif", Font.ITALIC, 12));
-        String instr = "Click column to drop piece";
-        int instrW = g2.getFontMetrics().stringWidth(instr);
-        g2.drawString(instr, boardStartX + (boardWidth - instrW) / 2, boardStartY - 35);
-
-        // Draw board
-        g2.setColor(Color.BLUE);
-        g2.fillRoundRect(boardStartX, boardStartY, boardWidth, boardHeight, 15, 15);
-
-        // Draw cells
-        Cell[][] cells = state.getCells();
+        // Draw coins in the columns being repainted
+        Rectangle clip = g2.getClipBounds();
         for (int col = 0; col < boardCols; col++) {
+            Rectangle columnBounds = getColumnBounds(col);
+            if (clip != null && !clip.intersects(columnBounds)) {
+                continue;
+            }
+            // A column only partly inside the clip is not fully on screen yet
+            boolean whole = clip == null || clip.contains(columnBounds);
+            int x = boardStartX + 10 + col * cellSize + (cellSize - holeSize) / 2;
             for (int row = 0; row < boardRows; row++) {
-                int x = boardStartX + 10 + col * cellSize + (cellSize - holeSize) / 2;
                 int y = boardStartY + 10 + (boardRows - 1 - row) * cellSize + (cellSize - holeSize) / 2;
-
-                Cell cell = cells[col][row];
-
-                if (cell.isAvailable()) {
-                    g2.setColor(Color.WHITE);
-                    g2.fill(new Ellipse2D.Double(x, y, holeSize, holeSize));
-                } else if (cell.isRed()) {
-                    g2.setColor(getPlayerColor(Player.CoinColor.RED));
-                    g2.fill(new Ellipse2D.Double(x, y, holeSize, holeSize));
-                } else if (cell.isYellow()) {
-                    g2.setColor(getPlayerColor(Player.CoinColor.YELLOW));
-                    g2.fill(new Ellipse2D.Double(x, y, holeSize, holeSize));
-                } else if (cell.isLucky()) {
-                    drawLuckyCoin(g2, x, y, holeSize);
+                Cell.CellState cell = state.getCellState(col, row);
+                if (whole) {
+                    shown[col * boardRows + row] = (byte) cell.ordinal();
+                }
+                if (cell != Cell.CellState.EMPTY) {
+                    g2.drawImage(getSprite(g2, cell, scale), x - 1, y - 1, holeSize + 2, holeSize + 2, null);
                 }
             }
         }
 
         // Draw status message
-        g2.setFont(new Font("SansSerif", Font.BOLD, 18));
+        g2.setFont(STATUS_FONT);
         String status = state.getStatusMessage();
-
-        // Determine which player's color to show
-        Player displayPlayer;
-        if (state.getGameOver()) {
-            // Game is over - show the winner's color (or current if it's a tie)
-            if (state.getPlayer1Wins()) {
-                displayPlayer = state.getSettings().getPlayer1();
-            } else if (state.getPlayer2Wins()) {
-                displayPlayer = state.getSettings().getPlayer2();
-            } else {
-                // Tie - show current player
-                displayPlayer = state.getCurrentPlayer();
-            }
-        } else {
-            // Game in progress - show current player
-            displayPlayer = state.getCurrentPlayer();
-        }
+        Player displayPlayer = footerPlayer();
 
         int statusY = boardStartY + boardHeight + 35;
         g2.setColor(Color.LIGHT_GRAY);
@@ -186,7 +273,7 @@ public class BoardDrawing extends JComponent implements MouseListener {
         g2.drawString(status, boardStartX + (boardWidth - sw) / 2, statusY);
 
         // Draw statistics
-        g2.setFont(new Font("SansSerif", Font.PLAIN, 12));
+        g2.setFont(STATS_FONT);
         g2.setColor(Color.DARK_GRAY);
         String stats = state.getStatsDisplay();
         int statsW = g2.getFontMetrics().stringWidth(stats);
@@ -195,29 +282,160 @@ public class BoardDrawing extends JComponent implements MouseListener {
         // Draw error if any
         if (state.getError() != null) {
             g2.setColor(Color.RED);
-            g2.setFont(new Font("SansSerif", Font.BOLD, 14));
+            g2.setFont(ERROR_FONT);
             g2.drawString("Error: " + state.getError(), 15, boardStartY + boardHeight + 70);
         }
+        if (clip == null || clip.contains(getFooterBounds().intersection(new Rectangle(getSize())))) {
+            shownFooter = footerText();
+        }
+
+        if (hintColumn > 0 && hintColumn <= boardCols) {
+            Rectangle bounds = getHintBounds(hintColumn - 1);
+            if (clip == null || clip.intersects(bounds)) {
+                g2.setColor(HINT_COLOR);
+                g2.setStroke(HINT_STROKE);
+                g2.drawRoundRect(bounds.x + 2, bounds.y + 2, bounds.width - 4, bounds.height - 4, 10, 10);
+            }
+        }
+        if (hintText != null) {
+            g2.setFont(HINT_FONT);
+            g2.setColor(HINT_COLOR.darker());
+            g2.drawString(hintText, 10, 32);
+        }
+
+        if (debugText != null) {
+            g2.setFont(DEBUG_FONT);
+            g2.setColor(Color.DARK_GRAY);
+            g2.drawString(debugText, 10, 15);
+        }
+    }
+
+    /**
+     * Gets the player whose colour the status is drawn in: the winner once
+     * the game is won, otherwise the player to move.
+     */
+    private Player footerPlayer() {
+        if (state.getPlayer1Wins()) {
+            return state.getSettings().getPlayer1();
+        } else if (state.getPlayer2Wins()) {
+            return state.getSettings().getPlayer2();
+        }
+        return state.getCurrentPlayer();
+    }
+
+    /**
+     * Draws everything that only changes with the board size: the column and
+     * row numbers, the instruction, the board and its empty holes. The image
+     * is drawn at the screen's scale so it stays sharp on HiDPI displays.
+     */
+    private void buildBackdrop(Graphics2D target, double scale) {
+        Dimension size = getPreferredSize();
+        java.util.Arrays.fill(sprites, null);
+        backdrop = createImage(target, (int) Math.ceil(size.width * scale), (int) Math.ceil(size.height * scale));
+        backdropScale = scale;
+        Graphics2D g2 = backdrop.createGraphics();
+        try {
+            g2.scale(scale, scale);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+
+            // Draw column numbers (above board, no button backgrounds)
+            g2.setFont(labelFont);
+            g2.setColor(Color.DARK_GRAY);
+            for (int i = 0; i < boardCols; i++) {
+                String num = Integer.toString(i + 1);
+                int w = g2.getFontMetrics().stringWidth(num);
+                int x = boardStartX + 10 + i * cellSize + (cellSize - w) / 2;
+                int y = boardStartY - 15;
+                g2.drawString(num, x, y);
+            }
+
+            // Draw row numbers
+            for (int i = 0; i < boardRows; i++) {
+                String num = Integer.toString(i + 1);
+                int y = boardStartY + 10 + (boardRows - 1 - i) * cellSize + (cellSize + 10) / 2;
+                g2.drawString(num, boardStartX - 20, y);
+            }
+
+            // Draw instruction
+            g2.setFont(INSTRUCTION_FONT);
+            String instr = "Click column to drop piece";
+            int instrW = g2.getFontMetrics().stringWidth(instr);
+            g2.drawString(instr, boardStartX + (boardWidth - instrW) / 2, boardStartY - 35);
+
+            // Draw board
+            g2.setColor(Color.BLUE);
+            g2.fillRoundRect(boardStartX, boardStartY, boardWidth, boardHeight, 15, 15);
+
+            // Draw empty holes
+            g2.setColor(Color.WHITE);
+            Ellipse2D.Double hole = new Ellipse2D.Double(0, 0, holeSize, holeSize);
+            for (int col = 0; col < boardCols; col++) {
+                for (int row = 0; row < boardRows; row++) {
+                    hole.x = boardStartX + 10 + col * cellSize + (cellSize - holeSize) / 2;
+                    hole.y = boardStartY + 10 + (boardRows - 1 - row) * cellSize + (cellSize - holeSize) / 2;
+                    g2.fill(hole);
+                }
+            }
+        } finally {
+            g2.dispose();
+        }
+    }
+
+    /**
+     * Gets the image of a coin, drawn on first use for the current hole size
+     * and screen scale. It has a one-pixel margin of board blue, so a coin
+     * drawn over a hole leaves no white fringe.
+     */
+    private BufferedImage getSprite(Graphics2D target, Cell.CellState cell, double scale) {
+        BufferedImage sprite = sprites[cell.ordinal()];
+        if (sprite != null) {
+            return sprite;
+        }
+        int size = holeSize + 2;
+        sprite = createImage(target, (int) Math.ceil(size * scale), (int) Math.ceil(size * scale));
+        Graphics2D g2 = sprite.createGraphics();
+        try {
+            g2.scale(scale, scale);
+            g2.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            g2.setColor(Color.BLUE);
+            g2.fillRect(0, 0, size, size);
+            if (cell == Cell.CellState.LUCKY) {
+                drawLuckyCoin(g2, 1, 1, holeSize);
+            } else {
+                g2.setColor(getPlayerColor(Player.CoinColor.valueOf(cell.name())));
+                g2.fill(new Ellipse2D.Double(1, 1, holeSize, holeSize));
+            }
+        } finally {
+            g2.dispose();
+        }
+        sprites[cell.ordinal()] = sprite;
+        return sprite;
+    }
+
+    private static BufferedImage createImage(Graphics2D target, int width, int height) {
+        GraphicsConfiguration config = target.getDeviceConfiguration();
+        if (config != null) {
+            return config.createCompatibleImage(width, height, Transparency.TRANSLUCENT);
+        }
+        return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
     }
 
     private Color getPlayerColor(Player.CoinColor coinColor) {
         return switch (coinColor) {
             case RED -> Color.RED;
             case YELLOW -> Color.YELLOW;
-            case BLUE -> new Color(100, 149, 237);
-            case GREEN -> new Color(34, 139, 34);
-            case PURPLE -> new Color(148, 0, 211);
-            case ORANGE -> new Color(255, 165, 0);
+            case BLUE -> COIN_BLUE;
+            case GREEN -> COIN_GREEN;
+            case PURPLE -> COIN_PURPLE;
+            case ORANGE -> COIN_ORANGE;
         };
     }
 
     private void drawLuckyCoin(Graphics2D g2, int x, int y, int size) {
-        Color turquoise = new Color(64, 224, 208);
-        g2.setColor(turquoise);
+        g2.setColor(TURQUOISE);
         g2.fill(new Ellipse2D.Double(x, y, size, size));
 
-        Color darkGreen = new Color(0, 100, 0);
-        g2.setColor(darkGreen);
+        g2.setColor(CLOVER_GREEN);
 
         int centerX = x + size / 2;
         int centerY = y + size / 2;
@@ -10,6 +10,10 @@ package com.connect4.view;
  * ii. A value stating whether the cell is occupied by a red coin
  * iii. A value stating whether the cell is occupied by a yellow coin
  * iv. A value representing a lucky coin (turquoise with 4-leaf clover)
+ * Cells handed out by GameState.getCells() are views onto the game's
+ * BitBoard: reads and writes go straight through to the board. The views
+ * and save code read squares with GameState.getCellState and do not
+ * create them.
  * 
  * @author Refactored for multi-view support
  */
@@ -27,8 +31,29 @@ public class Cell {
 
     private CellState state;
 
+    // Set when this cell is a view onto a GameState board
+    private final GameState owner;
+    private final int col;
+    private final int row;
+
     public Cell() {
         this.state = CellState.EMPTY;
+        this.owner = null;
+        this.col = -1;
+        this.row = -1;
+    }
+
+    /**
+     * Creates a cell that reads and writes through to a game board square.
+     * 
+     * @param owner the game state holding the board
+     * @param col   0-based column
+     * @param row   0-based row
+     */
+    Cell(GameState owner, int col, int row) {
+        this.owner = owner;
+        this.col = col;
+        this.row = row;
     }
 
     /**
@@ -37,7 +62,7 @@ public class Cell {
      * @return true if the cell is empty, false otherwise
      */
     public boolean isAvailable() {
-        return state == CellState.EMPTY;
+        return getState() == CellState.EMPTY;
     }
 
     /**
@@ -46,7 +71,7 @@ public class Cell {
      * @return true if occupied by red, false otherwise
      */
     public boolean isRed() {
-        return state == CellState.RED;
+        return getState() == CellState.RED;
     }
 
     /**
@@ -55,7 +80,7 @@ public class Cell {
      * @return true if occupied by yellow, false otherwise
      */
     public boolean isYellow() {
-        return state == CellState.YELLOW;
+        return getState() == CellState.YELLOW;
     }
 
     /**
@@ -64,7 +89,7 @@ public class Cell {
      * @return true if occupied by blue, false otherwise
      */
     public boolean isBlue() {
-        return state == CellState.BLUE;
+        return getState() == CellState.BLUE;
     }
 
     /**
@@ -73,7 +98,7 @@ public class Cell {
      * @return true if occupied by green, false otherwise
      */
     public boolean isGreen() {
-        return state == CellState.GREEN;
+        return getState() == CellState.GREEN;
     }
 
     /**
@@ -82,7 +107,7 @@ public class Cell {
      * @return true if occupied by purple, false otherwise
      */
     public boolean isPurple() {
-        return state == CellState.PURPLE;
+        return getState() == CellState.PURPLE;
     }
 
     /**
@@ -91,7 +116,7 @@ public class Cell {
      * @return true if occupied by orange, false otherwise
      */
     public boolean isOrange() {
-        return state == CellState.ORANGE;
+        return getState() == CellState.ORANGE;
     }
 
     /**
@@ -100,7 +125,7 @@ public class Cell {
      * @return true if it's a lucky coin, false otherwise
      */
     public boolean isLucky() {
-        return state == CellState.LUCKY;
+        return getState() == CellState.LUCKY;
     }
 
     /**
@@ -109,7 +134,7 @@ public class Cell {
      * @return true if occupied, false if empty
      */
     public boolean isOccupied() {
-        return state != CellState.EMPTY;
+        return getState() != CellState.EMPTY;
     }
 
     /**
@@ -118,6 +143,9 @@ public class Cell {
      * @return the CellState enum value
      */
     public CellState getState() {
+        if (owner != null) {
+            return owner.getCellState(col, row);
+        }
         return state;
     }
 
@@ -127,6 +155,10 @@ public class Cell {
      * @param state the new CellState to set
      */
     public void setState(CellState state) {
+        if (owner != null) {
+            owner.setCellState(col, row, state);
+            return;
+        }
         this.state = state;
     }
 
@@ -134,60 +166,60 @@ public class Cell {
      * Places a red coin in this cell.
      */
     public void setRed() {
-        this.state = CellState.RED;
+        setState(CellState.RED);
     }
 
     /**
      * Places a yellow coin in this cell.
      */
     public void setYellow() {
-        this.state = CellState.YELLOW;
+        setState(CellState.YELLOW);
     }
 
     /**
      * Places a blue coin in this cell.
      */
     public void setBlue() {
-        this.state = CellState.BLUE;
+        setState(CellState.BLUE);
     }
 
     /**
      * Places a green coin in this cell.
      */
     public void setGreen() {
-        this.state = CellState.GREEN;
+        setState(CellState.GREEN);
     }
 
     /**
      * Places a purple coin in this cell.
      */
     public void setPurple() {
-        this.state = CellState.PURPLE;
+        setState(CellState.PURPLE);
     }
 
     /**
      * Places an orange coin in this cell.
      */
     public void setOrange() {
-        this.state = CellState.ORANGE;
+        setState(CellState.ORANGE);
     }
 
     public void setColor(CellState color) {
-        this.state = color;
+        setState(color);
     }
 
     /**
      * Places a lucky coin (turquoise with 4-leaf clover) in this cell.
      */
     public void setLucky() {
-        this.state = CellState.LUCKY;
+        setState(CellState.LUCKY);
     }
 
     /**
      * Clears the cell, making it available for new coins.
      */
     public void clear() {
-        this.state = CellState.EMPTY;
+        setState(CellState.EMPTY);
     }
 
     /**
@@ -197,7 +229,7 @@ public class Cell {
      */
     @Override
     public String toString() {
-        return switch (state) {
+        return switch (getState()) {
             case RED -> "R";
             case YELLOW -> "Y";
             case BLUE -> "B";
@@ -215,7 +247,7 @@ public class Cell {
      * @return color name string
      */
     public String getColorName() {
-        return switch (state) {
+        return switch (getState()) {
             case RED -> "Red";
             case YELLOW -> "Yellow";
             case BLUE -> "Blue";
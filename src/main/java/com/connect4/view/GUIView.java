@@ -3,12 +3,19 @@ package com.connect4.view;
 import java.awt.*;
 import java.awt.event.*;
 import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.CompletableFuture;
 import javax.swing.*;
 
+import com.connect4.player.AIMoveService;
 import com.connect4.player.AIPlayer;
+import com.connect4.player.CancellationToken;
+import com.connect4.player.OpeningBook;
 import com.connect4.player.Player;
+import com.connect4.player.PositionAnalysis;
+import com.connect4.player.SearchMetrics;
 import com.connect4.settings.DifficultyLevel;
 import com.connect4.settings.GameSettings;
+import com.connect4.settings.SaveIndex;
 import com.connect4.settings.SaveLoadManager;
 
 /**
@@ -17,10 +24,19 @@ import com.connect4.settings.SaveLoadManager;
  * - Configuration dialog for game mode and difficulty
  * - Save/Load menu options
  * - Statistics display
- * - AI opponent integration
+ * - AI opponent integration (searched on the shared AIMoveService, and
+ * cancelled when undo, restart, load or a new game changes the board)
  * - Variable board size support
  * - Lucky coin offer accept/reject dialog
  * - Four corners win mode for square boards
+ * - AI search info overlay (View > Show AI Search Info)
+ * - Move hints (View > Show Hints): while a human is to move, the position
+ * is analysed in the background and the best column is highlighted, with
+ * its score updated as the analysis deepens
+ * - Pondering (View > AI Thinks on Your Time): after its move the AI keeps
+ * searching the human's replies in the background, and answers at once
+ * when the human plays one it has searched. It shares the AI thread with
+ * hints, so with both on the hint analysis goes first.
  * 
  * @author Created for multi-view support + Extended features
  */
@@ -30,6 +46,14 @@ public class GUIView implements GameView {
     private JFrame frame;
     private BoardDrawing board;
     private AIPlayer aiPlayer;
+    private CompletableFuture<Integer> pendingAIMove; // search in progress, or null
+    private boolean showSearchInfo;
+    private boolean showHints;
+    private AIPlayer hintPlayer; // analyses positions for hints, created on first use
+    private CancellationToken hintAnalysis; // analysis of the hinted position, or null
+    private long hintKey; // position the hint analysis is for
+    private boolean pondering;
+    private CancellationToken ponderToken; // pondering in progress, or null
 
     private volatile boolean windowClosed = false;
     private final Object windowLock = new Object();
@@ -145,7 +169,30 @@ public class GUIView implements GameView {
         JMenuItem exitGame = new JMenuItem("Exit Game");
         exitGame.addActionListener(e -> backToMainMenu());
 
+        JCheckBoxMenuItem searchInfo = new JCheckBoxMenuItem("Show AI Search Info");
+        searchInfo.addActionListener(e -> {
+            showSearchInfo = searchInfo.isSelected();
+            updateSearchInfo();
+        });
+
+        JCheckBoxMenuItem hints = new JCheckBoxMenuItem("Show Hints");
+        hints.addActionListener(e -> {
+            showHints = hints.isSelected();
+            updateHint();
+        });
+
+        JCheckBoxMenuItem ponder = new JCheckBoxMenuItem("AI Thinks on Your Time");
+        ponder.addActionListener(e -> {
+            pondering = ponder.isSelected();
+            if (!pondering) {
+                stopPondering();
+            }
+        });
+
         viewMenu.add(switchToText);
+        viewMenu.add(searchInfo);
+        viewMenu.add(hints);
+        viewMenu.add(ponder);
         viewMenu.addSeparator();
         viewMenu.add(exitGame);
 
@@ -188,6 +235,7 @@ public class GUIView implements GameView {
                 JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
+            cancelPendingAIMove();
             frame.dispose();
             windowClosed = true;
 
@@ -209,6 +257,7 @@ public class GUIView implements GameView {
                 JOptionPane.YES_NO_OPTION);
 
         if (choice == JOptionPane.YES_OPTION) {
+            cancelPendingAIMove();
             synchronized (windowLock) {
                 windowClosed = true;
                 windowLock.notifyAll();
@@ -334,6 +383,7 @@ public class GUIView implements GameView {
                 settings.setDifficultyLevel(level);
             }
 
+            cancelPendingAIMove();
             state = new GameState(settings);
             board.setGameState(state);
             setupAIIfNeeded();
@@ -384,13 +434,16 @@ public class GUIView implements GameView {
     }
 
     private void handleLoad() {
-        String[] saves = SaveLoadManager.listSaves();
+        SaveIndex.Entry[] saves = SaveLoadManager.listSaveEntries();
         if (saves.length == 0) {
             JOptionPane.showMessageDialog(frame, "No saved games found.");
             return;
         }
 
-        String[] summaries = SaveLoadManager.getSaveSummaries();
+        String[] summaries = new String[saves.length];
+        for (int i = 0; i < saves.length; i++) {
+            summaries[i] = saves[i].getSummary();
+        }
         String selected = (String) JOptionPane.showInputDialog(frame,
                 "Select a save to load:", "Load Game",
                 JOptionPane.PLAIN_MESSAGE, null, summaries, summaries[0]);
@@ -398,8 +451,9 @@ public class GUIView implements GameView {
         if (selected != null) {
             int index = java.util.Arrays.asList(summaries).indexOf(selected);
             if (index >= 0) {
-                SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(saves[index]);
+                SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(saves[index].getFilename());
                 if (snapshot != null) {
+                    cancelPendingAIMove();
                     state = SaveLoadManager.applySnapshot(snapshot);
                     board.setGameState(state);
                     setupAIIfNeeded();
@@ -449,13 +503,18 @@ public class GUIView implements GameView {
             if (computer != null) {
                 aiPlayer = new AIPlayer(state.getSettings().getDifficultyLevel(),
                         computer.getId());
+                aiPlayer.setSearchThreads(Runtime.getRuntime().availableProcessors());
+                aiPlayer.setOpeningBook(OpeningBook.getDefault());
+                aiPlayer.setMetricsLog(SearchMetrics.getDefaultLog());
             }
         } else {
             aiPlayer = null;
         }
+        hintPlayer = null;
     }
 
     private void performUndo() {
+        cancelPendingAIMove();
         if (state.undo()) {
             update();
         } else if (state.getError() != null) {
@@ -465,6 +524,7 @@ public class GUIView implements GameView {
     }
 
     private void performRestart() {
+        cancelPendingAIMove();
         state.restart();
         update();
     }
@@ -474,6 +534,7 @@ public class GUIView implements GameView {
                 "Are you sure you want to quit?", "Confirm Exit", JOptionPane.YES_NO_OPTION);
 
         if (result == JOptionPane.YES_OPTION) {
+            cancelPendingAIMove();
             synchronized (windowLock) {
                 windowClosed = true;
                 windowLock.notifyAll();
@@ -554,7 +615,7 @@ public class GUIView implements GameView {
     }
 
     private void makeAIMove() {
-        if (aiPlayer == null || state.getGameOver())
+        if (aiPlayer == null || state.getGameOver() || pendingAIMove != null)
             return;
 
         if (state.isLuckyOfferPending()) {
@@ -582,52 +643,161 @@ public class GUIView implements GameView {
 
         frame.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
 
-        SwingWorker<Integer, Void> worker = new SwingWorker<>() {
-            @Override
-            protected Integer doInBackground() {
-                return aiPlayer.getBestMove(state);
+        // Queued behind the pondering, which stops at its next node
+        stopPondering();
+        CompletableFuture<Integer> request = AIMoveService.getDefault().requestMove(aiPlayer, state);
+        pendingAIMove = request;
+        request.whenComplete((move, error) -> SwingUtilities.invokeLater(() -> {
+            // A cancelled or replaced search no longer matches the board
+            if (request != pendingAIMove) {
+                return;
+            }
+            pendingAIMove = null;
+            frame.setCursor(Cursor.getDefaultCursor());
+            if (error != null) {
+                error.printStackTrace();
+                return;
             }
+            playAIMove(move);
+        }));
+    }
 
-            @Override
-            protected void done() {
-                try {
-                    int move = get();
-                    if (move > 0) {
-                        state.move(move);
-                        update();
-
-                        if (state.isLuckyOfferPending()) {
-                            // Check who owns the lucky coin
-                            Player luckyOwner = state.getLuckyOfferPlayer();
-
-                            if (luckyOwner != null && luckyOwner.isComputer()) {
-                                // AI's coin - handle it
-                                boolean shouldAccept = aiPlayer.shouldAcceptLuckyOffer(state);
-                                if (shouldAccept) {
-                                    state.acceptLuckyOffer();
-                                } else {
-                                    state.rejectLuckyOffer();
-                                }
-                                update();
-                            } else {
-                                // User's coin - SHOW DIALOG
-                                showLuckyOfferDialog();
-                            }
-                        }
-
-                        if (state.getGameOver()) {
-                            showGameOverMessage();
-                            return;
-                        }
-                    }
-                } catch (Exception e) {
-                    e.printStackTrace();
-                } finally {
-                    frame.setCursor(Cursor.getDefaultCursor());
+    /**
+     * Plays the move the search chose and handles what follows it.
+     */
+    private void playAIMove(int move) {
+        if (move <= 0) {
+            return;
+        }
+        state.move(move);
+        updateSearchInfo();
+        update();
+
+        if (state.isLuckyOfferPending()) {
+            // Check who owns the lucky coin
+            Player luckyOwner = state.getLuckyOfferPlayer();
+
+            if (luckyOwner != null && luckyOwner.isComputer()) {
+                // AI's coin - handle it
+                boolean shouldAccept = aiPlayer.shouldAcceptLuckyOffer(state);
+                if (shouldAccept) {
+                    state.acceptLuckyOffer();
+                } else {
+                    state.rejectLuckyOffer();
                 }
+                update();
+            } else {
+                // User's coin - SHOW DIALOG
+                showLuckyOfferDialog();
             }
-        };
-        worker.execute();
+        }
+
+        if (state.getGameOver()) {
+            showGameOverMessage();
+        } else {
+            startPondering();
+        }
+    }
+
+    /**
+     * Lets the AI search the human's replies while they think, if pondering
+     * is on and a human is to move.
+     */
+    private void startPondering() {
+        stopPondering();
+        if (!pondering || windowClosed || state.isLuckyOfferPending() || state.getCurrentPlayer().isComputer()) {
+            return;
+        }
+        ponderToken = new CancellationToken();
+        AIMoveService.getDefault().requestPonder(aiPlayer, state, ponderToken);
+    }
+
+    private void stopPondering() {
+        if (ponderToken != null) {
+            ponderToken.cancel();
+            ponderToken = null;
+        }
+    }
+
+    /**
+     * Stops the AI's search, if one is running, so its move is never played.
+     * A hint analysis and pondering are stopped too; update() starts a new
+     * hint analysis if needed.
+     */
+    private void cancelPendingAIMove() {
+        cancelHint();
+        stopPondering();
+        if (pendingAIMove != null) {
+            pendingAIMove.cancel(false);
+            pendingAIMove = null;
+            if (frame != null) {
+                frame.setCursor(Cursor.getDefaultCursor());
+            }
+        }
+    }
+
+    /**
+     * Starts analysing the position for a hint when hints are on and a human
+     * is to move, unless that position is already analysed. Otherwise stops
+     * the analysis and hides the hint.
+     */
+    private void updateHint() {
+        if (board == null) {
+            return;
+        }
+        boolean wanted = showHints && !state.getGameOver() && !state.isLuckyOfferPending()
+                && !state.getCurrentPlayer().isComputer() && !windowClosed;
+        long key = state.getZobristHash() * 31 + state.getMoveLog().size();
+        if (wanted && hintAnalysis != null && key == hintKey) {
+            return;
+        }
+        cancelHint();
+        if (!wanted) {
+            return;
+        }
+
+        if (hintPlayer == null) {
+            hintPlayer = new AIPlayer(state.getSettings().getDifficultyLevel(), state.getCurrentPlayer().getId());
+        }
+        CancellationToken token = new CancellationToken();
+        hintAnalysis = token;
+        hintKey = key;
+        AIMoveService.getDefault().requestAnalysis(hintPlayer, state, AIPlayer.DEFAULT_ANALYSIS_DEPTH, token,
+                analysis -> SwingUtilities.invokeLater(() -> {
+                    // Ignore depths that finish after the position changed
+                    if (token == hintAnalysis) {
+                        showHint(analysis);
+                    }
+                }));
+    }
+
+    private void showHint(PositionAnalysis analysis) {
+        PositionAnalysis.ColumnScore best = analysis.getBest();
+        if (best != null) {
+            board.setHint(best.getColumn(), "Hint: column " + best.getColumn() + " (" + best.getVerdict()
+                    + ", depth " + analysis.getDepth() + ")");
+        }
+    }
+
+    private void cancelHint() {
+        if (hintAnalysis != null) {
+            hintAnalysis.cancel();
+            hintAnalysis = null;
+        }
+        if (board != null) {
+            board.setHint(0, null);
+        }
+    }
+
+    /**
+     * Shows the metrics of the AI's last move over the board, or hides them.
+     */
+    private void updateSearchInfo() {
+        if (board == null) {
+            return;
+        }
+        SearchMetrics metrics = aiPlayer != null ? aiPlayer.getLastSearchMetrics() : null;
+        board.setDebugText(showSearchInfo && metrics != null ? "AI: " + metrics : null);
     }
 
     private void showGameOverMessage() {
@@ -666,7 +836,8 @@ public class GUIView implements GameView {
     @Override
     public void update() {
         if (board != null)
-            board.repaint();
+            board.refresh();
+        updateHint();
     }
 
     @Override
@@ -711,6 +882,7 @@ public class GUIView implements GameView {
 
     @Override
     public void cleanup() {
+        SwingUtilities.invokeLater(this::cancelPendingAIMove);
         if (frame != null) {
             SwingUtilities.invokeLater(() -> frame.dispose());
         }
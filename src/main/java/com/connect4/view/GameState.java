@@ -16,10 +16,15 @@ import java.util.ArrayList;
  * - Support for variable board sizes (based on difficulty level)
  * - Player management (two humans or human vs computer)
  * - Integration with GameSettings for configuration
+ * - N-in-a-row win condition from the settings (4 by default)
  * - Four corners win condition (for square boards only)
  * - Lucky coin offer/accept/reject mechanism
  * - Deep copy for AI simulation
  * - Methods for save/load support
+ * - Board stored in a BitBoard; getCells() is a compatibility view onto it
+ * - Move history kept in a primitive MoveLog
+ * - Board, side to move and result kept in a Position, which is all the AI
+ * copies and searches
  * 
  * @author Original + Refactored for multi-view support + Extended features
  */
@@ -28,20 +33,16 @@ public class GameState {
     private final int columns;
     private final int rows;
 
-    private Cell[][] cells;
-    private Stack<Point> moves;
+    private final Position position;
+    private final BitBoard board; // the position's board
+    private Cell[][] cellView; // created on first getCells() call
+    private MoveLog moves;
     private String error;
-    private boolean gameOver;
-    private boolean player1Wins;
-    private boolean player2Wins;
-    private boolean player1Turn;
 
     private final GameSettings settings;
     private final Random random;
     private static final double LUCKY_COIN_OFFER_CHANCE = 0.15;
 
-    private Stack<Boolean> wasLuckyCoin;
-
     private boolean luckyOfferPending;
     private int luckyOfferColumn;
     private int luckyOfferRow;
@@ -53,11 +54,28 @@ public class GameState {
     }
 
     public GameState(GameSettings settings) {
+        this(settings, new Random());
+    }
+
+    /**
+     * Creates a game whose lucky coin offers come from a seeded random number
+     * generator, so the same moves always produce the same offers.
+     * 
+     * @param settings game settings
+     * @param seed     seed for lucky coin offers
+     */
+    public GameState(GameSettings settings, long seed) {
+        this(settings, new Random(seed));
+    }
+
+    private GameState(GameSettings settings, Random random) {
         this.settings = settings;
         this.columns = settings.getColumns();
         this.rows = settings.getRows();
-        this.random = new Random();
+        this.random = random;
         this.isSimulation = false;
+        this.position = new Position(columns, rows, settings.getWinCondition(), settings.isFourCornersEnabled());
+        this.board = position.getBoard();
 
         initializeBoard();
     }
@@ -72,30 +90,10 @@ public class GameState {
         this.random = new Random(); // New random to avoid coupling
         this.isSimulation = true; // Mark as simulation to prevent stats updates
 
-        // Deep copy cells
-        this.cells = new Cell[columns][rows];
-        for (int i = 0; i < columns; i++) {
-            for (int j = 0; j < rows; j++) {
-                this.cells[i][j] = new Cell();
-                this.cells[i][j].setState(other.cells[i][j].getState());
-            }
-        }
+        this.position = new Position(other.position);
+        this.board = position.getBoard();
 
-        this.gameOver = other.gameOver;
-        this.player1Wins = other.player1Wins;
-        this.player2Wins = other.player2Wins;
-        this.player1Turn = other.player1Turn;
-
-        // Deep copy stacks
-        this.moves = new Stack<>();
-        for (Point p : other.moves) {
-            this.moves.push(new Point((int) p.getX(), (int) p.getY()));
-        }
-
-        this.wasLuckyCoin = new Stack<>();
-        for (Boolean b : other.wasLuckyCoin) {
-            this.wasLuckyCoin.push(b);
-        }
+        this.moves = new MoveLog(other.moves);
 
         this.luckyOfferPending = other.luckyOfferPending;
         this.luckyOfferColumn = other.luckyOfferColumn;
@@ -104,19 +102,12 @@ public class GameState {
     }
 
     private void initializeBoard() {
-        cells = new Cell[columns][rows];
-        for (int i = 0; i < columns; i++) {
-            for (int j = 0; j < rows; j++) {
-                cells[i][j] = new Cell();
-            }
+        position.reset();
+        if (moves == null) {
+            moves = new MoveLog(columns * rows);
+        } else {
+            moves.clear();
         }
-
-        gameOver = false;
-        player1Wins = false;
-        player2Wins = false;
-        player1Turn = true;
-        moves = new Stack<>();
-        wasLuckyCoin = new Stack<>();
         error = null;
         settings.resetLuckyCoins();
 
@@ -133,7 +124,7 @@ public class GameState {
             return false;
         }
 
-        if (gameOver) {
+        if (position.isGameOver()) {
             error = "The game is over.";
             return false;
         }
@@ -145,52 +136,30 @@ public class GameState {
 
         int col = column - 1;
 
-        if (!cells[col][rows - 1].isAvailable()) {
+        if (board.isColumnFull(col)) {
             error = "That column is full.";
             return false;
         }
 
-        int row = 0;
-        while (!cells[col][row].isAvailable()) {
-            row++;
-        }
-
-        Player currentPlayer = getCurrentPlayer();
-        setColor(col, row, currentPlayer);
-        wasLuckyCoin.push(false);
+        int row = board.getHeight(col);
 
-        moves.push(new Point(col, row));
-        player1Turn = !player1Turn;
-        checkForWin();
+        board.set(col, row, currentOwner());
+        moves.push(col, row, false, currentOwner());
+        position.setPlayer1Turn(!position.isPlayer1Turn());
+        checkForWin(col, row);
 
-        if (!gameOver) {
+        if (!position.isGameOver()) {
             tryGenerateLuckyOffer();
         }
 
         return true;
     }
 
-    private void setColor(int col, int row, Player currentPlayer) {
-        switch (currentPlayer.getCoinColor()) {
-            case RED:
-                cells[col][row].setRed();
-                break;
-            case YELLOW:
-                cells[col][row].setYellow();
-                break;
-            case BLUE:
-                cells[col][row].setBlue();
-                break;
-            case GREEN:
-                cells[col][row].setGreen();
-                break;
-            case PURPLE:
-                cells[col][row].setPurple();
-                break;
-            case ORANGE:
-                cells[col][row].setOrange();
-                break;
-        }
+    /**
+     * Gets the board owner code for the player whose turn it is.
+     */
+    private int currentOwner() {
+        return position.getSideToMove();
     }
 
     private void tryGenerateLuckyOffer() {
@@ -204,12 +173,8 @@ public class GameState {
 
         ArrayList<int[]> validPositions = new ArrayList<>();
         for (int col = 0; col < columns; col++) {
-            int row = 0;
-            while (row < rows && !cells[col][row].isAvailable()) {
-                row++;
-            }
-            if (row < rows) {
-                validPositions.add(new int[] { col, row });
+            if (!board.isColumnFull(col)) {
+                validPositions.add(new int[] { col, board.getHeight(col) });
             }
         }
 
@@ -222,7 +187,7 @@ public class GameState {
         luckyOfferRow = selected[1];
         luckyOfferPending = true;
 
-        cells[luckyOfferColumn][luckyOfferRow].setLucky();
+        board.set(luckyOfferColumn, luckyOfferRow, BitBoard.LUCKY);
     }
 
     public boolean acceptLuckyOffer() {
@@ -234,13 +199,13 @@ public class GameState {
         }
 
         // The lucky coin belongs to the CURRENT player (pre-move offer)
-        Player luckyPlayer = getCurrentPlayer();
-
-        setColor(luckyOfferColumn, luckyOfferRow, luckyPlayer);
+        board.set(luckyOfferColumn, luckyOfferRow, currentOwner());
 
         settings.incrementLuckyCoins();
-        wasLuckyCoin.push(true);
-        moves.push(new Point(luckyOfferColumn, luckyOfferRow));
+        moves.push(luckyOfferColumn, luckyOfferRow, true, currentOwner());
+
+        int luckyCol = luckyOfferColumn;
+        int luckyRow = luckyOfferRow;
 
         luckyOfferPending = false;
         luckyOfferColumn = -1;
@@ -248,7 +213,7 @@ public class GameState {
 
         // player1Turn = !player1Turn; // Do not switch turn - lucky coin is a free
         // action
-        checkForWin();
+        checkForWin(luckyCol, luckyRow);
 
         return true;
     }
@@ -261,7 +226,7 @@ public class GameState {
             return false;
         }
 
-        cells[luckyOfferColumn][luckyOfferRow].clear();
+        board.clear(luckyOfferColumn, luckyOfferRow);
 
         luckyOfferPending = false;
         luckyOfferColumn = -1;
@@ -305,32 +270,49 @@ public class GameState {
     public void moveInternal(int column) {
         error = null;
 
-        if (gameOver || column < 1 || column > columns) {
+        if (position.isGameOver() || column < 1 || column > columns) {
             return;
         }
 
         int col = column - 1;
-        if (!cells[col][rows - 1].isAvailable()) {
+        if (board.isColumnFull(col)) {
             return;
         }
 
-        int row = 0;
-        while (!cells[col][row].isAvailable()) {
-            row++;
-        }
+        int row = board.getHeight(col);
 
-        Player currentPlayer = getCurrentPlayer();
-        if (currentPlayer.getCoinColor() == Player.CoinColor.RED) {
-            cells[col][row].setRed();
-        } else {
-            cells[col][row].setYellow();
-        }
-        wasLuckyCoin.push(false);
+        board.set(col, row, currentOwner());
+        moves.push(col, row, false, currentOwner());
+        position.setPlayer1Turn(!position.isPlayer1Turn());
+        checkForWin(col, row);
 
-        moves.push(new Point(col, row));
-        player1Turn = !player1Turn;
-        checkForWin();
+    }
 
+    /**
+     * Plays a coin for the current player in place, for search.
+     * Unlike move(), this sets no error messages, records nothing in the move
+     * history or the player stats and never generates a lucky coin offer, so it
+     * allocates nothing and is safe on a live game. Every successful call must
+     * be paired with unmakeMove(column) in LIFO order. Search code can also
+     * play on a copy of getPosition().
+     * 
+     * @param column 1-based column
+     * @return true if the coin was placed
+     */
+    public boolean makeMove(int column) {
+        position.setFourCorners(settings.isFourCornersEnabled());
+        return position.makeMove(column);
+    }
+
+    /**
+     * Takes back a coin placed by makeMove(column).
+     * A move can only be made while the game is not over, so undoing it always
+     * returns the game to the in-progress state.
+     * 
+     * @param column 1-based column passed to makeMove
+     */
+    public void unmakeMove(int column) {
+        position.unmakeMove(column);
     }
 
     public boolean undo() {
@@ -343,30 +325,23 @@ public class GameState {
             // offer
         }
 
-        if (moves.empty()) {
+        if (moves.isEmpty()) {
             error = "No moves to undo.";
             return false;
         }
 
-        Point lastMove = moves.pop();
+        int lastMove = moves.pop();
 
         // Check if the move we are undoing was a lucky coin acceptance
         // or a regular move.
-        if (!wasLuckyCoin.empty()) {
-            boolean wasLucky = wasLuckyCoin.pop();
-            if (wasLucky) {
-                settings.decrementLuckyCoins();
-            }
+        if (MoveLog.isLucky(lastMove)) {
+            settings.decrementLuckyCoins();
         }
 
-        cells[(int) lastMove.getX()][(int) lastMove.getY()].clear();
-        player1Turn = !player1Turn;
-
-        if (gameOver) {
-            gameOver = false;
-            player1Wins = false;
-            player2Wins = false;
-        }
+        board.clear(MoveLog.column(lastMove), MoveLog.row(lastMove));
+        position.setPlayer1Turn(!position.isPlayer1Turn());
+        position.setGameOver(false);
+        position.setWinner(BitBoard.EMPTY);
 
         return true;
     }
@@ -375,185 +350,78 @@ public class GameState {
         initializeBoard();
     }
 
-    private void checkForWin() {
-        gameOver = false;
-        player1Wins = false;
-        player2Wins = false;
-
-        Player.CoinColor p1Color = settings.getPlayer1().getCoinColor();
-        Player.CoinColor p2Color = settings.getPlayer2().getCoinColor();
-
-        if (checkWinForColor(p1Color)) {
-            gameOver = true;
-            player1Wins = true;
-            if (!isSimulation) {
-                settings.getPlayer1().recordWin();
-                settings.getPlayer2().recordLoss();
-            }
-        } else if (checkWinForColor(p2Color)) {
-            gameOver = true;
-            player2Wins = true;
-            if (!isSimulation) {
-                settings.getPlayer2().recordWin();
-                settings.getPlayer1().recordLoss();
-            }
-        } else if (settings.isFourCornersEnabled()) {
-            // System.out.println("DEBUG: Checking square win...");
-            int cornerWinner = checkSquareWin();
-            if (cornerWinner == 1) {
-                // System.out.println("DEBUG: Square win for P1 detected!");
-                gameOver = true;
-                player1Wins = true;
-                if (!isSimulation) {
-                    settings.getPlayer1().recordWin();
-                    settings.getPlayer2().recordLoss();
-                }
-            } else if (cornerWinner == 2) {
-                // System.out.println("DEBUG: Square win for P2 detected!");
-                gameOver = true;
-                player2Wins = true;
-                if (!isSimulation) {
-                    settings.getPlayer2().recordWin();
-                    settings.getPlayer1().recordLoss();
-                }
-            }
-        } else {
-            // System.out.println("DEBUG: Four corners NOT enabled.");
-        }
-
-        if (!gameOver) {
-            boolean isFull = true;
-            for (int i = 0; i < columns; i++) {
-                if (cells[i][rows - 1].isAvailable()) {
-                    isFull = false;
-                    break;
-                }
-            }
-            if (isFull) {
-                gameOver = true;
-                if (!isSimulation) {
-                    settings.getPlayer1().recordTie();
-                    settings.getPlayer2().recordTie();
-                }
-            }
-        }
-    }
-
-    private int checkSquareWin() {
-        Player.CoinColor p1Color = settings.getPlayer1().getCoinColor();
-        Player.CoinColor p2Color = settings.getPlayer2().getCoinColor();
-
-        // Check every possible square on the board
-        // Minimum square size is 2x2
-        for (int size = 1; size < Math.min(columns, rows); size++) {
-            for (int col = 0; col < columns - size; col++) {
-                for (int row = 0; row < rows - size; row++) {
-                    // Corners of the square
-                    Cell c1 = cells[col][row];
-                    Cell c2 = cells[col + size][row];
-                    Cell c3 = cells[col][row + size];
-                    Cell c4 = cells[col + size][row + size];
-
-                    if (c1.isAvailable() || c2.isAvailable() || c3.isAvailable() || c4.isAvailable()) {
-                        continue;
-                    }
-
-                    if (matchesColor(c1, p1Color) && matchesColor(c2, p1Color) &&
-                            matchesColor(c3, p1Color) && matchesColor(c4, p1Color)) {
-                        // System.out.println("DEBUG: Found square for P1 at " + col + "," + row + "
-                        // size " + size);
-                        return 1;
-                    }
-
-                    if (matchesColor(c1, p2Color) && matchesColor(c2, p2Color) &&
-                            matchesColor(c3, p2Color) && matchesColor(c4, p2Color)) {
-                        return 2;
-                    }
-                }
-            }
-        }
-        return 0;
+    /**
+     * Updates the game-over flags after a coin was placed.
+     * Only lines and squares through the new coin (and any lucky coin) are
+     * examined; see findWinnerByFullScan() for the whole-board check.
+     * 
+     * @param col 0-based column of the coin just placed
+     * @param row 0-based row of the coin just placed
+     */
+    private void checkForWin(int col, int row) {
+        position.setFourCorners(settings.isFourCornersEnabled());
+        position.updateResult(col, row);
+        recordResult();
     }
 
-    private boolean checkWinForColor(Player.CoinColor color) {
-        // Horizontal
-        for (int row = 0; row < rows; row++) {
-            for (int col = 0; col <= columns - 4; col++) {
-                if (checkLine(col, row, 1, 0, color))
-                    return true;
-            }
-        }
-
-        // Vertical
-        for (int col = 0; col < columns; col++) {
-            for (int row = 0; row <= rows - 4; row++) {
-                if (checkLine(col, row, 0, 1, color))
-                    return true;
-            }
-        }
-
-        // Diagonal /
-        for (int col = 0; col <= columns - 4; col++) {
-            for (int row = 0; row <= rows - 4; row++) {
-                if (checkLine(col, row, 1, 1, color))
-                    return true;
-            }
+    /**
+     * Records a finished game in the players' statistics, unless this is a
+     * copy made for simulation.
+     */
+    private void recordResult() {
+        if (isSimulation || !position.isGameOver()) {
+            return;
         }
-
-        // Diagonal \
-        for (int col = 0; col <= columns - 4; col++) {
-            for (int row = 3; row < rows; row++) {
-                if (checkLine(col, row, 1, -1, color))
-                    return true;
-            }
+        if (position.getWinner() == BitBoard.PLAYER1) {
+            settings.getPlayer1().recordWin();
+            settings.getPlayer2().recordLoss();
+        } else if (position.getWinner() == BitBoard.PLAYER2) {
+            settings.getPlayer2().recordWin();
+            settings.getPlayer1().recordLoss();
+        } else {
+            settings.getPlayer1().recordTie();
+            settings.getPlayer2().recordTie();
         }
-
-        return false;
     }
 
-    private boolean checkLine(int startCol, int startRow, int dCol, int dRow, Player.CoinColor color) {
-        for (int i = 0; i < 4; i++) {
-            if (!matchesColor(cells[startCol + i * dCol][startRow + i * dRow], color)) {
-                return false;
+    /**
+     * Scans the whole board for a winner, the way win detection worked before
+     * it became incremental. Kept as a verification mode for tests.
+     * 
+     * @return 1 or 2 for the winning player, or 0 if nobody has won
+     */
+    public int findWinnerByFullScan() {
+        if (board.hasWinningLine(BitBoard.PLAYER1)) {
+            return 1;
+        }
+        if (board.hasWinningLine(BitBoard.PLAYER2)) {
+            return 2;
+        }
+        if (settings.isFourCornersEnabled()) {
+            int cornerWinner = board.findSquareWinner();
+            if (cornerWinner == BitBoard.PLAYER1) {
+                return 1;
+            } else if (cornerWinner == BitBoard.PLAYER2) {
+                return 2;
             }
         }
-        return true;
-    }
-
-    private boolean matchesColor(Cell cell, Player.CoinColor color) {
-        if (cell.isLucky()) {
-            return true;
-        }
-
-        return switch (color) {
-            case RED -> cell.isRed();
-            case YELLOW -> cell.isYellow();
-            case BLUE -> cell.isBlue();
-            case GREEN -> cell.isGreen();
-            case PURPLE -> cell.isPurple();
-            case ORANGE -> cell.isOrange();
-            default -> false;
-        };
+        return 0;
     }
 
     public boolean isValidMove(int column) {
-        if (luckyOfferPending || gameOver)
-            return false;
-        if (column < 1 || column > columns)
-            return false;
-        return cells[column - 1][rows - 1].isAvailable();
+        return !luckyOfferPending && position.canPlay(column);
     }
 
     public Player getCurrentPlayer() {
-        return player1Turn ? settings.getPlayer1() : settings.getPlayer2();
+        return position.isPlayer1Turn() ? settings.getPlayer1() : settings.getPlayer2();
     }
 
     public String getStatusMessage() {
-        if (gameOver) {
-            if (player1Wins) {
+        if (position.isGameOver()) {
+            if (getPlayer1Wins()) {
                 String winType = settings.getDifficultyLevel().isFourCornersEnabled() ? " (Four Corners!)" : "";
                 return settings.getPlayer1().getName() + " wins!" + winType;
-            } else if (player2Wins) {
+            } else if (getPlayer2Wins()) {
                 String winType = settings.getDifficultyLevel().isFourCornersEnabled() ? " (Four Corners!)" : "";
                 return settings.getPlayer2().getName() + " wins!" + winType;
             } else {
@@ -563,7 +431,7 @@ public class GameState {
 
         if (luckyOfferPending) {
             // The offer is for the player who just moved (previous player)
-            Player luckyPlayer = player1Turn ? settings.getPlayer2() : settings.getPlayer1();
+            Player luckyPlayer = position.isPlayer1Turn() ? settings.getPlayer2() : settings.getPlayer1();
             return luckyPlayer.getName() + ": Lucky coin at col " +
                     (luckyOfferColumn + 1) + "! Accept (A) or Reject (R)?";
         }
@@ -590,32 +458,150 @@ public class GameState {
         return rows;
     }
 
+    /**
+     * Gets a Cell grid view of the board, indexed [column][row].
+     * The cells read and write through to the underlying BitBoard. The view
+     * is only built the first time it is asked for and is never copied;
+     * code that just reads squares should use getCellState instead.
+     * 
+     * @return the cell view
+     */
     public Cell[][] getCells() {
-        return cells;
+        if (cellView == null) {
+            cellView = new Cell[columns][rows];
+            for (int i = 0; i < columns; i++) {
+                for (int j = 0; j < rows; j++) {
+                    cellView[i][j] = new Cell(this, i, j);
+                }
+            }
+        }
+        return cellView;
     }
 
-    public Stack<Point> getMoves() {
+    /**
+     * Gets the state of one square, mapping board owners to player colours.
+     * 
+     * @param col 0-based column
+     * @param row 0-based row
+     * @return the cell state
+     */
+    public Cell.CellState getCellState(int col, int row) {
+        return switch (board.get(col, row)) {
+            case BitBoard.PLAYER1 -> toCellState(settings.getPlayer1().getCoinColor());
+            case BitBoard.PLAYER2 -> toCellState(settings.getPlayer2().getCoinColor());
+            case BitBoard.LUCKY -> Cell.CellState.LUCKY;
+            default -> Cell.CellState.EMPTY;
+        };
+    }
+
+    /**
+     * Sets the state of one square. Coloured states are assigned to the player
+     * using that colour.
+     * 
+     * @param col   0-based column
+     * @param row   0-based row
+     * @param state the new cell state
+     */
+    public void setCellState(int col, int row, Cell.CellState state) {
+        int owner;
+        if (state == Cell.CellState.EMPTY) {
+            owner = BitBoard.EMPTY;
+        } else if (state == Cell.CellState.LUCKY) {
+            owner = BitBoard.LUCKY;
+        } else if (state == toCellState(settings.getPlayer1().getCoinColor())) {
+            owner = BitBoard.PLAYER1;
+        } else {
+            owner = BitBoard.PLAYER2;
+        }
+        board.set(col, row, owner);
+    }
+
+    private static Cell.CellState toCellState(Player.CoinColor color) {
+        return Cell.CellState.valueOf(color.name());
+    }
+
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    /**
+     * Gets the board, side to move and result, without the history, offers
+     * and statistics. It is live: copy it before playing moves on it. A
+     * pending lucky coin offer sits on its board as a LUCKY coin.
+     * 
+     * @return the game's position
+     */
+    public Position getPosition() {
+        return position;
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: the coins on the board (including
+     * a pending lucky coin) and the side to move. The board part is kept up to
+     * date on every move, undo, and lucky coin offer, accept or reject.
+     * 
+     * @return position hash
+     */
+    public long getZobristHash() {
+        return position.getHash();
+    }
+
+    /**
+     * Gets the history of moves played, for undo and saving.
+     * 
+     * @return the game's move log (live, not a copy)
+     */
+    public MoveLog getMoveLog() {
         return moves;
     }
 
+    /**
+     * Gets a copy of the move history as points (x = column, y = row), for
+     * callers written against the old Stack-based history.
+     * 
+     * @return the squares played, oldest first
+     */
+    public Stack<Point> getMoves() {
+        Stack<Point> points = new Stack<>();
+        for (int i = 0; i < moves.size(); i++) {
+            int entry = moves.get(i);
+            points.push(new Point(MoveLog.column(entry), MoveLog.row(entry)));
+        }
+        return points;
+    }
+
+    /**
+     * Gets a copy of, for each move in getMoves(), whether it placed a lucky
+     * coin.
+     * 
+     * @return lucky coin flags, oldest first
+     */
+    public Stack<Boolean> getLuckyCoinHistory() {
+        Stack<Boolean> lucky = new Stack<>();
+        for (int i = 0; i < moves.size(); i++) {
+            lucky.push(MoveLog.isLucky(moves.get(i)));
+        }
+        return lucky;
+    }
+
     public String getError() {
         return error;
     }
 
     public boolean getGameOver() {
-        return gameOver;
+        return position.isGameOver();
     }
 
     public boolean getPlayer1Wins() {
-        return player1Wins;
+        return position.getWinner() == BitBoard.PLAYER1;
     }
 
     public boolean getPlayer2Wins() {
-        return player2Wins;
+        return position.getWinner() == BitBoard.PLAYER2;
     }
 
     public boolean isPlayer1Turn() {
-        return player1Turn;
+        return position.isPlayer1Turn();
     }
 
     public GameSettings getSettings() {
@@ -623,19 +609,27 @@ public class GameState {
     }
 
     public void setGameOver(boolean gameOver) {
-        this.gameOver = gameOver;
+        position.setGameOver(gameOver);
     }
 
     public void setPlayer1Wins(boolean player1Wins) {
-        this.player1Wins = player1Wins;
+        setWinner(BitBoard.PLAYER1, player1Wins);
     }
 
     public void setPlayer2Wins(boolean player2Wins) {
-        this.player2Wins = player2Wins;
+        setWinner(BitBoard.PLAYER2, player2Wins);
+    }
+
+    private void setWinner(int player, boolean wins) {
+        if (wins) {
+            position.setWinner(player);
+        } else if (position.getWinner() == player) {
+            position.setWinner(BitBoard.EMPTY);
+        }
     }
 
     public void setPlayer1Turn(boolean player1Turn) {
-        this.player1Turn = player1Turn;
+        position.setPlayer1Turn(player1Turn);
     }
 
     public void setLuckyOfferState(boolean pending, int col, int row) {
@@ -646,13 +640,18 @@ public class GameState {
 
     @Override
     public String toString() {
-        String res = "";
-        for (int row = 0; row < cells.length; row++) {
-            res += "\n";
-            for (int col = 0; col < cells[row].length; col++) {
-                res += cells[row][col].toString();
+        // One line per column, bottom square first
+        StringBuilder res = new StringBuilder();
+        for (int col = 0; col < columns; col++) {
+            res.append('\n');
+            for (int row = 0; row < rows; row++) {
+                res.append(switch (board.get(col, row)) {
+                    case BitBoard.EMPTY -> '.';
+                    case BitBoard.LUCKY -> 'L';
+                    default -> getCellState(col, row).name().charAt(0);
+                });
             }
         }
-        return res;
+        return res.toString();
     }
 }
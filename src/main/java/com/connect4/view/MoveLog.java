@@ -0,0 +1,160 @@
+package com.connect4.view;
+
+import java.nio.IntBuffer;
+import java.util.Arrays;
+
+/**
+ * MoveLog.java - NEW CLASS
+ * History of the moves played in a game, oldest first, for undo and saving.
+ * Each move is one int:
+ * - bits 0-7: column (0-based)
+ * - bits 8-15: row (0-based)
+ * - bit 16: the coin was an accepted lucky coin
+ * - bits 17-18: player who owns the coin (1 or 2)
+ * The entries live in one int array sized to the board, which can never
+ * hold more moves than it has squares, so push and pop never allocate and
+ * copying a log is a single array copy. A log is written by one thread (the
+ * game's) and is not synchronized.
+ *
+ * @author Extended feature implementation
+ */
+public final class MoveLog {
+
+    private static final int LUCKY_BIT = 1 << 16;
+
+    private int[] entries;
+    private int size;
+
+    /**
+     * Creates an empty log.
+     *
+     * @param capacity expected number of moves (the board's square count)
+     */
+    public MoveLog(int capacity) {
+        this.entries = new int[Math.max(1, capacity)];
+    }
+
+    /**
+     * Creates a copy of another log.
+     *
+     * @param other the log to copy
+     */
+    public MoveLog(MoveLog other) {
+        this.entries = Arrays.copyOf(other.entries, other.entries.length);
+        this.size = other.size;
+    }
+
+    /**
+     * Packs a move into a log entry.
+     *
+     * @param col    0-based column
+     * @param row    0-based row
+     * @param lucky  true for an accepted lucky coin
+     * @param player owner of the coin (1 or 2)
+     * @return the entry
+     */
+    public static int encode(int col, int row, boolean lucky, int player) {
+        return (col & 0xFF) | (row & 0xFF) << 8 | (lucky ? LUCKY_BIT : 0) | (player & 0x3) << 17;
+    }
+
+    public static int column(int entry) {
+        return entry & 0xFF;
+    }
+
+    public static int row(int entry) {
+        return (entry >>> 8) & 0xFF;
+    }
+
+    public static boolean isLucky(int entry) {
+        return (entry & LUCKY_BIT) != 0;
+    }
+
+    public static int player(int entry) {
+        return (entry >>> 17) & 0x3;
+    }
+
+    /**
+     * Records a move.
+     *
+     * @param col    0-based column
+     * @param row    0-based row
+     * @param lucky  true for an accepted lucky coin
+     * @param player owner of the coin (1 or 2)
+     */
+    public void push(int col, int row, boolean lucky, int player) {
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, entries.length * 2);
+        }
+        entries[size++] = encode(col, row, lucky, player);
+    }
+
+    /**
+     * Removes the latest move.
+     *
+     * @return its entry
+     * @throws IllegalStateException if the log is empty
+     */
+    public int pop() {
+        if (size == 0) {
+            throw new IllegalStateException("No moves in the log");
+        }
+        return entries[--size];
+    }
+
+    /**
+     * Gets the latest move without removing it.
+     *
+     * @return its entry
+     * @throws IllegalStateException if the log is empty
+     */
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("No moves in the log");
+        }
+        return entries[size - 1];
+    }
+
+    /**
+     * Gets a move by position.
+     *
+     * @param index 0 for the first move
+     * @return its entry
+     */
+    public int get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Move " + index + " of " + size);
+        }
+        return entries[index];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    /**
+     * Gets a read-only view of the moves played so far, without copying.
+     * The view reflects the log only until the next push or pop.
+     *
+     * @return entries, oldest first
+     */
+    public IntBuffer view() {
+        return IntBuffer.wrap(entries, 0, size).slice().asReadOnlyBuffer();
+    }
+
+    /**
+     * Copies the entries out.
+     *
+     * @return entries, oldest first
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(entries, size);
+    }
+}
@@ -0,0 +1,201 @@
+package com.connect4.view;
+
+/**
+ * Position.java - NEW CLASS
+ * The rules-only part of a game: the board, the side to move, and whether
+ * the game is over and who won. GameState wraps one and adds what only the
+ * views and the game flow need (move history, error text, lucky coin
+ * offers, player statistics), so the AI copies and searches a Position
+ * alone, and a copy is just the BitBoard's arrays.
+ * - makeMove/unmakeMove play and take back coins in place, in LIFO order,
+ * and allocate nothing
+ * - Win detection is incremental: only lines (and Four Corners squares, if
+ * enabled) through the coin just placed, or through a lucky coin, are
+ * examined
+ * - getHash() is the Zobrist hash of the board and the side to move
+ * Lucky coins on the board count for both players as usual; offering them,
+ * and the per-game limit on them, stay with GameState and GameSettings.
+ *
+ * @author Extended feature implementation
+ */
+public final class Position {
+
+    private static final long PLAYER2_TO_MOVE_KEY = 0x6A09E667F3BCC909L;
+
+    private final BitBoard board;
+    private boolean fourCorners;
+    private boolean player1Turn;
+    private boolean gameOver;
+    private int winner; // PLAYER1 or PLAYER2 once someone has won, else EMPTY
+
+    /**
+     * Creates an empty position with player 1 to move.
+     *
+     * @param columns     number of columns
+     * @param rows        number of rows
+     * @param winLength   coins in a row needed to win
+     * @param fourCorners true if Four Corners squares also win
+     */
+    public Position(int columns, int rows, int winLength, boolean fourCorners) {
+        this.board = new BitBoard(columns, rows, winLength);
+        this.fourCorners = fourCorners;
+        this.player1Turn = true;
+    }
+
+    /**
+     * Copy constructor.
+     *
+     * @param other position to copy
+     */
+    public Position(Position other) {
+        this.board = new BitBoard(other.board);
+        this.fourCorners = other.fourCorners;
+        this.player1Turn = other.player1Turn;
+        this.gameOver = other.gameOver;
+        this.winner = other.winner;
+    }
+
+    /**
+     * Empties the board and gives player 1 the move.
+     */
+    void reset() {
+        board.reset();
+        player1Turn = true;
+        gameOver = false;
+        winner = BitBoard.EMPTY;
+    }
+
+    /**
+     * Plays a coin for the side to move in place.
+     * Every successful call must be paired with unmakeMove(column) in LIFO
+     * order.
+     *
+     * @param column 1-based column
+     * @return true if the coin was placed
+     */
+    public boolean makeMove(int column) {
+        if (!canPlay(column)) {
+            return false;
+        }
+        int col = column - 1;
+        int row = board.getHeight(col);
+        board.set(col, row, getSideToMove());
+        player1Turn = !player1Turn;
+        updateResult(col, row);
+        return true;
+    }
+
+    /**
+     * Takes back a coin placed by makeMove(column).
+     * A move can only be made while the game is not over, so undoing it always
+     * returns the game to the in-progress state.
+     *
+     * @param column 1-based column passed to makeMove
+     */
+    public void unmakeMove(int column) {
+        int col = column - 1;
+        board.clear(col, board.getHeight(col) - 1);
+        player1Turn = !player1Turn;
+        gameOver = false;
+        winner = BitBoard.EMPTY;
+    }
+
+    /**
+     * Checks whether the side to move may play a column.
+     *
+     * @param column 1-based column
+     * @return true if the game is not over and the column has room
+     */
+    public boolean canPlay(int column) {
+        return !gameOver && column >= 1 && column <= board.getColumns() && !board.isColumnFull(column - 1);
+    }
+
+    /**
+     * Updates the game-over flags after a coin was placed.
+     *
+     * @param col 0-based column of the coin just placed
+     * @param row 0-based row of the coin just placed
+     */
+    void updateResult(int col, int row) {
+        winner = board.findWinnerThrough(col, row, fourCorners);
+        gameOver = winner != BitBoard.EMPTY || board.isFull();
+    }
+
+    /**
+     * Gets the Zobrist hash of the position: the coins on the board (including
+     * a pending lucky coin) and the side to move.
+     *
+     * @return position hash
+     */
+    public long getHash() {
+        return player1Turn ? board.getHash() : board.getHash() ^ PLAYER2_TO_MOVE_KEY;
+    }
+
+    /**
+     * Counts the squares still empty.
+     *
+     * @return empty squares
+     */
+    public int countEmptyCells() {
+        int empty = 0;
+        for (int col = 0; col < board.getColumns(); col++) {
+            empty += board.getRows() - board.getHeight(col);
+        }
+        return empty;
+    }
+
+    public BitBoard getBoard() {
+        return board;
+    }
+
+    public int getColumns() {
+        return board.getColumns();
+    }
+
+    public int getRows() {
+        return board.getRows();
+    }
+
+    public boolean isPlayer1Turn() {
+        return player1Turn;
+    }
+
+    void setPlayer1Turn(boolean player1Turn) {
+        this.player1Turn = player1Turn;
+    }
+
+    /**
+     * @return BitBoard.PLAYER1 or BitBoard.PLAYER2
+     */
+    public int getSideToMove() {
+        return player1Turn ? BitBoard.PLAYER1 : BitBoard.PLAYER2;
+    }
+
+    public boolean isGameOver() {
+        return gameOver;
+    }
+
+    void setGameOver(boolean gameOver) {
+        this.gameOver = gameOver;
+    }
+
+    /**
+     * @return BitBoard.PLAYER1 or BitBoard.PLAYER2 if that player has won,
+     *         otherwise BitBoard.EMPTY (also for a draw)
+     */
+    public int getWinner() {
+        return winner;
+    }
+
+    void setWinner(int winner) {
+        this.winner = winner;
+    }
+
+    public boolean isFourCorners() {
+        return fourCorners;
+    }
+
+    void setFourCorners(boolean fourCorners) {
+        this.fourCorners = fourCorners;
+    }
+}
@@ -0,0 +1,310 @@
+package com.connect4.view;
+
+import java.io.PrintStream;
+import java.util.Arrays;
+
+import com.connect4.player.Player;
+import com.connect4.settings.GameSettings;
+
+/**
+ * TextBoardRenderer.java - NEW CLASS
+ * Draws the text-mode board for TextView. The whole frame is built in one
+ * reusable StringBuilder and written to the stream in a single call,
+ * instead of a print per cell:
+ * - The border and separator rows and the column numbers are built once per
+ * board size
+ * - Each cell state's glyph, ANSI colours included, is built once per game
+ * settings (the coin colours decide how RED and YELLOW coins are shown)
+ * Diff mode (setDiffMode) goes further: after one full frame, later draws
+ * only move the cursor to the cells that changed and rewrite them, then
+ * clear the screen below the board. It expects the board at the top of the
+ * screen, so a full frame in diff mode clears the screen first, and it
+ * expects nothing else to have moved or overwritten the board since: call
+ * invalidate() after clearing the screen or printing above the board.
+ *
+ * @author Extended feature implementation
+ */
+public class TextBoardRenderer {
+
+    /** System property that turns diff mode on for TextView. */
+    public static final String DIFF_PROPERTY = "connect4.textDiff";
+
+    static final String RESET = "\u001B[0m";
+    static final String RED = "\u001B[31m";
+    static final String YELLOW = "\u001B[33m";
+    static final String CYAN = "\u001B[36m";
+    static final String BLUE = "\u001B[34m";
+    static final String GREEN = "\u001B[32m";
+    static final String BOLD = "\u001B[1m";
+    static final String PURPLE = "\u001B[35m";
+
+    private static final String CLEAR_SCREEN = "\033[H\033[2J";
+    private static final String CLEAR_BELOW = "\033[J";
+
+    // Glyph slots: the cell states, then an empty Four Corners corner
+    private static final int CORNER = Cell.CellState.values().length;
+    private static final byte UNKNOWN = -1;
+
+    private final PrintStream out;
+    private final StringBuilder frame = new StringBuilder(4096);
+    private boolean diffMode;
+
+    // Pieces of the frame for the current board size
+    private int columns;
+    private int rows;
+    private String topBorder;
+    private String separator;
+    private String bottomBorder;
+    private String columnNumbers;
+    private String[] rowLabels;
+
+    // Glyphs for the current settings and coin colours
+    private GameSettings glyphSettings;
+    private Player.CoinColor glyphColor1;
+    private Player.CoinColor glyphColor2;
+    private boolean glyphCorners;
+    private final String[] glyphs = new String[CORNER + 1];
+
+    // Glyph slot of each cell on screen, by col * rows + row, for diff mode
+    private byte[] shown = new byte[0];
+    private boolean screenValid;
+
+    /**
+     * Creates a renderer.
+     *
+     * @param out stream the board is written to
+     */
+    public TextBoardRenderer(PrintStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Turns diff mode on or off. The next draw is a full frame either way.
+     *
+     * @param diffMode true to repaint only the cells that changed
+     */
+    public void setDiffMode(boolean diffMode) {
+        this.diffMode = diffMode;
+        invalidate();
+    }
+
+    public boolean isDiffMode() {
+        return diffMode;
+    }
+
+    /**
+     * Forgets what is on screen, so the next draw is a full frame.
+     */
+    public void invalidate() {
+        screenValid = false;
+    }
+
+    /**
+     * Draws the board with one write to the stream.
+     *
+     * @param state the game to draw
+     */
+    public void draw(GameState state) {
+        out.append(diffMode && screenValid && fits(state) ? renderChanges(state) : renderFullFrame(state));
+        out.flush();
+    }
+
+    /**
+     * Builds the full board frame: a blank line, the board with row numbers,
+     * the column numbers and another blank line.
+     *
+     * @param state the game to draw
+     * @return the frame, valid until the next render call
+     */
+    public CharSequence render(GameState state) {
+        prepare(state);
+        frame.setLength(0);
+        appendFrame(state);
+        return frame;
+    }
+
+    private CharSequence renderFullFrame(GameState state) {
+        prepare(state);
+        frame.setLength(0);
+        if (diffMode) {
+            frame.append(CLEAR_SCREEN);
+        }
+        appendFrame(state);
+        screenValid = diffMode;
+        return frame;
+    }
+
+    private void appendFrame(GameState state) {
+        frame.append('\n').append(topBorder);
+        for (int row = rows - 1; row >= 0; row--) {
+            frame.append(rowLabels[row]);
+            for (int col = 0; col < columns; col++) {
+                int glyph = glyphSlot(state, col, row);
+                shown[col * rows + row] = (byte) glyph;
+                frame.append(' ').append(glyphs[glyph]).append(' ').append(BLUE).append('║').append(RESET);
+            }
+            frame.append('\n');
+            if (row > 0) {
+                frame.append(separator);
+            }
+        }
+        frame.append(bottomBorder).append(columnNumbers).append('\n');
+    }
+
+    /**
+     * Builds the escapes that rewrite the cells changed since the last draw,
+     * then leave the cursor on a cleared line below the board.
+     */
+    private CharSequence renderChanges(GameState state) {
+        prepare(state);
+        frame.setLength(0);
+        for (int col = 0; col < columns; col++) {
+            for (int row = 0; row < rows; row++) {
+                int glyph = glyphSlot(state, col, row);
+                if (shown[col * rows + row] != glyph) {
+                    shown[col * rows + row] = (byte) glyph;
+                    moveCursor(cellLine(row), cellColumn(col));
+                    frame.append(glyphs[glyph]);
+                }
+            }
+        }
+        moveCursor(2 * rows + 5, 1);
+        frame.append(CLEAR_BELOW);
+        return frame;
+    }
+
+    private void moveCursor(int line, int column) {
+        frame.append("\033[").append(line).append(';').append(column).append('H');
+    }
+
+    /**
+     * Screen line (1-based) of a board row: the frame starts with a blank
+     * line and the top border, then rows alternate with separators.
+     */
+    static int cellLine(int row, int rows) {
+        return 3 + 2 * (rows - 1 - row);
+    }
+
+    private int cellLine(int row) {
+        return cellLine(row, rows);
+    }
+
+    /**
+     * Screen column (1-based) of a cell's glyph: the row label and the left
+     * border take four characters, then each cell takes four.
+     */
+    static int cellColumn(int col) {
+        return 6 + 4 * col;
+    }
+
+    private boolean fits(GameState state) {
+        return state.getColumns() == columns && state.getRows() == rows
+                && glyphsValid(state.getSettings());
+    }
+
+    private int glyphSlot(GameState state, int col, int row) {
+        Cell.CellState cell = state.getCellState(col, row);
+        if (cell == Cell.CellState.EMPTY && glyphCorners && isCorner(col, row)) {
+            return CORNER;
+        }
+        return cell.ordinal();
+    }
+
+    private boolean isCorner(int col, int row) {
+        return (col == 0 || col == columns - 1) && (row == 0 || row == rows - 1);
+    }
+
+    private void prepare(GameState state) {
+        if (state.getColumns() != columns || state.getRows() != rows) {
+            buildBorders(state.getColumns(), state.getRows());
+            screenValid = false;
+        }
+        GameSettings settings = state.getSettings();
+        if (!glyphsValid(settings)) {
+            buildGlyphs(settings);
+            screenValid = false;
+        }
+    }
+
+    private void buildBorders(int columns, int rows) {
+        this.columns = columns;
+        this.rows = rows;
+        topBorder = borderRow("   ╔", '╦', "╗");
+        separator = "   " + borderRow("╠", '╬', "╣");
+        bottomBorder = borderRow("   ╚", '╩', "╝");
+
+        StringBuilder numbers = new StringBuilder("   ");
+        for (int i = 1; i <= columns; i++) {
+            numbers.append(String.format(" %2d", i));
+            if (i < columns) {
+                numbers.append(' ');
+            }
+        }
+        columnNumbers = numbers.append('\n').toString();
+
+        rowLabels = new String[rows];
+        for (int row = 0; row < rows; row++) {
+            rowLabels[row] = String.format("%2d ", row + 1) + BLUE + "║" + RESET;
+        }
+        shown = new byte[columns * rows];
+        Arrays.fill(shown, UNKNOWN);
+    }
+
+    private String borderRow(String left, char joint, String right) {
+        StringBuilder sb = new StringBuilder(BLUE).append(left);
+        for (int i = 0; i < columns; i++) {
+            sb.append("═══");
+            if (i < columns - 1) {
+                sb.append(joint);
+            }
+        }
+        return sb.append(right).append(RESET).append('\n').toString();
+    }
+
+    private boolean glyphsValid(GameSettings settings) {
+        return settings == glyphSettings
+                && settings.getPlayer1().getCoinColor() == glyphColor1
+                && settings.getPlayer2().getCoinColor() == glyphColor2
+                && settings.getDifficultyLevel().isFourCornersEnabled() == glyphCorners;
+    }
+
+    private void buildGlyphs(GameSettings settings) {
+        glyphSettings = settings;
+        glyphColor1 = settings.getPlayer1().getCoinColor();
+        glyphColor2 = settings.getPlayer2().getCoinColor();
+        glyphCorners = settings.getDifficultyLevel().isFourCornersEnabled();
+
+        for (Cell.CellState cell : Cell.CellState.values()) {
+            glyphs[cell.ordinal()] = switch (cell) {
+                case EMPTY -> ".";
+                case LUCKY -> CYAN + BOLD + "L" + RESET;
+                // A RED or YELLOW coin is drawn in the colour of its owner
+                case RED -> ownerColor(Player.CoinColor.RED) + BOLD + "R" + RESET;
+                case YELLOW -> ownerColor(Player.CoinColor.YELLOW) + BOLD + "Y" + RESET;
+                default -> colorCode(Player.CoinColor.valueOf(cell.name())) + BOLD + cell.name().charAt(0) + RESET;
+            };
+        }
+        glyphs[CORNER] = CYAN + "*" + RESET;
+    }
+
+    private String ownerColor(Player.CoinColor coin) {
+        return glyphColor1 == coin ? colorCode(glyphColor1) : colorCode(glyphColor2);
+    }
+
+    /**
+     * Gets the ANSI colour escape for a coin colour.
+     *
+     * @param coinColor the colour
+     * @return the escape, or RESET for colours the terminal palette lacks
+     */
+    static String colorCode(Player.CoinColor coinColor) {
+        return switch (coinColor) {
+            case RED -> RED;
+            case YELLOW -> YELLOW;
+            case BLUE -> BLUE;
+            case GREEN -> GREEN;
+            case PURPLE -> PURPLE;
+            default -> RESET;
+        };
+    }
+}
@@ -1,10 +1,23 @@
 package com.connect4.view;
 
 import java.util.Scanner;
-
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+
+import com.connect4.player.AIMoveService;
 import com.connect4.player.AIPlayer;
+import com.connect4.player.CancellationToken;
+import com.connect4.player.OpeningBook;
 import com.connect4.player.Player;
+import com.connect4.player.PositionAnalysis;
+import com.connect4.player.SearchMetrics;
 import com.connect4.settings.GameSettings;
+import com.connect4.settings.SaveIndex;
 import com.connect4.settings.SaveLoadManager;
 
 /**
@@ -14,10 +27,16 @@ import com.connect4.settings.SaveLoadManager;
  * - Game configuration menu (mode, difficulty, players)
  * - Save/Load game functionality
  * - Player statistics display
- * - AI opponent support
+ * - AI opponent support (searched on a snapshot by the shared AIMoveService)
  * - Variable board size support
  * - Lucky coin offer accept/reject handling
  * - Four corners win mode for square boards
+ * - AI search info after each computer move (D/DEBUG)
+ * - Move hints from a short position analysis (H/HINT)
+ * - Pondering (P/PONDER): the AI searches the human's replies while they
+ * type their move, and answers at once if it searched the one played
+ * - Board drawn in one write by TextBoardRenderer; with the system property
+ * connect4.textDiff=true only changed cells are redrawn
  * 
  * @author Created for multi-view support + Extended features
  */
@@ -27,21 +46,28 @@ public class TextView implements GameView {
     private final Scanner scanner;
     private boolean running;
     private AIPlayer aiPlayer;
+    private AIPlayer hintPlayer; // analyses positions for hints, created on first use
+    private boolean showSearchInfo;
+    private boolean pondering;
+    private CancellationToken ponderToken; // pondering in progress, or null
+    private final TextBoardRenderer renderer;
 
     private static final String RESET = "\u001B[0m";
     private static final String RED = "\u001B[31m";
-    private static final String YELLOW = "\u001B[33m";
     private static final String CYAN = "\u001B[36m";
     private static final String BLUE = "\u001B[34m";
     private static final String GREEN = "\u001B[32m";
     private static final String BOLD = "\u001B[1m";
-    private static final String PURPLE = "\u001B[35m";
+
+    private static final long HINT_MILLIS = 2000; // analysis time for a hint
 
     public TextView(GameState gameState) {
         this.state = gameState;
         this.scanner = new Scanner(System.in);
         this.running = true;
         this.aiPlayer = null;
+        this.renderer = new TextBoardRenderer(System.out);
+        renderer.setDiffMode(Boolean.getBoolean(TextBoardRenderer.DIFF_PROPERTY));
     }
 
     @Override
@@ -82,6 +108,9 @@ public class TextView implements GameView {
         System.out.println("  L/LOAD    - Load game");
         System.out.println("  T/STATS   - Show statistics");
         System.out.println("  G/GUI     - Switch to GUI mode");
+        System.out.println("  D/DEBUG   - Show/hide AI search info");
+        System.out.println("  H/HINT    - Suggest a move");
+        System.out.println("  P/PONDER  - Let the AI think on your time");
         System.out.println("  M/MENU    - Back to main menu");
         System.out.println("  Q/QUIT    - Exit game");
         System.out.println();
@@ -104,19 +133,13 @@ public class TextView implements GameView {
     }
 
     private String getColorCode(Player.CoinColor coinColor) {
-        return switch (coinColor) {
-            case RED -> RED;
-            case YELLOW -> YELLOW;
-            case BLUE -> BLUE;
-            case GREEN -> GREEN;
-            case PURPLE -> PURPLE;
-            default -> RESET;
-        };
+        return TextBoardRenderer.colorCode(coinColor);
     }
 
     private void clearScreen() {
         System.out.print("\033[H\033[2J");
         System.out.flush();
+        renderer.invalidate();
     }
 
     @Override
@@ -127,88 +150,7 @@ public class TextView implements GameView {
 
     @Override
     public void displayBoard() {
-        System.out.println();
-        int cols = state.getColumns();
-        int rows = state.getRows();
-        Cell[][] cells = state.getCells();
-        boolean isSquare = state.getSettings().getDifficultyLevel().isFourCornersEnabled();
-
-        System.out.print(BLUE + "   ╔");
-        for (int i = 0; i < cols; i++) {
-            System.out.print("═══");
-            if (i < cols - 1)
-                System.out.print("╦");
-        }
-        System.out.println("╗" + RESET);
-
-        for (int row = rows - 1; row >= 0; row--) {
-            System.out.printf("%2d ", row + 1); // Row number
-            System.out.print(BLUE + "║" + RESET);
-            for (int col = 0; col < cols; col++) {
-                Cell cell = cells[col][row];
-                String cellDisplay = getCellDisplay(cell, col, row, rows, cols, isSquare);
-                System.out.print(" " + cellDisplay + " " + BLUE + "║" + RESET);
-            }
-            System.out.println();
-
-            if (row > 0) {
-                System.out.print("   " + BLUE + "╠");
-                for (int i = 0; i < cols; i++) {
-                    System.out.print("═══");
-                    if (i < cols - 1)
-                        System.out.print("╬");
-                }
-                System.out.println("╣" + RESET);
-            }
-        }
-
-        System.out.print(BLUE + "   ╚");
-        for (int i = 0; i < cols; i++) {
-            System.out.print("═══");
-            if (i < cols - 1)
-                System.out.print("╩");
-        }
-        System.out.println("╝" + RESET);
-
-        System.out.print("   ");
-        for (int i = 1; i <= cols; i++) {
-            System.out.printf(" %2d", i);
-            if (i < cols)
-                System.out.print(" ");
-        }
-        System.out.println();
-        System.out.println();
-    }
-
-    private boolean isCorner(int col, int row, int rows, int cols) {
-        return (col == 0 && row == 0) ||
-                (col == 0 && row == rows - 1) ||
-                (col == cols - 1 && row == 0) ||
-                (col == cols - 1 && row == rows - 1);
-    }
-
-    private String getCellDisplay(Cell cell, int col, int row, int rows, int cols, boolean isSquare) {
-        GameSettings settings = state.getSettings();
-        boolean isCornerCell = isSquare && isCorner(col, row, rows, cols);
-
-        if (cell.isLucky()) {
-            return CYAN + BOLD + "L" + RESET;
-        } else if (cell.isRed()) {
-            String color = settings.getPlayer1().getCoinColor() == Player.CoinColor.RED
-                    ? getColorCode(settings.getPlayer1().getCoinColor())
-                    : getColorCode(settings.getPlayer2().getCoinColor());
-            return color + BOLD + "R" + RESET;
-        } else if (cell.isYellow()) {
-            String color = settings.getPlayer1().getCoinColor() == Player.CoinColor.YELLOW
-                    ? getColorCode(settings.getPlayer1().getCoinColor())
-                    : getColorCode(settings.getPlayer2().getCoinColor());
-            return color + BOLD + "Y" + RESET;
-        } else {
-            if (isCornerCell) {
-                return CYAN + "*" + RESET;
-            }
-            return ".";
-        }
+        renderer.draw(state);
     }
 
     private void displayStatus() {
@@ -281,6 +223,15 @@ public class TextView implements GameView {
                 case "M", "MENU" -> {
                     return -9;
                 }
+                case "D", "DEBUG" -> {
+                    return -10;
+                }
+                case "H", "HINT" -> {
+                    return -11;
+                }
+                case "P", "PONDER" -> {
+                    return -12;
+                }
             }
 
             if (state.isLuckyOfferPending()) {
@@ -339,14 +290,10 @@ public class TextView implements GameView {
                 return getPlayerInput();
             }
 
-            Cell[][] cells = state.getCells();
             int col = column - 1;
             int targetRow = row - 1;
 
-            int landingRow = 0;
-            while (landingRow < state.getRows() && !cells[col][landingRow].isAvailable()) {
-                landingRow++;
-            }
+            int landingRow = state.getBoard().getHeight(col);
 
             if (landingRow >= state.getRows()) {
                 displayError("Column " + column + " is full.");
@@ -383,23 +330,22 @@ public class TextView implements GameView {
     }
 
     private void handleLoad() {
-        String[] saves = SaveLoadManager.listSaves();
+        SaveIndex.Entry[] saves = SaveLoadManager.listSaveEntries();
         if (saves.length == 0) {
             displayError("No saved games found.");
             return;
         }
 
         System.out.println(BOLD + "\nAvailable saves:" + RESET);
-        String[] summaries = SaveLoadManager.getSaveSummaries();
         for (int i = 0; i < saves.length; i++) {
-            System.out.println("  " + (i + 1) + ". " + summaries[i]);
+            System.out.println("  " + (i + 1) + ". " + saves[i].getSummary());
         }
 
         System.out.print("\nEnter number to load (or 0 to cancel): ");
         try {
             int choice = Integer.parseInt(scanner.nextLine().trim());
             if (choice > 0 && choice <= saves.length) {
-                SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(saves[choice - 1]);
+                SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(saves[choice - 1].getFilename());
                 if (snapshot != null) {
                     state = SaveLoadManager.applySnapshot(snapshot);
                     setupAIIfNeeded();
@@ -441,10 +387,60 @@ public class TextView implements GameView {
             if (computer != null) {
                 aiPlayer = new AIPlayer(state.getSettings().getDifficultyLevel(),
                         computer.getId());
+                aiPlayer.setSearchThreads(Runtime.getRuntime().availableProcessors());
+                aiPlayer.setOpeningBook(OpeningBook.getDefault());
+                aiPlayer.setMetricsLog(SearchMetrics.getDefaultLog());
             }
         } else {
             aiPlayer = null;
         }
+        hintPlayer = null;
+        stopPondering();
+    }
+
+    /**
+     * Analyses the position for the player to move and suggests the best
+     * column, with every column's score. The analysis deepens for up to
+     * HINT_MILLIS and the deepest completed depth is shown.
+     */
+    private void showHint() {
+        if (state.getGameOver() || state.isLuckyOfferPending()) {
+            displayError("No move to suggest right now.");
+            return;
+        }
+        if (hintPlayer == null) {
+            hintPlayer = new AIPlayer(state.getSettings().getDifficultyLevel(), state.getCurrentPlayer().getId());
+        }
+        stopPondering(); // it would hold the AI thread for the whole hint time
+        try {
+            displayMessage("Analysing...");
+            AtomicReference<PositionAnalysis> latest = new AtomicReference<>();
+            CompletableFuture<PositionAnalysis> analysis = AIMoveService.getDefault().requestAnalysis(hintPlayer, state,
+                    AIPlayer.DEFAULT_ANALYSIS_DEPTH, new CancellationToken(), latest::set);
+            try {
+                analysis.get(HINT_MILLIS, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                analysis.cancel(false); // keep the deepest depth reported so far
+            } catch (InterruptedException e) {
+                analysis.cancel(false);
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | CancellationException e) {
+                displayError("Analysis failed: " + e.getMessage());
+                return;
+            }
+
+            PositionAnalysis result = latest.get();
+            if (result == null || result.getBest() == null) {
+                displayError("No move to suggest right now.");
+                return;
+            }
+            PositionAnalysis.ColumnScore best = result.getBest();
+            displayMessage("Hint: play column " + best.getColumn() + " (" + best.getVerdict() + ", depth "
+                    + result.getDepth() + ")");
+            System.out.println(CYAN + "  " + result + RESET);
+        } finally {
+            startPondering();
+        }
     }
 
     private void makeAIMove() {
@@ -460,15 +456,48 @@ public class TextView implements GameView {
                 displayMessage("Computer rejects the lucky coin.");
                 state.rejectLuckyOffer();
             }
+            startPondering();
             return;
         }
 
         displayMessage("Computer is thinking...");
-        int move = aiPlayer.getBestMove(state);
+        stopPondering();
+        int move;
+        try {
+            move = AIMoveService.getDefault().requestMove(aiPlayer, state).join();
+        } catch (CancellationException | CompletionException e) {
+            displayError("Computer could not move: " + e.getMessage());
+            return;
+        }
 
         if (move > 0) {
             state.move(move);
             displayMessage("Computer plays column " + move);
+            if (showSearchInfo && aiPlayer.getLastSearchMetrics() != null) {
+                System.out.println(CYAN + "  [AI] " + aiPlayer.getLastSearchMetrics() + RESET);
+            }
+            startPondering();
+        }
+    }
+
+    /**
+     * Lets the AI search the human's replies while they type, if pondering
+     * is on and a human is to move.
+     */
+    private void startPondering() {
+        stopPondering();
+        if (!pondering || aiPlayer == null || state.getGameOver() || state.isLuckyOfferPending()
+                || state.getCurrentPlayer().isComputer()) {
+            return;
+        }
+        ponderToken = new CancellationToken();
+        AIMoveService.getDefault().requestPonder(aiPlayer, state, ponderToken);
+    }
+
+    private void stopPondering() {
+        if (ponderToken != null) {
+            ponderToken.cancel();
+            ponderToken = null;
         }
     }
 
@@ -527,10 +556,26 @@ public class TextView implements GameView {
                         displayError("No lucky coin to accept.");
                     }
                     break;
+                case -12:
+                    pondering = !pondering;
+                    if (!pondering) {
+                        stopPondering();
+                    }
+                    displayMessage("AI thinking on your time " + (pondering ? "on." : "off."));
+                    break;
+                case -11:
+                    showHint();
+                    break;
+                case -10:
+                    showSearchInfo = !showSearchInfo;
+                    displayMessage("AI search info " + (showSearchInfo ? "on." : "off."));
+                    break;
                 case -9:
+                    stopPondering();
                     promptPlayAgain();
                     break;
                 case -8:
+                    stopPondering();
                     handleSwitchToGUI();
                     break;
                 case -5:
@@ -543,10 +588,12 @@ public class TextView implements GameView {
                     handleSave();
                     break;
                 case -2:
+                    stopPondering();
                     displayMessage("Thanks for playing Connect Four!");
                     running = false;
                     break;
                 case -1:
+                    stopPondering();
                     state.restart();
                     clearScreen();
                     printWelcome();
@@ -554,6 +601,7 @@ public class TextView implements GameView {
                     displayMessage("Game restarted!");
                     break;
                 case 0:
+                    stopPondering();
                     if (state.undo())
                         displayMessage("Move undone.");
                     break;
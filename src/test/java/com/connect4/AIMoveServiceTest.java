@@ -0,0 +1,150 @@
+package com.connect4;
+
+import com.connect4.player.AIMoveService;
+import com.connect4.player.AIPlayer;
+import com.connect4.player.CancellationToken;
+import com.connect4.player.Player;
+import com.connect4.player.PositionAnalysis;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AIMoveServiceTest.java
+ * 
+ * Tests for running AI searches off the calling thread:
+ * - Searches see a snapshot of the game, not later changes
+ * - Cancelling a move request or its token stops the search
+ * - Analyses report each depth until cancelled
+ * - Pondering stops when cancelled and frees the thread for the move
+ */
+public class AIMoveServiceTest {
+
+    private GameSettings settings;
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        settings = new GameSettings(p1, p2);
+        state = new GameState(settings);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    @Test
+    public void testMoveServiceSearchesSnapshot() throws Exception {
+        play(4, 3, 4);
+        AIPlayer direct = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+        direct.setSeed(3);
+        int expected = direct.getBestMove(state);
+
+        try (AIMoveService service = new AIMoveService()) {
+            AIPlayer async = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+            async.setSeed(3);
+            CompletableFuture<Integer> request = service.requestMove(async, state);
+            // Changing the live game must not affect the search
+            state.move(1);
+            assertEquals(expected, (int) request.get(10, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    public void testMoveServiceCancelsSearch() throws Exception {
+        settings.setDifficultyLevel(DifficultyLevel.EXPERT);
+        state = new GameState(settings);
+        play(11);
+        try (AIMoveService service = new AIMoveService()) {
+            AIPlayer slow = new AIPlayer(DifficultyLevel.EXPERT, 2);
+            slow.setEndgameThreshold(0);
+            CancellationToken moveToken = new CancellationToken();
+            CompletableFuture<Integer> request = service.requestMove(slow, state, moveToken);
+            Thread.sleep(50);
+            request.cancel(false);
+            assertTrue(request.isCancelled());
+            assertTrue(moveToken.isCancelled(), "Cancelling the future should reach the search");
+
+            // An analysis this deep has no time limit, so only the token can end it
+            CancellationToken analysisToken = new CancellationToken();
+            CompletableFuture<PositionAnalysis> analysis = service.requestAnalysis(slow, state, 100,
+                    analysisToken, null);
+            Thread.sleep(50);
+            analysisToken.cancel();
+
+            // The search thread is free again once both searches have stopped
+            AIPlayer quick = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+            int move = service.requestMove(quick, state).get(30, TimeUnit.SECONDS);
+            assertTrue(state.isValidMove(move));
+            assertTrue(analysis.isCancelled(), "A cancelled analysis should end cancelled, not with a result");
+
+            // A token cancelled before the search starts cancels the request
+            CancellationToken token = new CancellationToken();
+            token.cancel();
+            CompletableFuture<Integer> cancelled = service.requestMove(quick, state, token);
+            assertThrows(CancellationException.class, cancelled::join);
+        }
+    }
+
+    @Test
+    public void testMoveServiceAnalysisReportsUntilCancelled() throws Exception {
+        settings.setDifficultyLevel(DifficultyLevel.EXPERT);
+        state = new GameState(settings);
+        play(11);
+        try (AIMoveService service = new AIMoveService()) {
+            AIPlayer ai = new AIPlayer(DifficultyLevel.EXPERT, 1);
+            CountDownLatch firstDepth = new CountDownLatch(1);
+            AtomicReference<PositionAnalysis> latest = new AtomicReference<>();
+            CompletableFuture<PositionAnalysis> request = service.requestAnalysis(ai, state,
+                    AIPlayer.DEFAULT_ANALYSIS_DEPTH, new CancellationToken(), analysis -> {
+                        latest.set(analysis);
+                        firstDepth.countDown();
+                    });
+
+            assertTrue(firstDepth.await(10, TimeUnit.SECONDS), "Depth 1 should be reported");
+            request.cancel(false);
+            assertTrue(request.isCancelled());
+            assertEquals(state.getColumns(), latest.get().getColumns().size(),
+                    "Reported depths should score every column");
+
+            // The thread is free again for moves
+            AIPlayer quick = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+            int move = service.requestMove(quick, state).get(10, TimeUnit.SECONDS);
+            assertTrue(state.isValidMove(move));
+        }
+    }
+
+    @Test
+    public void testMoveServicePonderStopsWhenCancelled() throws Exception {
+        play(4);
+        try (AIMoveService service = new AIMoveService()) {
+            AIPlayer ai = new AIPlayer(DifficultyLevel.EXPERT, 1);
+            CancellationToken token = new CancellationToken();
+            CompletableFuture<Void> ponder = service.requestPonder(ai, state, token);
+            token.cancel();
+            assertThrows(CancellationException.class, () -> ponder.get(10, TimeUnit.SECONDS));
+
+            // The move request waits for pondering to stop, then searches
+            play(3);
+            int move = service.requestMove(ai, state).get(10, TimeUnit.SECONDS);
+            assertTrue(state.isValidMove(move));
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.connect4;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.CancellationToken;
+import com.connect4.player.Player;
+import com.connect4.player.SearchMetrics;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AIPlayerTest.java
+ * 
+ * Tests for the AI search:
+ * - Taking and blocking immediate wins, with and without the table
+ * - Iterative deepening within a time budget
+ * - Parallel root search matching the sequential search
+ * - Evaluation leaving the game untouched
+ * - Pondering: a searched reply answered from its result
+ * The search's parts have their own tests (TranspositionTableTest,
+ * MoveOrderingTest, IncrementalEvaluatorTest, OpeningBookTest,
+ * EndgameSolverTest, SearchMetricsTest, PositionAnalysisTest,
+ * AIMoveServiceTest).
+ */
+public class AIPlayerTest {
+
+    private GameSettings settings;
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        settings = new GameSettings(p1, p2);
+        state = new GameState(settings);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    // ==================== SEARCH TESTS ====================
+
+    @Test
+    public void testTakesImmediateWin() {
+        // Player 1 has three in the bottom row, columns 2-4, open only at 1
+        play(2, 5, 3, 5, 4, 7);
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+        assertEquals(1, ai.getBestMove(state), "AI should complete the row");
+    }
+
+    @Test
+    public void testBlocksImmediateWin() {
+        // Player 1 threatens column 4 vertically; player 2 to move
+        play(4, 1, 4, 2, 4);
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+        assertEquals(4, ai.getBestMove(state), "AI should block the vertical threat");
+    }
+
+    @Test
+    public void testSameMoveWithoutTranspositionTable() {
+        play(2, 5, 3, 5, 4, 7);
+        AIPlayer withTable = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+        AIPlayer withoutTable = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1, 0);
+        assertNull(withoutTable.getTranspositionTable(), "Capacity 0 should disable the table");
+
+        assertEquals(1, withTable.getBestMove(state), "Search with the table should find the win");
+        assertEquals(1, withoutTable.getBestMove(state), "Search without the table should find the win");
+    }
+
+    // ==================== ITERATIVE DEEPENING TESTS ====================
+
+    @Test
+    public void testIterativeDeepeningRespectsBudget() {
+        Player human = new Player(1, "Human", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        GameSettings expert = new GameSettings(DifficultyLevel.EXPERT, human, true);
+        GameState expertState = new GameState(expert);
+        expertState.move(11);
+        if (expertState.isLuckyOfferPending()) {
+            expertState.rejectLuckyOffer();
+        }
+
+        AIPlayer ai = new AIPlayer(DifficultyLevel.EXPERT, 2);
+        long start = System.currentTimeMillis();
+        int move = ai.getBestMove(expertState, 300);
+        long elapsed = System.currentTimeMillis() - start;
+
+        assertTrue(expertState.isValidMove(move), "Move should be legal");
+        // Only the budget can stop the search this far from the end of the game
+        int emptyCells = expertState.getPosition().countEmptyCells();
+        assertTrue(ai.getLastCompletedDepth() >= 1, "At least one iteration should complete");
+        assertTrue(ai.getLastCompletedDepth() < emptyCells, "The budget should stop the deepening");
+        assertTrue(elapsed < 30_000, "Search should not run unbounded, took " + elapsed + "ms");
+        assertEquals(move, ai.getPrincipalVariation()[0], "Principal variation should start with the move");
+    }
+
+    @Test
+    public void testIterativeDeepeningFindsWin() {
+        play(2, 5, 3, 5, 4, 7);
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+        assertEquals(1, ai.getBestMove(state, 200), "Timed search should complete the row");
+    }
+
+    // ==================== PARALLEL SEARCH TESTS ====================
+
+    @Test
+    public void testParallelSearchMatchesSequential() {
+        Random random = new Random(7);
+        for (int position = 0; position < 6; position++) {
+            state.restart();
+            for (int i = 0; i < 8 && !state.getGameOver(); i++) {
+                int column = random.nextInt(state.getColumns()) + 1;
+                if (state.isValidMove(column)) {
+                    play(column);
+                }
+            }
+            if (state.getGameOver()) {
+                continue;
+            }
+
+            int aiNumber = state.isPlayer1Turn() ? 1 : 2;
+            AIPlayer sequential = new AIPlayer(DifficultyLevel.INTERMEDIATE, aiNumber);
+            AIPlayer parallel = new AIPlayer(DifficultyLevel.INTERMEDIATE, aiNumber);
+            parallel.setSearchThreads(4);
+            sequential.setSeed(position);
+            parallel.setSeed(position);
+
+            assertEquals(sequential.getBestMove(state), parallel.getBestMove(state),
+                    "Parallel search should pick the same move at a fixed depth");
+        }
+    }
+
+    // ==================== EVALUATION TESTS ====================
+
+    @Test
+    public void testEvaluationLeavesGameUnchanged() {
+        // Player 1 to move with a winning threat on the bottom row
+        settings.setMaxLuckyCoins(0);
+        state = new GameState(settings, 5);
+        play(1, 1, 2, 2, 3, 3);
+        long hash = state.getZobristHash();
+        String stats1 = settings.getPlayer1().getStatsString();
+        String stats2 = settings.getPlayer2().getStatsString();
+
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+        ai.evaluatePosition(state);
+        assertEquals(hash, state.getZobristHash(), "Evaluation should not move on the game");
+        assertFalse(state.getGameOver());
+        assertEquals(0, settings.getPlayer1().getGamesPlayed(), "Probed wins should not reach the stats");
+        assertEquals(stats1, settings.getPlayer1().getStatsString());
+        assertEquals(stats2, settings.getPlayer2().getStatsString());
+    }
+
+    // ==================== PONDERING TESTS ====================
+
+    @Test
+    public void testPonderedReplyIsAnsweredFromPondering() {
+        play(4, 4, 3);
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+        ai.setEndgameThreshold(0);
+        play(ai.getBestMove(state));
+        SearchMetrics ownMove = ai.getLastSearchMetrics();
+        int[] ownLine = ai.getPrincipalVariation();
+
+        ai.ponder(state, CancellationToken.NONE);
+        assertSame(ownMove, ai.getLastSearchMetrics(), "Pondering should not replace the last move's metrics");
+        assertArrayEquals(ownLine, ai.getPrincipalVariation());
+
+        play(5);
+        int move = ai.getBestMove(state);
+        SearchMetrics answered = ai.getLastSearchMetrics();
+        assertTrue(state.isValidMove(move));
+        assertEquals(SearchMetrics.Source.PONDER, answered.getSource());
+        assertEquals(DifficultyLevel.INTERMEDIATE.getAiSearchDepth(), answered.getDepth());
+        assertTrue(answered.getNodes() > 0, "The pondering search's nodes should be reported");
+        assertEquals(move, ai.getPrincipalVariation()[0]);
+
+        // The other replies' results are dropped once used
+        play(move, 6);
+        ai.getBestMove(state);
+        assertEquals(SearchMetrics.Source.SEARCH, ai.getLastSearchMetrics().getSource());
+    }
+}
@@ -0,0 +1,170 @@
+package com.connect4;
+
+import com.connect4.view.BitBoard;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BitBoardTest.java
+ * 
+ * Tests for the packed-long board engine:
+ * - Square ownership and column heights
+ * - Line detection in every direction, including on multi-word boards
+ * - Lines must not wrap between columns
+ * - Longer win lengths (connect-5 and connect-6)
+ * - Four corners square detection, checked against a corner-by-corner scan
+ */
+public class BitBoardTest {
+
+    @Test
+    public void testSetGetAndHeights() {
+        BitBoard board = new BitBoard(7, 6);
+        board.set(3, 0, BitBoard.PLAYER1);
+        board.set(3, 1, BitBoard.PLAYER2);
+        board.set(3, 2, BitBoard.LUCKY);
+
+        assertEquals(BitBoard.PLAYER1, board.get(3, 0));
+        assertEquals(BitBoard.PLAYER2, board.get(3, 1));
+        assertEquals(BitBoard.LUCKY, board.get(3, 2));
+        assertEquals(3, board.getHeight(3), "Height should follow the top coin");
+
+        board.clear(3, 2);
+        assertEquals(2, board.getHeight(3));
+        assertEquals(BitBoard.EMPTY, board.get(3, 2));
+    }
+
+    @Test
+    public void testLinesOnExpertBoard() {
+        // 21 columns x 19 bits spans several longs
+        BitBoard board = new BitBoard(21, 18);
+        for (int i = 0; i < 4; i++) {
+            board.set(17 + i, 15 - i, BitBoard.PLAYER2);
+        }
+        assertTrue(board.hasFourInARow(BitBoard.PLAYER2), "Diagonal \\ across words should be found");
+        assertFalse(board.hasFourInARow(BitBoard.PLAYER1));
+
+        board = new BitBoard(21, 18);
+        for (int i = 0; i < 4; i++) {
+            board.set(10, 14 + i, BitBoard.PLAYER1);
+        }
+        assertTrue(board.hasFourInARow(BitBoard.PLAYER1), "Vertical line at the top should be found");
+    }
+
+    @Test
+    public void testVerticalRunDoesNotWrapColumns() {
+        BitBoard board = new BitBoard(7, 6);
+        // Top two of column 0 and bottom two of column 1 are adjacent bits
+        // apart from the sentinel
+        board.set(0, 4, BitBoard.PLAYER1);
+        board.set(0, 5, BitBoard.PLAYER1);
+        board.set(1, 0, BitBoard.PLAYER1);
+        board.set(1, 1, BitBoard.PLAYER1);
+        assertFalse(board.hasFourInARow(BitBoard.PLAYER1));
+    }
+
+    @Test
+    public void testLongerWinLengths() {
+        BitBoard board = new BitBoard(21, 18, 5);
+        assertEquals(5, board.getWinLength());
+        for (int i = 0; i < 4; i++) {
+            board.set(8 + i, 0, BitBoard.PLAYER1);
+        }
+        assertTrue(board.hasFourInARow(BitBoard.PLAYER1));
+        assertFalse(board.hasWinningLine(BitBoard.PLAYER1), "Four should not win connect-5");
+        board.set(12, 0, BitBoard.PLAYER1);
+        assertTrue(board.hasWinningLine(BitBoard.PLAYER1));
+        assertTrue(board.hasLineThrough(BitBoard.PLAYER1, 10, 0));
+
+        // Connect-6 on a / diagonal across words, with a lucky coin in it
+        board = new BitBoard(21, 18, 6);
+        for (int i = 0; i < 6; i++) {
+            board.set(14 + i, 11 + i, i == 3 ? BitBoard.LUCKY : BitBoard.PLAYER2);
+        }
+        assertTrue(board.hasWinningLine(BitBoard.PLAYER2));
+        assertFalse(board.hasLineOf(BitBoard.PLAYER2, 7));
+        board.clear(19, 16);
+        assertFalse(board.hasWinningLine(BitBoard.PLAYER2));
+
+        // A run of five split over two columns must not count
+        board = new BitBoard(7, 6, 5);
+        for (int row = 3; row < 6; row++) {
+            board.set(0, row, BitBoard.PLAYER1);
+        }
+        board.set(1, 0, BitBoard.PLAYER1);
+        board.set(1, 1, BitBoard.PLAYER1);
+        assertFalse(board.hasWinningLine(BitBoard.PLAYER1));
+
+        assertThrows(IllegalArgumentException.class, () -> new BitBoard(7, 6, 1));
+    }
+
+    @Test
+    public void testLuckyCoinCountsForBothPlayers() {
+        BitBoard board = new BitBoard(7, 6);
+        board.set(0, 0, BitBoard.PLAYER1);
+        board.set(1, 0, BitBoard.PLAYER1);
+        board.set(2, 0, BitBoard.LUCKY);
+        board.set(3, 0, BitBoard.PLAYER1);
+        assertTrue(board.hasFourInARow(BitBoard.PLAYER1));
+    }
+
+    @Test
+    public void testSquareDetectionMatchesCornerScan() {
+        Random random = new Random(5);
+        // 70 columns puts each row in two words
+        int[][] sizes = { { 7, 7 }, { 18, 18 }, { 21, 18 }, { 70, 5 } };
+        for (int[] size : sizes) {
+            for (int trial = 0; trial < 50; trial++) {
+                BitBoard board = new BitBoard(size[0], size[1]);
+                int coins = random.nextInt(size[0] * size[1] / 4 + 1);
+                for (int i = 0; i < coins; i++) {
+                    int owner = random.nextInt(20) == 0 ? BitBoard.LUCKY : 1 + random.nextInt(2);
+                    board.set(random.nextInt(size[0]), random.nextInt(size[1]), owner);
+                }
+
+                boolean[] any = new boolean[3];
+                for (int player = BitBoard.PLAYER1; player <= BitBoard.PLAYER2; player++) {
+                    for (int col = 0; col < size[0]; col++) {
+                        for (int row = 0; row < size[1]; row++) {
+                            boolean expected = hasSquareByCorners(board, player, col, row);
+                            assertEquals(expected, board.hasSquareThrough(player, col, row),
+                                    "Square through " + col + "," + row + " on " + size[0] + "x" + size[1]);
+                            any[player] |= expected && board.owns(player, col, row);
+                        }
+                    }
+                }
+                int winner = board.findSquareWinner();
+                assertEquals(any[1] || any[2], winner != BitBoard.EMPTY);
+                if (winner != BitBoard.EMPTY) {
+                    assertTrue(any[winner]);
+                }
+            }
+        }
+    }
+
+    private static boolean hasSquareByCorners(BitBoard board, int player, int col, int row) {
+        for (int c = 0; c < board.getColumns(); c++) {
+            for (int r = 0; r < board.getRows(); r++) {
+                if (c != col && Math.abs(c - col) == Math.abs(r - row) && board.owns(player, c, r)
+                        && board.owns(player, c, row) && board.owns(player, col, r)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testSquareWinner() {
+        BitBoard board = new BitBoard(7, 7);
+        board.set(1, 1, BitBoard.PLAYER2);
+        board.set(4, 1, BitBoard.PLAYER2);
+        board.set(1, 4, BitBoard.PLAYER2);
+        assertEquals(BitBoard.EMPTY, board.findSquareWinner());
+
+        board.set(4, 4, BitBoard.PLAYER2);
+        assertEquals(BitBoard.PLAYER2, board.findSquareWinner());
+    }
+}
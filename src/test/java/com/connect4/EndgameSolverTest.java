@@ -0,0 +1,164 @@
+package com.connect4;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.EndgameSolver;
+import com.connect4.player.Player;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * EndgameSolverTest.java
+ * 
+ * Tests for the exact endgame solver:
+ * - Scores against a plain exhaustive search
+ * - Proven distances played out move by move
+ * - Immediate wins found without a search
+ * - The AI switching to the solver below its threshold
+ */
+public class EndgameSolverTest {
+
+    private GameSettings settings;
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        settings = new GameSettings(p1, p2);
+        state = new GameState(settings);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    /**
+     * Plays random moves that do not end the game until only the given
+     * number of squares is empty.
+     */
+    private boolean fillRandomly(int emptySquares, long seed) {
+        settings.setMaxLuckyCoins(0);
+        state.restart();
+        Random random = new Random(seed);
+        int coins = state.getColumns() * state.getRows() - emptySquares;
+        for (int tries = 0; coins > 0 && tries < 10000; tries++) {
+            GameState copy = state.deepCopy();
+            int column = 1 + random.nextInt(state.getColumns());
+            if (copy.makeMove(column) && !copy.getGameOver()) {
+                play(column);
+                coins--;
+            }
+        }
+        return coins == 0;
+    }
+
+    /**
+     * Exact score by plain minimax, scored as in EndgameSolver.
+     */
+    private int exhaustiveScore(GameState position, int coins) {
+        int squares = position.getColumns() * position.getRows();
+        int best = Integer.MIN_VALUE;
+        for (int column = 1; column <= position.getColumns(); column++) {
+            if (!position.makeMove(column)) {
+                continue;
+            }
+            int score;
+            if (position.getPlayer1Wins() || position.getPlayer2Wins()) {
+                score = squares - coins; // the mover won with coin number coins + 1
+            } else if (position.getGameOver()) {
+                score = 0;
+            } else {
+                score = -exhaustiveScore(position, coins + 1);
+            }
+            position.unmakeMove(column);
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    @Test
+    public void testEndgameSolverMatchesExhaustiveSearch() {
+        int squares = state.getColumns() * state.getRows();
+        for (long seed = 0; seed < 20; seed++) {
+            if (!fillRandomly(10, seed)) {
+                continue;
+            }
+            EndgameSolver.Result result = new EndgameSolver(1 << 12, Long.MAX_VALUE).solve(state);
+            int expected = exhaustiveScore(state.deepCopy(), squares - 10);
+            assertEquals(expected, result.getScore(), "Solver score should be exact for seed " + seed);
+            assertEquals(Integer.signum(expected), result.getOutcome(), "Outcome should match the score");
+
+            GameState after = state.deepCopy();
+            after.makeMove(result.getBestMove());
+            if (!after.getGameOver()) {
+                assertEquals(expected, -exhaustiveScore(after, squares - 9),
+                        "Solver move should keep the best result for seed " + seed);
+            }
+        }
+    }
+
+    @Test
+    public void testEndgameSolverDistanceIsPlayedOut() {
+        EndgameSolver solver = new EndgameSolver(1 << 12, Long.MAX_VALUE);
+        for (long seed = 0; seed < 10; seed++) {
+            if (!fillRandomly(12, seed)) {
+                continue;
+            }
+            EndgameSolver.Result result = solver.solve(state);
+            boolean player1Moves = state.isPlayer1Turn();
+
+            // Both sides playing the solver's moves reach the proven result
+            for (int ply = 0; ply < result.getDistance(); ply++) {
+                assertFalse(state.getGameOver(), "Game should last " + result.getDistance() + " plies");
+                state.makeMove(solver.solve(state).getBestMove());
+            }
+            assertTrue(state.getGameOver(), "Game should be over after " + result.getDistance() + " plies");
+            boolean moverWon = player1Moves ? state.getPlayer1Wins() : state.getPlayer2Wins();
+            boolean moverLost = player1Moves ? state.getPlayer2Wins() : state.getPlayer1Wins();
+            assertEquals(result.getOutcome() == EndgameSolver.WIN, moverWon, "Winner should match for seed " + seed);
+            assertEquals(result.getOutcome() == EndgameSolver.LOSS, moverLost, "Loser should match for seed " + seed);
+        }
+    }
+
+    @Test
+    public void testEndgameSolverTakesImmediateWin() {
+        settings.setMaxLuckyCoins(0);
+        play(2, 5, 3, 5, 4, 7);
+        EndgameSolver.Result result = new EndgameSolver(1 << 12, 1000).solve(state);
+        assertNotNull(result, "An immediate win needs no search");
+        assertEquals(EndgameSolver.WIN, result.getOutcome());
+        assertEquals(1, result.getDistance());
+        assertEquals(1, result.getBestMove(), "Solver should complete the row");
+    }
+
+    @Test
+    public void testAIUsesEndgameSolverBelowThreshold() {
+        assertTrue(fillRandomly(12, 7));
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, state.isPlayer1Turn() ? 1 : 2);
+        ai.setEndgameThreshold(12);
+        int move = ai.getBestMove(state);
+        EndgameSolver.Result result = ai.getLastEndgameResult();
+        assertNotNull(result, "AI should solve positions at the threshold");
+        assertEquals(result.getBestMove(), move);
+
+        ai.setEndgameThreshold(11);
+        ai.getBestMove(state);
+        assertNull(ai.getLastEndgameResult(), "AI should search positions above the threshold");
+
+        ai.setEndgameThreshold(0);
+        ai.getBestMove(state);
+        assertNull(ai.getLastEndgameResult(), "Threshold 0 should turn the solver off");
+    }
+}
@@ -1,9 +1,16 @@
 package com.connect4;
 
+import com.connect4.view.Cell;
 import com.connect4.view.GameState;
+import com.connect4.view.MoveLog;
+import com.connect4.view.Position;
+import com.connect4.view.BitBoard;
 import com.connect4.settings.GameSettings;
 import com.connect4.settings.DifficultyLevel;
 import com.connect4.player.Player;
+
+import java.util.Arrays;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
@@ -16,6 +23,11 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Undo with lucky coins
  * - State consistency after undo
  * - Deep copy functionality (for AI)
+ * - In-place make/unmake used by the AI search
+ * - The Position a game wraps, and copies of it played on their own
+ * - Zobrist position hashing
+ * - Cell state accessor and the Cell view
+ * - Move log encoding, copying and views
  */
 public class GameStateTest {
 
@@ -169,5 +181,224 @@ public class GameStateTest {
         // Verify copy is unchanged
         assertTrue(copy.getCells()[3][0].isAvailable(), "Copy state should not have move 4");
     }
-}
 
+    // ==================== MAKE / UNMAKE TESTS ====================
+
+    @Test
+    public void testMakeUnmakeRestoresPosition() {
+        GameState search = state.deepCopy();
+
+        // Player 1 builds three in the bottom row, then the winning move
+        search.makeMove(1);
+        search.makeMove(1);
+        search.makeMove(2);
+        search.makeMove(2);
+        search.makeMove(3);
+        search.makeMove(3);
+        assertTrue(search.makeMove(4), "Move should be played");
+        assertTrue(search.getGameOver(), "Game should be over after the winning move");
+        assertTrue(search.getPlayer1Wins(), "Player 1 should win");
+        assertFalse(search.makeMove(5), "No moves after the game is over");
+
+        search.unmakeMove(4);
+        assertFalse(search.getGameOver(), "Unmake should reopen the game");
+        assertFalse(search.getPlayer1Wins(), "Unmake should clear the win");
+        assertTrue(search.getCells()[3][0].isAvailable(), "Winning coin should be removed");
+        assertTrue(search.isPlayer1Turn(), "Turn should go back to Player 1");
+
+        search.unmakeMove(3);
+        search.unmakeMove(3);
+        search.unmakeMove(2);
+        search.unmakeMove(2);
+        search.unmakeMove(1);
+        search.unmakeMove(1);
+        for (int col = 0; col < search.getColumns(); col++) {
+            assertTrue(search.getCells()[col][0].isAvailable(), "Board should be empty again");
+        }
+        assertTrue(search.getMoves().isEmpty(), "Search moves should not enter the history");
+    }
+
+    @Test
+    public void testPositionFollowsGameAndCopiesAreIndependent() {
+        state.move(4);
+        if (state.isLuckyOfferPending()) {
+            state.rejectLuckyOffer();
+        }
+        Position live = state.getPosition();
+        assertSame(live, state.getPosition(), "The game should wrap one position");
+        assertFalse(live.isPlayer1Turn());
+        assertEquals(state.getZobristHash(), live.getHash());
+        assertEquals(state.getColumns() * state.getRows() - 1, live.countEmptyCells());
+
+        // On a copy, player 1 stacks column 4 and wins
+        Position search = new Position(live);
+        search.makeMove(1);
+        search.makeMove(4);
+        search.makeMove(2);
+        search.makeMove(4);
+        search.makeMove(3);
+        long before = search.getHash();
+        assertTrue(search.makeMove(4), "Move should be played");
+        assertTrue(search.isGameOver());
+        assertEquals(BitBoard.PLAYER1, search.getWinner(), "Player 1 should win on the copy");
+        assertFalse(search.canPlay(7), "No moves after the game is over");
+        search.unmakeMove(4);
+        assertFalse(search.isGameOver(), "Unmake should reopen the game");
+        assertEquals(before, search.getHash(), "Unmake should restore the hash");
+
+        assertFalse(state.getGameOver(), "The game should not see moves played on a copy");
+        assertEquals(BitBoard.EMPTY, state.getBoard().get(0, 0));
+        assertEquals(state.getZobristHash(), live.getHash());
+    }
+
+    @Test
+    public void testMakeMoveOnLiveGameRecordsNoStats() {
+        // Player 1 wins with makeMove on the game itself, not a copy
+        state.makeMove(1);
+        state.makeMove(1);
+        state.makeMove(2);
+        state.makeMove(2);
+        state.makeMove(3);
+        state.makeMove(3);
+        assertTrue(state.makeMove(4), "Move should be played");
+        assertTrue(state.getGameOver(), "Game should be over after the winning move");
+        state.unmakeMove(4);
+
+        assertEquals(0, settings.getPlayer1().getGamesPlayed(), "Search moves should not be counted");
+        assertEquals(0, settings.getPlayer2().getGamesPlayed(), "Search moves should not be counted");
+    }
+
+    // ==================== ZOBRIST HASH TESTS ====================
+
+    @Test
+    public void testHashRestoredByUndo() {
+        long empty = state.getZobristHash();
+        state.move(4);
+        if (state.isLuckyOfferPending()) {
+            state.rejectLuckyOffer();
+        }
+        assertNotEquals(empty, state.getZobristHash(), "Hash should change after a move");
+        state.undo();
+        assertEquals(empty, state.getZobristHash(), "Undo should restore the hash");
+    }
+
+    @Test
+    public void testHashIndependentOfMoveOrder() {
+        GameState a = state.deepCopy();
+        GameState b = state.deepCopy();
+        a.makeMove(1);
+        a.makeMove(2);
+        a.makeMove(3);
+        b.makeMove(3);
+        b.makeMove(2);
+        b.makeMove(1);
+        assertEquals(a.getZobristHash(), b.getZobristHash(), "Transposed move orders should hash equally");
+
+        a.makeMove(5);
+        b.makeMove(6);
+        assertNotEquals(a.getZobristHash(), b.getZobristHash(), "Different positions should hash differently");
+    }
+
+    @Test
+    public void testHashTracksLuckyOffer() {
+        // No random offer, so the only lucky coin is the one placed below
+        settings.setMaxLuckyCoins(0);
+        state = new GameState(settings, 7);
+        state.move(1);
+        long before = state.getZobristHash();
+
+        // Mirror what tryGenerateLuckyOffer does, then accept and reject
+        state.getCells()[2][0].setLucky();
+        state.setLuckyOfferState(true, 2, 0);
+        long offered = state.getZobristHash();
+        assertNotEquals(before, offered, "A pending lucky coin should change the hash");
+
+        state.rejectLuckyOffer();
+        assertEquals(before, state.getZobristHash(), "Reject should restore the hash");
+
+        state.getCells()[2][0].setLucky();
+        state.setLuckyOfferState(true, 2, 0);
+        state.acceptLuckyOffer();
+        assertNotEquals(offered, state.getZobristHash(), "Accepted coin should hash as a player coin");
+    }
+
+    // ==================== CELL STATE TESTS ====================
+
+    @Test
+    public void testCellStateMatchesCellView() {
+        settings.setMaxLuckyCoins(0);
+        state.move(1);
+        state.move(2);
+        state.getCells()[3][0].setLucky();
+
+        Cell[][] cells = state.getCells();
+        for (int col = 0; col < state.getColumns(); col++) {
+            for (int row = 0; row < state.getRows(); row++) {
+                assertEquals(cells[col][row].getState(), state.getCellState(col, row),
+                        "Accessor and view should agree at " + col + "," + row);
+            }
+        }
+        assertEquals(Cell.CellState.RED, state.getCellState(0, 0));
+        assertEquals(Cell.CellState.YELLOW, state.getCellState(1, 0));
+        assertEquals(Cell.CellState.LUCKY, state.getCellState(3, 0));
+
+        // Writes through the accessor show up in the view
+        state.setCellState(4, 0, Cell.CellState.YELLOW);
+        assertTrue(cells[4][0].isYellow(), "View should read through to the board");
+        state.setCellState(4, 0, Cell.CellState.EMPTY);
+        assertTrue(cells[4][0].isAvailable());
+    }
+
+    // ==================== MOVE LOG TESTS ====================
+
+    @Test
+    public void testMoveLogRecordsMoves() {
+        settings.setMaxLuckyCoins(0);
+        state.move(3);
+        state.move(3);
+        state.move(5);
+
+        MoveLog log = state.getMoveLog();
+        assertEquals(3, log.size());
+        int second = log.get(1);
+        assertEquals(2, MoveLog.column(second));
+        assertEquals(1, MoveLog.row(second));
+        assertEquals(2, MoveLog.player(second), "Second move belongs to player 2");
+        assertFalse(MoveLog.isLucky(second));
+
+        // Copies are independent
+        GameState copy = new GameState(state);
+        copy.move(7);
+        assertEquals(3, state.getMoveLog().size(), "Copy should not share the log");
+        assertEquals(4, copy.getMoveLog().size());
+
+        // The view is read-only and does not copy
+        java.nio.IntBuffer view = log.view();
+        assertEquals(3, view.remaining());
+        assertEquals(log.get(0), view.get(0));
+        assertThrows(java.nio.ReadOnlyBufferException.class, () -> view.put(0, 0));
+
+        state.undo();
+        assertEquals(2, log.size(), "Undo should pop the log");
+        assertEquals(second, log.peek());
+    }
+
+    @Test
+    public void testMoveLogRecordsLuckyCoins() {
+        state.move(1);
+        state.setLuckyOfferState(false, -1, -1);
+        // Mirror what tryGenerateLuckyOffer does, then accept
+        state.getCells()[2][0].setLucky();
+        state.setLuckyOfferState(true, 2, 0);
+        state.acceptLuckyOffer();
+
+        int lucky = state.getMoveLog().peek();
+        assertTrue(MoveLog.isLucky(lucky), "Accepted coin should be flagged lucky");
+        assertEquals(2, MoveLog.player(lucky), "Lucky coin belongs to the player offered it");
+        assertEquals(Arrays.asList(false, true), state.getLuckyCoinHistory());
+
+        int before = settings.getCurrentLuckyCoins();
+        state.undo();
+        assertEquals(before - 1, settings.getCurrentLuckyCoins(), "Undo should give the lucky coin back");
+    }
+}
@@ -0,0 +1,66 @@
+package com.connect4;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.IncrementalEvaluator;
+import com.connect4.player.Player;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * IncrementalEvaluatorTest.java
+ * 
+ * Tests for the incrementally updated evaluation used by the search:
+ * - Scores match the AI's full evaluation as coins are placed and removed
+ * - Standard, Four Corners and connect-5 rules, for either AI player
+ */
+public class IncrementalEvaluatorTest {
+
+    @Test
+    public void testIncrementalEvaluationMatchesFullEvaluation() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        GameSettings settings = new GameSettings(p1, p2);
+        Random random = new Random(11);
+        for (int variant = 0; variant < 3; variant++) {
+            settings.setFourCornersEnabled(variant == 1);
+            settings.setWinCondition(variant == 2 ? 5 : 4);
+            GameState state = new GameState(settings);
+            for (int aiNumber = 1; aiNumber <= 2; aiNumber++) {
+                state.restart();
+                AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, aiNumber);
+                IncrementalEvaluator evaluator = new IncrementalEvaluator(state, aiNumber);
+                ArrayDeque<Integer> played = new ArrayDeque<>();
+
+                for (int step = 0; step < 300; step++) {
+                    boolean undo = !played.isEmpty()
+                            && (state.getGameOver() || random.nextInt(4) == 0);
+                    if (undo) {
+                        int column = played.pop();
+                        int col = column - 1;
+                        int row = state.getBoard().getHeight(col) - 1;
+                        evaluator.remove(col, row, state.getBoard().get(col, row));
+                        state.unmakeMove(column);
+                    } else {
+                        int column = random.nextInt(state.getColumns()) + 1;
+                        int col = column - 1;
+                        int row = state.getBoard().getHeight(col);
+                        if (!state.makeMove(column)) {
+                            continue;
+                        }
+                        evaluator.place(col, row, state.getBoard().get(col, row));
+                        played.push(column);
+                    }
+                    assertEquals(ai.evaluatePosition(state), evaluator.evaluate(state),
+                            "Incremental score should match after step " + step);
+                }
+            }
+        }
+    }
+}
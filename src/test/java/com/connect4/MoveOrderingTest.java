@@ -0,0 +1,74 @@
+package com.connect4;
+
+import com.connect4.player.MoveOrdering;
+import com.connect4.player.Player;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MoveOrderingTest.java
+ * 
+ * Tests for the search's move ordering:
+ * - Center-out default order
+ * - Principal variation, hash move, killer and history ordering
+ * - Full columns left out
+ * - Aging between searches
+ */
+public class MoveOrderingTest {
+
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        state = new GameState(new GameSettings(p1, p2));
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    @Test
+    public void testMoveOrdering() {
+        MoveOrdering ordering = new MoveOrdering(7, 4);
+        int count = ordering.order(state.getBoard(), 1, true, 0, 0);
+        assertEquals(7, count);
+        assertArrayEquals(new int[] { 4, 3, 5, 2, 6, 1, 7 }, ordering.getMoves(1), "Default order is center-out");
+
+        // History: column 7 caused a deep cutoff, column 1 a shallow one
+        ordering.recordCutoff(3, 7, 4, true);
+        ordering.recordCutoff(3, 1, 1, true);
+        // Killers: the last two cutoffs at ply 1
+        ordering.recordCutoff(1, 2, 1, true);
+        ordering.recordCutoff(1, 6, 1, true);
+        assertEquals(6, ordering.getKiller(1, 0));
+        assertEquals(2, ordering.getKiller(1, 1));
+
+        ordering.order(state.getBoard(), 1, true, 5, 3);
+        assertArrayEquals(new int[] { 5, 3, 6, 2, 7, 1, 4 }, ordering.getMoves(1),
+                "Order should be PV, hash move, killers, then history");
+
+        // History is kept per side; killers per ply
+        ordering.order(state.getBoard(), 2, false, 0, 0);
+        assertArrayEquals(new int[] { 4, 3, 5, 2, 6, 1, 7 }, ordering.getMoves(2),
+                "Other side and ply should be unaffected");
+
+        // Full columns are left out
+        play(1, 1, 1, 1, 1, 1);
+        assertEquals(6, ordering.order(state.getBoard(), 1, true, 0, 0));
+
+        ordering.newSearch();
+        assertEquals(0, ordering.getKiller(1, 0), "New search should drop killers");
+        assertEquals(8, ordering.getHistory(true, 7), "New search should halve history");
+    }
+}
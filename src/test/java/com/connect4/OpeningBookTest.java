@@ -0,0 +1,98 @@
+package com.connect4;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.OpeningBook;
+import com.connect4.player.OpeningBookGenerator;
+import com.connect4.player.Player;
+import com.connect4.player.SearchMetrics;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.io.File;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * OpeningBookTest.java
+ * 
+ * Tests for opening books:
+ * - Generating, writing and reading back a book
+ * - Mirrored positions answered with mirrored moves
+ * - The AI playing book moves, and searching when the book does not apply
+ */
+public class OpeningBookTest {
+
+    private GameSettings settings;
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        settings = new GameSettings(p1, p2);
+        state = new GameState(settings);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    @Test
+    public void testOpeningBookRoundTrip() throws Exception {
+        OpeningBookGenerator generator = new OpeningBookGenerator(DifficultyLevel.BEGINNER, false, 3, 4, 2);
+        Map<Long, Integer> entries = generator.generate();
+        assertEquals(1 + 7 + 49, entries.size(), "Book should cover every position with fewer than 3 coins");
+
+        File file = File.createTempFile("book", ".c4book");
+        file.deleteOnExit();
+        generator.write(entries, file.toPath());
+        OpeningBook book = OpeningBook.open(file.toPath());
+
+        assertEquals(entries.size(), book.size());
+        assertTrue(book.matches(state), "Book should apply to the 7x6 board");
+        for (Map.Entry<Long, Integer> entry : entries.entrySet()) {
+            assertEquals((int) entry.getValue(), book.lookup(entry.getKey()), "Mapped lookup should match");
+        }
+
+        // Mirror-image positions get mirrored moves
+        play(1);
+        int left = book.lookup(state.getZobristHash());
+        state.restart();
+        play(7);
+        assertEquals(8 - left, book.lookup(state.getZobristHash()), "Mirrored position should mirror the move");
+
+        // Positions beyond the book are searched
+        play(1, 2, 3);
+        assertEquals(0, book.lookup(state.getZobristHash()), "Deeper positions should miss");
+    }
+
+    @Test
+    public void testAIPlaysFromOpeningBook() throws Exception {
+        OpeningBookGenerator generator = new OpeningBookGenerator(DifficultyLevel.BEGINNER, false, 2, 4, 1);
+        File file = File.createTempFile("book", ".c4book");
+        file.deleteOnExit();
+        generator.write(generator.generate(), file.toPath());
+        OpeningBook book = OpeningBook.open(file.toPath());
+
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+        ai.setOpeningBook(book);
+        assertEquals(book.lookup(state.getZobristHash()), ai.getBestMove(state), "AI should play the book move");
+        assertEquals(0, ai.getNodesSearched(), "Book moves should not search");
+        assertEquals(SearchMetrics.Source.OPENING_BOOK, ai.getLastSearchMetrics().getSource());
+
+        // A book for other rules is ignored
+        settings.setFourCornersEnabled(true);
+        assertFalse(book.matches(state), "Book should not apply under Four Corners");
+        ai.getBestMove(state);
+        assertTrue(ai.getNodesSearched() > 0, "AI should search when the book does not apply");
+    }
+}
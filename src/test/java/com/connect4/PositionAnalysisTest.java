@@ -0,0 +1,121 @@
+package com.connect4;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.CancellationToken;
+import com.connect4.player.EndgameSolver;
+import com.connect4.player.Player;
+import com.connect4.player.PositionAnalysis;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * PositionAnalysisTest.java
+ * 
+ * Tests for analysing a position:
+ * - Every column scored and reported depth by depth
+ * - Scores for the side to move, whichever player the AI is
+ * - Endgames solved exactly, matching the endgame solver
+ */
+public class PositionAnalysisTest {
+
+    private GameSettings settings;
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        settings = new GameSettings(p1, p2);
+        state = new GameState(settings);
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    /**
+     * Plays random moves that do not end the game until only the given
+     * number of squares is empty.
+     */
+    private boolean fillRandomly(int emptySquares, long seed) {
+        settings.setMaxLuckyCoins(0);
+        state.restart();
+        Random random = new Random(seed);
+        int coins = state.getColumns() * state.getRows() - emptySquares;
+        for (int tries = 0; coins > 0 && tries < 10000; tries++) {
+            GameState copy = state.deepCopy();
+            int column = 1 + random.nextInt(state.getColumns());
+            if (copy.makeMove(column) && !copy.getGameOver()) {
+                play(column);
+                coins--;
+            }
+        }
+        return coins == 0;
+    }
+
+    @Test
+    public void testAnalysisScoresEveryColumn() {
+        // Player 1 to move, and wins at column 1
+        play(2, 5, 3, 5, 4, 7);
+        AIPlayer own = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+        AIPlayer other = new AIPlayer(DifficultyLevel.INTERMEDIATE, 2);
+        own.setEndgameThreshold(0);
+        other.setEndgameThreshold(0);
+
+        List<Integer> depths = new ArrayList<>();
+        PositionAnalysis analysis = other.analyze(state, 3, CancellationToken.NONE, a -> depths.add(a.getDepth()));
+        assertEquals(List.of(1, 2, 3), depths, "Every depth should be reported");
+        assertEquals(3, analysis.getDepth());
+        assertTrue(analysis.isPlayer1ToMove());
+        assertEquals(state.getColumns(), analysis.getColumns().size(), "Every legal column should be scored");
+        assertEquals(1, analysis.getBest().getColumn(), "Best column should be the win");
+        assertEquals(PositionAnalysis.Outcome.WIN, analysis.getBest().getOutcome());
+        assertEquals(1, analysis.getBest().getPrincipalVariation()[0]);
+        for (int i = 1; i < analysis.getColumns().size(); i++) {
+            assertTrue(analysis.getColumns().get(i - 1).getScore() >= analysis.getColumns().get(i).getScore(),
+                    "Columns should be sorted best first");
+        }
+
+        // Scores are for the side to move, whichever player the AI is
+        PositionAnalysis fromOwnSide = own.analyze(state, 3);
+        for (int column = 1; column <= state.getColumns(); column++) {
+            assertEquals(fromOwnSide.getColumn(column).getScore(), analysis.getColumn(column).getScore(),
+                    "Column " + column + " should score the same from either AI");
+        }
+    }
+
+    @Test
+    public void testAnalysisSolvesEndgame() {
+        for (long seed = 0; seed < 5; seed++) {
+            if (!fillRandomly(10, seed)) {
+                continue;
+            }
+            AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+            ai.setEndgameThreshold(12);
+            PositionAnalysis analysis = ai.analyze(state, 4);
+            EndgameSolver.Result result = new EndgameSolver(1 << 12, Long.MAX_VALUE).solve(state);
+
+            assertTrue(analysis.isSolved(), "Every column should be proven for seed " + seed);
+            PositionAnalysis.Outcome expected = result.getOutcome() == EndgameSolver.WIN ? PositionAnalysis.Outcome.WIN
+                    : result.getOutcome() == EndgameSolver.LOSS ? PositionAnalysis.Outcome.LOSS
+                            : PositionAnalysis.Outcome.DRAW;
+            assertEquals(expected, analysis.getBest().getOutcome(), "Best outcome should match for seed " + seed);
+            assertEquals(result.getDistance(), analysis.getBest().getDistance(),
+                    "Best distance should match for seed " + seed);
+        }
+    }
+}
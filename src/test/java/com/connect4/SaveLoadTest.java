@@ -1,5 +1,6 @@
 package com.connect4;
 
+import com.connect4.settings.SaveIndex;
 import com.connect4.settings.SaveLoadManager;
 import com.connect4.view.GameState;
 import com.connect4.settings.GameSettings;
@@ -12,6 +13,11 @@ import org.junit.jupiter.api.AfterEach;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.Arrays;
 
 /**
  * SaveLoadTest.java
@@ -21,6 +27,8 @@ import java.io.File;
  * - Save full board
  * - Load saved state
  * - Verify file creation and content integrity
+ * - Compact binary format, legacy serialized saves, corrupt files
+ * - Save index kept in step with saves and deletes
  */
 public class SaveLoadTest {
 
@@ -116,6 +124,20 @@ public class SaveLoadTest {
         assertEquals(2, loadedState.getCurrentPlayer().getId(), "Should be Player 2's turn");
     }
 
+    @Test
+    public void testSaveKeepsWinCondition() {
+        settings.setDifficultyLevel(DifficultyLevel.EXPERT);
+        settings.setWinCondition(6);
+        state = new GameState(settings);
+        state.makeMove(3);
+
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Connect-6"));
+        GameState loadedState = SaveLoadManager.applySnapshot(SaveLoadManager.loadGame(TEST_SAVE_FILE));
+
+        assertEquals(6, loadedState.getSettings().getWinCondition());
+        assertEquals(6, loadedState.getBoard().getWinLength());
+    }
+
     @Test
     public void testSaveOverwritesOldFile() {
         // Save initial state
@@ -157,5 +179,155 @@ public class SaveLoadTest {
         SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame("non_existent_file.dat");
         assertNull(snapshot, "Loading non-existent file should return null");
     }
-}
 
+    // ==================== BINARY FORMAT TESTS ====================
+
+    private File saveFile() {
+        return new File("saves" + File.separator + TEST_SAVE_FILE + ".c4save");
+    }
+
+    @Test
+    public void testBinarySaveIsCompact() throws IOException {
+        for (int column : new int[] { 4, 4, 3, 5, 2 }) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Compact"));
+
+        File file = saveFile();
+        assertTrue(file.length() < 100, "Save should be under 100 bytes, was " + file.length());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] magic = new byte[4];
+            raf.readFully(magic);
+            assertEquals("C4SV", new String(magic, "US-ASCII"), "Save should start with the magic");
+        }
+    }
+
+    @Test
+    public void testLuckyCoinHistoryRoundTrip() {
+        // Seeded offers: play until a lucky coin is accepted
+        state = new GameState(settings, 3);
+        boolean accepted = false;
+        for (int i = 0; i < 40 && !accepted && !state.getGameOver(); i++) {
+            int column = (i % 7) + 1;
+            if (state.isValidMove(column)) {
+                state.move(column);
+                if (state.isLuckyOfferPending()) {
+                    accepted = state.acceptLuckyOffer();
+                }
+            }
+        }
+        assertTrue(accepted, "Seeded game should offer a lucky coin");
+        int luckyCoins = settings.getCurrentLuckyCoins();
+
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Lucky"));
+        SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(TEST_SAVE_FILE);
+        assertNotNull(snapshot, "Load should return a snapshot");
+        GameState loadedState = SaveLoadManager.applySnapshot(snapshot);
+
+        assertEquals(state.getLuckyCoinHistory(), loadedState.getLuckyCoinHistory(),
+                "Lucky coin flags should survive the round trip");
+        assertEquals(luckyCoins, loadedState.getSettings().getCurrentLuckyCoins(),
+                "Lucky coin count should survive the round trip");
+        for (int col = 0; col < state.getColumns(); col++) {
+            for (int row = 0; row < state.getRows(); row++) {
+                assertEquals(state.getCellState(col, row), loadedState.getCellState(col, row),
+                        "Cell " + col + "," + row + " should match");
+            }
+        }
+
+        // Undoing the lucky coin should give it back
+        loadedState.undo();
+        assertEquals(luckyCoins - 1, loadedState.getSettings().getCurrentLuckyCoins(),
+                "Undoing the lucky coin should return it");
+    }
+
+    @Test
+    public void testLoadsLegacySerializedSave() throws IOException {
+        state.move(1);
+        if (state.isLuckyOfferPending()) {
+            state.rejectLuckyOffer();
+        }
+        new File("saves").mkdirs();
+        try (ObjectOutputStream oos = new ObjectOutputStream(new FileOutputStream(saveFile()))) {
+            oos.writeObject(new SaveLoadManager.GameSnapshot(state, "Legacy"));
+        }
+
+        SaveLoadManager.GameSnapshot snapshot = SaveLoadManager.loadGame(TEST_SAVE_FILE);
+        assertNotNull(snapshot, "Legacy save should still load");
+        GameState loadedState = SaveLoadManager.applySnapshot(snapshot);
+        assertTrue(loadedState.getCells()[0][0].isRed(), "Legacy move should be restored");
+        assertEquals(2, loadedState.getCurrentPlayer().getId(), "Should be Player 2's turn");
+    }
+
+    @Test
+    public void testCorruptSaveIsRejected() throws IOException {
+        state.move(1);
+        if (state.isLuckyOfferPending()) {
+            state.rejectLuckyOffer();
+        }
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Corrupt"));
+
+        try (RandomAccessFile raf = new RandomAccessFile(saveFile(), "rw")) {
+            raf.seek(10);
+            int b = raf.read();
+            raf.seek(10);
+            raf.write(b ^ 0xFF);
+        }
+        assertNull(SaveLoadManager.loadGame(TEST_SAVE_FILE), "Checksum mismatch should fail the load");
+    }
+
+    // ==================== SAVE INDEX TESTS ====================
+
+    private SaveIndex.Entry findEntry(String filename) {
+        for (SaveIndex.Entry entry : SaveLoadManager.listSaveEntries()) {
+            if (entry.getFilename().equals(filename)) {
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    @Test
+    public void testIndexTracksSaveAndDelete() {
+        state.move(4);
+        if (state.isLuckyOfferPending()) {
+            state.rejectLuckyOffer();
+        }
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Indexed"));
+
+        SaveIndex.Entry entry = findEntry(TEST_SAVE_FILE + ".c4save");
+        assertNotNull(entry, "Saved game should be indexed");
+        assertEquals(7, entry.getColumns(), "Index should record the board width");
+        assertEquals(6, entry.getRows(), "Index should record the board height");
+        assertEquals(1, entry.getMoveCount(), "Index should record the move count");
+        assertTrue(entry.getSummary().contains("Indexed"), "Summary should include the description");
+
+        assertTrue(SaveLoadManager.deleteSave(TEST_SAVE_FILE));
+        assertNull(findEntry(TEST_SAVE_FILE + ".c4save"), "Deleted save should leave the index");
+    }
+
+    @Test
+    public void testIndexRebuiltWhenMissing() {
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Rebuilt"));
+        new File("saves" + File.separator + SaveIndex.INDEX_FILENAME).delete();
+
+        SaveIndex.Entry entry = findEntry(TEST_SAVE_FILE + ".c4save");
+        assertNotNull(entry, "Index should be rebuilt from the save files");
+        assertTrue(entry.getSummary().contains("Rebuilt"), "Rebuilt summary should come from the file");
+    }
+
+    @Test
+    public void testSummariesMatchListOrder() {
+        assertTrue(SaveLoadManager.saveGame(state, TEST_SAVE_FILE, "Ordered"));
+
+        String[] saves = SaveLoadManager.listSaves();
+        String[] summaries = SaveLoadManager.getSaveSummaries();
+        assertEquals(saves.length, summaries.length, "One summary per save");
+        int index = Arrays.asList(saves).indexOf(TEST_SAVE_FILE + ".c4save");
+        assertTrue(index >= 0, "Save should be listed");
+        assertTrue(summaries[index].contains("Ordered"), "Summary should line up with its file");
+    }
+}
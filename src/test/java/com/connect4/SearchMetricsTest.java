@@ -0,0 +1,77 @@
+package com.connect4;
+
+import com.connect4.player.AIPlayer;
+import com.connect4.player.Player;
+import com.connect4.player.SearchMetrics;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.settings.GameSettings;
+import com.connect4.view.GameState;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * SearchMetricsTest.java
+ * 
+ * Tests for the metrics the AI keeps about each move:
+ * - Node, leaf, cutoff and table counts of a search
+ * - Effective branching factor
+ * - The JSON log line written per move
+ */
+public class SearchMetricsTest {
+
+    private GameState state;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Player 1", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Player 2", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        state = new GameState(new GameSettings(p1, p2));
+    }
+
+    private void play(int... columns) {
+        for (int column : columns) {
+            state.move(column);
+            if (state.isLuckyOfferPending()) {
+                state.rejectLuckyOffer();
+            }
+        }
+    }
+
+    @Test
+    public void testSearchMetrics() {
+        play(4, 4, 3, 5);
+        AIPlayer ai = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1);
+        ByteArrayOutputStream log = new ByteArrayOutputStream();
+        ai.setMetricsLog(new PrintStream(log, true));
+        assertNull(ai.getLastSearchMetrics(), "No metrics before the first move");
+
+        ai.getBestMove(state);
+        SearchMetrics metrics = ai.getLastSearchMetrics();
+        assertEquals(SearchMetrics.Source.SEARCH, metrics.getSource());
+        assertEquals(DifficultyLevel.INTERMEDIATE.getAiSearchDepth(), metrics.getDepth());
+        assertEquals(ai.getNodesSearched(), metrics.getNodes());
+        assertTrue(metrics.getLeafEvaluations() > 0 && metrics.getLeafEvaluations() < metrics.getNodes());
+        assertTrue(metrics.getCutoffs() > 0, "Alpha-beta should cut off");
+        assertTrue(metrics.getFirstMoveCutoffRate() > 0.5, "Most cutoffs should come from the first move");
+        assertTrue(metrics.isTableEnabled());
+        assertTrue(metrics.getTableHits() > 0 && metrics.getTableHits() <= metrics.getTableProbes());
+        assertTrue(metrics.getElapsedNanos() > 0);
+        double ebf = metrics.getEffectiveBranchingFactor();
+        assertEquals(metrics.getNodes(), Math.pow(ebf, metrics.getDepth()), metrics.getNodes() * 1e-6);
+
+        String line = log.toString().trim();
+        assertFalse(line.contains("\n"), "One line per move");
+        assertTrue(line.startsWith("{\"source\":\"SEARCH\""), line);
+        assertTrue(line.contains("\"nodes\":" + metrics.getNodes() + ","), line);
+
+        AIPlayer noTable = new AIPlayer(DifficultyLevel.INTERMEDIATE, 1, 0);
+        noTable.getBestMove(state);
+        assertFalse(noTable.getLastSearchMetrics().isTableEnabled());
+        assertEquals(0, noTable.getLastSearchMetrics().getTableProbes());
+    }
+}
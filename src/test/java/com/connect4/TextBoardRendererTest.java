@@ -0,0 +1,93 @@
+package com.connect4;
+
+import com.connect4.view.GameState;
+import com.connect4.view.TextBoardRenderer;
+import com.connect4.settings.GameSettings;
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.player.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.BeforeEach;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * TextBoardRendererTest.java
+ *
+ * Tests for the text-mode board renderer:
+ * - Layout of the full frame
+ * - Diff mode only rewriting the cells that changed
+ */
+public class TextBoardRendererTest {
+
+    private GameState state;
+    private ByteArrayOutputStream bytes;
+    private TextBoardRenderer renderer;
+
+    @BeforeEach
+    public void setUp() {
+        Player p1 = new Player(1, "Alice", Player.PlayerType.HUMAN, Player.CoinColor.RED);
+        Player p2 = new Player(2, "Bob", Player.PlayerType.HUMAN, Player.CoinColor.YELLOW);
+        GameSettings settings = new GameSettings(p1, p2);
+        settings.setDifficultyLevel(DifficultyLevel.BEGINNER);
+        state = new GameState(settings);
+        bytes = new ByteArrayOutputStream();
+        renderer = new TextBoardRenderer(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+    }
+
+    private String drawn() {
+        String text = bytes.toString(StandardCharsets.UTF_8);
+        bytes.reset();
+        return text;
+    }
+
+    private static String plain(CharSequence text) {
+        return text.toString().replaceAll("\u001B\\[[0-9;]*m", "");
+    }
+
+    @Test
+    public void testFullFrameLayout() {
+        state.makeMove(4);
+        state.makeMove(4);
+        String[] lines = plain(renderer.render(state)).split("\n", -1);
+        int rows = state.getRows();
+
+        // Blank line, borders, rows with separators, column numbers, blank line
+        assertEquals(2 * rows + 5, lines.length);
+        assertEquals("", lines[0]);
+        assertEquals("   ╔" + "═══╦".repeat(state.getColumns() - 1) + "═══╗", lines[1]);
+        assertEquals(" 1 ║ . ║ . ║ . ║ R ║ . ║ . ║ . ║", lines[2 * rows]);
+        assertEquals(" 2 ║ . ║ . ║ . ║ Y ║ . ║ . ║ . ║", lines[2 * rows - 2]);
+        assertEquals("     1   2   3   4   5   6   7", lines[2 * rows + 2]);
+
+        renderer.draw(state);
+        assertEquals(renderer.render(state).toString(), drawn(), "Without diff mode a draw is the plain frame");
+    }
+
+    @Test
+    public void testDiffModeRewritesOnlyChangedCells() {
+        renderer.setDiffMode(true);
+        renderer.draw(state);
+        String first = drawn();
+        assertTrue(first.startsWith("\033[H\033[2J"), "First draw should clear the screen");
+        assertTrue(first.contains("═══"), "First draw should be a full frame");
+
+        renderer.draw(state);
+        int below = 2 * state.getRows() + 5;
+        assertEquals("\033[" + below + ";1H\033[J", drawn(), "Nothing changed, nothing to rewrite");
+
+        state.makeMove(3);
+        renderer.draw(state);
+        // Column 3 of the bottom row: the board's last cell line, and the
+        // glyph's position within it
+        String cell = "\033[" + (2 * state.getRows() + 1) + ";" + (6 + 4 * 2) + "H";
+        assertEquals(cell + "R\033[" + below + ";1H\033[J", plain(drawn()));
+
+        state.unmakeMove(3);
+        renderer.invalidate();
+        renderer.draw(state);
+        assertTrue(drawn().startsWith("\033[H\033[2J"), "Invalidated screen should get a full frame");
+    }
+}
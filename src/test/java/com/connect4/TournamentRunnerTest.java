@@ -0,0 +1,65 @@
+package com.connect4;
+
+import com.connect4.settings.DifficultyLevel;
+import com.connect4.tournament.Competitor;
+import com.connect4.tournament.MatchupResult;
+import com.connect4.tournament.TournamentRunner;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TournamentRunnerTest.java
+ * 
+ * Tests for the headless self-play tournament:
+ * - One result per rule set and pairing, with every game counted
+ * - Seeded tournaments repeat exactly, whatever the number of threads
+ */
+public class TournamentRunnerTest {
+
+    private TournamentRunner createRunner(int parallelGames) {
+        TournamentRunner runner = new TournamentRunner();
+        runner.addCompetitor(new Competitor(DifficultyLevel.BEGINNER));
+        runner.addCompetitor(new Competitor(DifficultyLevel.INTERMEDIATE));
+        runner.addBoard(DifficultyLevel.BEGINNER);
+        runner.setFourCornersModes(false, true);
+        runner.setLuckyCoinModes(false, true);
+        runner.setGamesPerMatchup(4);
+        runner.setSeed(42);
+        runner.setParallelGames(parallelGames);
+        return runner;
+    }
+
+    @Test
+    public void testEveryGameIsCounted() throws InterruptedException {
+        List<MatchupResult> results = createRunner(2).run();
+
+        assertEquals(4, results.size(), "One matchup per rule combination");
+        for (MatchupResult result : results) {
+            assertEquals(4, result.getGames(), "Every game should be recorded");
+            assertTrue(result.getFirstStats().getMoves() > 0, "First competitor should have moved");
+            assertTrue(result.getSecondStats().getMoves() > 0, "Second competitor should have moved");
+            assertTrue(result.getSecondStats().getNodes() > 0, "Searches should count nodes");
+        }
+    }
+
+    @Test
+    public void testSeededTournamentIsReproducible() throws InterruptedException {
+        List<MatchupResult> sequential = createRunner(1).run();
+        List<MatchupResult> parallel = createRunner(4).run();
+
+        for (int i = 0; i < sequential.size(); i++) {
+            MatchupResult a = sequential.get(i);
+            MatchupResult b = parallel.get(i);
+            assertEquals(a.getRulesDescription(), b.getRulesDescription());
+            assertEquals(a.getFirstWins(), b.getFirstWins(), "Wins should repeat for " + a.getRulesDescription());
+            assertEquals(a.getDraws(), b.getDraws(), "Draws should repeat for " + a.getRulesDescription());
+            assertEquals(a.getFirstStats().getMoves(), b.getFirstStats().getMoves(),
+                    "Games should last the same number of moves");
+            assertEquals(a.getFirstStats().getNodes(), b.getFirstStats().getNodes(),
+                    "Searches should visit the same nodes");
+        }
+    }
+}
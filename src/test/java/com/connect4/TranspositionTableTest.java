@@ -0,0 +1,49 @@
+package com.connect4;
+
+import com.connect4.player.TranspositionTable;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * TranspositionTableTest.java
+ * 
+ * Tests for the AI's transposition table:
+ * - Storing and probing packed entries
+ * - Depth-preferred replacement on a slot collision
+ * - Clearing the table
+ * - Depths capped at what an entry can record
+ */
+public class TranspositionTableTest {
+
+    @Test
+    public void testTranspositionTableStoreAndProbe() {
+        TranspositionTable table = new TranspositionTable(1000);
+        assertEquals(1024, table.getCapacity(), "Capacity should round up to a power of two");
+
+        long key = 0x1234_5678_9ABC_DEF0L;
+        assertEquals(0L, table.probe(key), "Empty table should miss");
+
+        table.store(key, 3, -150, TranspositionTable.LOWER_BOUND, 4);
+        long entry = table.probe(key);
+        assertNotEquals(0L, entry, "Stored key should be found");
+        assertEquals(3, TranspositionTable.depth(entry));
+        assertEquals(-150, TranspositionTable.score(entry));
+        assertEquals(TranspositionTable.LOWER_BOUND, TranspositionTable.flag(entry));
+        assertEquals(4, TranspositionTable.bestMove(entry));
+
+        // A different key in the same slot searched shallower must not evict it
+        long clash = key + table.getCapacity();
+        table.store(clash, 1, 0, TranspositionTable.EXACT, 1);
+        assertEquals(0L, table.probe(clash), "Shallower colliding entry should be dropped");
+        assertNotEquals(0L, table.probe(key), "Deeper entry should be kept");
+
+        table.clear();
+        assertEquals(0L, table.probe(key), "Clear should remove entries");
+
+        // Depths beyond what an entry can record are stored as the deepest it can
+        table.store(key, TranspositionTable.MAX_DEPTH + 50, 7, TranspositionTable.EXACT, 2);
+        assertEquals(TranspositionTable.MAX_DEPTH, TranspositionTable.depth(table.probe(key)));
+        assertEquals(7, TranspositionTable.score(table.probe(key)));
+    }
+}
@@ -5,6 +5,8 @@ import com.connect4.settings.DifficultyLevel;
 import com.connect4.settings.GameSettings;
 import com.connect4.view.GameState;
 
+import java.util.Random;
+
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.BeforeEach;
 import static org.junit.jupiter.api.Assertions.*;
@@ -17,6 +19,8 @@ import static org.junit.jupiter.api.Assertions.*;
  * - Vertical wins
  * - Diagonal wins (both directions)
  * - Four corners win (square boards)
+ * - Incremental win detection agrees with the full-board scan
+ * - Longer win conditions (connect-5) and their limits
  */
 public class WinConditionTest {
 
@@ -272,7 +276,75 @@ public class WinConditionTest {
         // Note: This test validates the concept - actual lucky coin placement
         // is tested in LuckyCoinTest.java
     }
-    
+
+    // ==================== INCREMENTAL DETECTION ====================
+
+    @Test
+    public void testIncrementalDetectionMatchesFullScan() {
+        Random random = new Random(42);
+        for (int game = 0; game < 200; game++) {
+            settings.setFourCornersEnabled(game % 2 == 1);
+            state.restart();
+
+            while (!state.getGameOver()) {
+                int column = random.nextInt(state.getColumns()) + 1;
+                if (!state.isValidMove(column)) {
+                    continue;
+                }
+                state.move(column);
+                if (state.isLuckyOfferPending()) {
+                    if (random.nextBoolean()) {
+                        state.acceptLuckyOffer();
+                    } else {
+                        state.rejectLuckyOffer();
+                    }
+                }
+
+                int expected = state.findWinnerByFullScan();
+                assertEquals(expected == 1, state.getPlayer1Wins(), "Player 1 win should match full scan");
+                assertEquals(expected == 2, state.getPlayer2Wins(), "Player 2 win should match full scan");
+            }
+        }
+    }
+
+    @Test
+    public void testConnectFiveOnExpertBoard() {
+        settings.setDifficultyLevel(DifficultyLevel.EXPERT);
+        settings.setWinCondition(5);
+        settings.setMaxLuckyCoins(0);
+        state = new GameState(settings);
+
+        // RED builds along the bottom row, YELLOW stacks on top
+        for (int col = 1; col <= 4; col++) {
+            moveTest(col);
+            moveTest(col);
+        }
+        assertFalse(state.getGameOver(), "Four in a row should not win connect-5");
+
+        moveTest(5);
+        assertTrue(state.getGameOver(), "Five in a row should win connect-5");
+        assertTrue(state.getPlayer1Wins());
+        assertEquals(1, state.findWinnerByFullScan());
+    }
+
+    @Test
+    public void testWinConditionMustFitBoardAndSaveFormat() {
+        // BEGINNER is 7x6, so 7 in a row is the longest possible line
+        settings.setWinCondition(2);
+        settings.setWinCondition(7);
+        assertEquals(7, settings.getWinCondition());
+        assertThrows(IllegalArgumentException.class, () -> settings.setWinCondition(1));
+        assertThrows(IllegalArgumentException.class, () -> settings.setWinCondition(8));
+
+        // A very wide board is still limited by the 7-bit save field
+        settings.setColumns(200);
+        settings.setWinCondition(GameSettings.MAX_WIN_CONDITION);
+        assertThrows(IllegalArgumentException.class,
+                () -> settings.setWinCondition(GameSettings.MAX_WIN_CONDITION + 1));
+        assertEquals(GameSettings.MAX_WIN_CONDITION, settings.getWinCondition(),
+                "A rejected value should leave the setting unchanged");
+    }
+
     public void moveTest(int move) {
     	state.move(move);
     	if (state.isLuckyOfferPending()) {